@@ -0,0 +1,165 @@
+// ApplicationQuery.java
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Predicate;
+
+// Filters for PlacementSystem.findApplications; every criterion is optional and they all have to hold
+class ApplicationQuery {
+    enum Order {
+        ID, NEWEST, OLDEST;
+
+        Comparator<Application> comparator() {
+            switch (this) {
+                case NEWEST:
+                    return Comparator.comparing(Application::getAppliedDate).reversed()
+                        .thenComparing(Comparator.comparingLong(Application::getNumber).reversed());
+                case OLDEST:
+                    return Comparator.comparing(Application::getAppliedDate)
+                        .thenComparingLong(Application::getNumber);
+                default:
+                    return Comparator.comparingLong(Application::getNumber);
+            }
+        }
+
+        String key(Application app) {
+            return this == ID ? "" : app.getAppliedDate().toString();
+        }
+
+        Predicate<Application> after(String key, long number) {
+            switch (this) {
+                case NEWEST: {
+                    LocalDateTime time = LocalDateTime.parse(key);
+                    return a -> {
+                        int c = a.getAppliedDate().compareTo(time);
+                        return c < 0 || c == 0 && a.getNumber() < number;
+                    };
+                }
+                case OLDEST: {
+                    LocalDateTime time = LocalDateTime.parse(key);
+                    return a -> {
+                        int c = a.getAppliedDate().compareTo(time);
+                        return c > 0 || c == 0 && a.getNumber() > number;
+                    };
+                }
+                default:
+                    return a -> a.getNumber() > number;
+            }
+        }
+    }
+
+    private String companyId;
+    private String jobId;
+    private String studentId;
+    private ApplicationStatus status;
+    private String department;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private Order order = Order.ID;
+    private int limit = QueryPage.DEFAULT_LIMIT;
+    private String cursor;
+
+    // Criteria
+    public void setCompanyId(String companyId) {
+        this.companyId = companyId;
+    }
+
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+
+    public void setStudentId(String studentId) {
+        this.studentId = studentId;
+    }
+
+    public void setStatus(ApplicationStatus status) {
+        this.status = status;
+    }
+
+    // The applicant's department
+    public void setDepartment(String department) {
+        this.department = department;
+    }
+
+    // Applied in [from, to); either end may be null
+    public void setAppliedBetween(LocalDateTime from, LocalDateTime to) {
+        this.from = from;
+        this.to = to;
+    }
+
+    // Paging
+    public void setOrder(Order order) {
+        this.order = order;
+    }
+
+    public void setLimit(int limit) {
+        this.limit = QueryPage.clampLimit(limit);
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    public String getCompanyId() { return companyId; }
+    public String getJobId() { return jobId; }
+    public String getStudentId() { return studentId; }
+    public ApplicationStatus getStatus() { return status; }
+    public String getDepartment() { return department; }
+    public LocalDateTime getFrom() { return from; }
+    public LocalDateTime getTo() { return to; }
+    public Order getOrder() { return order; }
+    public int getLimit() { return limit; }
+    public String getCursor() { return cursor; }
+
+    boolean filtersDates() {
+        return from != null || to != null;
+    }
+
+    // Every criterion; index lookups re-check the ones they already guarantee, which is cheap
+    Predicate<Application> matches() {
+        List<Predicate<Application>> checks = new ArrayList<>();
+        if (status != null) {
+            checks.add(a -> a.getStatus() == status);
+        }
+        if (jobId != null) {
+            checks.add(a -> a.getJob().getJobId().equals(jobId));
+        }
+        if (companyId != null) {
+            checks.add(a -> a.getJob().getCompany().getId().equals(companyId));
+        }
+        if (studentId != null) {
+            checks.add(a -> a.getStudent().getId().equals(studentId));
+        }
+        if (from != null) {
+            checks.add(a -> !a.getAppliedDate().isBefore(from));
+        }
+        if (to != null) {
+            checks.add(a -> a.getAppliedDate().isBefore(to));
+        }
+        if (department != null) {
+            checks.add(a -> a.getStudent().getDepartment().equals(department));
+        }
+        return QueryPage.all(checks);
+    }
+
+    Predicate<Application> afterCursor() {
+        if (cursor == null) {
+            return null;
+        }
+        String[] position = QueryPage.parseCursor(cursor);
+        return order.after(position[0], IdAllocator.require(Application.ID_PREFIX, position[1]));
+    }
+
+    // Where a time-ordered walk resumes, or null on the first page and for ID order
+    LocalDateTime cursorTime() {
+        return cursor == null || order == Order.ID ? null : LocalDateTime.parse(QueryPage.parseCursor(cursor)[0]);
+    }
+
+    // Number of the last row returned, or 0 on the first page
+    long cursorNumber() {
+        return cursor == null ? 0 : IdAllocator.require(Application.ID_PREFIX, QueryPage.parseCursor(cursor)[1]);
+    }
+
+    String cursorOf(Application app) {
+        return QueryPage.cursor(order.key(app), app.getApplicationId());
+    }
+}
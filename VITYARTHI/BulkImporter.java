@@ -0,0 +1,388 @@
+// BulkImporter.java
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+// Streams CSV (with a header row) or JSON-lines files of students, companies or jobs into a
+// PlacementSystem. Lines are read in chunks, chunks are parsed and validated on a thread pool,
+// and finished chunks are inserted in file order as one batch each. Only a bounded number of
+// chunks is in flight, so memory stays flat however large the file is.
+class BulkImporter {
+    enum RecordType { STUDENTS, COMPANIES, JOBS }
+
+    private static final Pattern DEPARTMENT_CODE = Pattern.compile("[A-Z]{2,6}");
+
+    private PlacementSystem system;
+    private int chunkSize;
+    private int threads;
+    private Set<String> allowedDepartments; // null accepts any well-formed code
+
+    public BulkImporter(PlacementSystem system) {
+        this.system = system;
+        this.chunkSize = 1000;
+        this.threads = Runtime.getRuntime().availableProcessors();
+    }
+
+    public void setChunkSize(int chunkSize) { this.chunkSize = chunkSize; }
+    public void setThreads(int threads) { this.threads = threads; }
+    public void setAllowedDepartments(Set<String> departments) { this.allowedDepartments = departments; }
+
+    public ImportResult importFile(Path file, RecordType type, Consumer<ImportError> errors) throws IOException {
+        String name = file.getFileName().toString().toLowerCase();
+        boolean json = name.endsWith(".jsonl") || name.endsWith(".json") || name.endsWith(".ndjson");
+        ImportResult result = new ImportResult();
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, threads));
+        Deque<Future<Chunk>> inFlight = new ArrayDeque<>();
+        int maxInFlight = Math.max(2, threads * 2);
+
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String[] header = null;
+            int lineNumber = 0;
+            List<String> lines = new ArrayList<>(chunkSize);
+            int firstLine = 1;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (!json && header == null) {
+                    header = splitCsv(line).toArray(new String[0]);
+                    firstLine = lineNumber + 1;
+                    continue;
+                }
+                lines.add(line);
+                if (lines.size() == chunkSize) {
+                    inFlight.add(submit(pool, type, json, header, firstLine, lines));
+                    lines = new ArrayList<>(chunkSize);
+                    firstLine = lineNumber + 1;
+                    if (inFlight.size() >= maxInFlight) {
+                        insert(await(inFlight.poll()), result, errors);
+                    }
+                }
+            }
+            if (!lines.isEmpty()) {
+                inFlight.add(submit(pool, type, json, header, firstLine, lines));
+            }
+            while (!inFlight.isEmpty()) {
+                insert(await(inFlight.poll()), result, errors);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return result;
+    }
+
+    // Parsing and validation, run on the pool
+    private Future<Chunk> submit(ExecutorService pool, RecordType type, boolean json, String[] header,
+                                 int firstLine, List<String> lines) {
+        return pool.submit(() -> {
+            Chunk chunk = new Chunk();
+            for (int i = 0; i < lines.size(); i++) {
+                int lineNumber = firstLine + i;
+                String line = lines.get(i);
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                try {
+                    Map<String, Object> row = json ? Json.parseObject(line) : csvRow(header, line);
+                    chunk.rows.add(parseRow(type, row));
+                    chunk.lineNumbers.add(lineNumber);
+                } catch (IllegalArgumentException e) {
+                    chunk.errors.add(new ImportError(lineNumber, e.getMessage()));
+                }
+            }
+            return chunk;
+        });
+    }
+
+    private Object parseRow(RecordType type, Map<String, Object> row) {
+        switch (type) {
+            case STUDENTS: {
+                Student student = new Student(required(row, "id"), required(row, "name"),
+                    email(row), department(required(row, "department")),
+                    range(number(row, "cgpa"), 0, 10, "cgpa"),
+                    (int) range(number(row, "graduationYear"), 1950, 2100, "graduationYear"));
+                for (String skill : list(row, "skills")) {
+                    student.addSkill(skill);
+                }
+                String resume = optional(row, "resume");
+                if (resume != null) {
+                    student.setResume(resume);
+                }
+                return student;
+            }
+            case COMPANIES:
+                return new Company(required(row, "id"), required(row, "name"), email(row),
+                    required(row, "industry"));
+            case JOBS: {
+                List<String> departments = list(row, "eligibleDepartments");
+                if (departments.isEmpty()) {
+                    throw new IllegalArgumentException("eligibleDepartments is required");
+                }
+                for (String dept : departments) {
+                    department(dept);
+                }
+                return new PendingJob(required(row, "jobId"), required(row, "title"),
+                    optional(row, "description"), required(row, "companyId"),
+                    range(number(row, "packageLPA"), 0, Double.MAX_VALUE, "packageLPA"),
+                    required(row, "location"), range(number(row, "minCgpa"), 0, 10, "minCgpa"),
+                    new HashSet<>(departments), new HashSet<>(list(row, "requiredSkills")));
+            }
+            default:
+                throw new IllegalStateException("Unknown record type " + type);
+        }
+    }
+
+    // Cross-row checks and insertion, in file order on the calling thread
+    private void insert(Chunk chunk, ImportResult result, Consumer<ImportError> errors) {
+        for (ImportError error : chunk.errors) {
+            errors.accept(error);
+        }
+        result.rowsRead += chunk.rows.size() + chunk.errors.size();
+        result.rowsRejected += chunk.errors.size();
+
+        Set<String> batchIds = new HashSet<>();
+        List<Student> students = new ArrayList<>();
+        List<Company> companies = new ArrayList<>();
+        List<JobPosting> jobs = new ArrayList<>();
+        for (int i = 0; i < chunk.rows.size(); i++) {
+            Object row = chunk.rows.get(i);
+            int lineNumber = chunk.lineNumbers.get(i);
+            String problem = null;
+            if (row instanceof Student) {
+                Student student = (Student) row;
+                if (system.getStudentById(student.getId()) != null || !batchIds.add(student.getId())) {
+                    problem = "Duplicate student id " + student.getId();
+                } else {
+                    students.add(student);
+                }
+            } else if (row instanceof Company) {
+                Company company = (Company) row;
+                if (system.getCompanyById(company.getId()) != null || !batchIds.add(company.getId())) {
+                    problem = "Duplicate company id " + company.getId();
+                } else {
+                    companies.add(company);
+                }
+            } else {
+                PendingJob pending = (PendingJob) row;
+                Company company = system.getCompanyById(pending.companyId);
+                if (company == null) {
+                    problem = "Unknown company " + pending.companyId;
+                } else if (system.getJobById(pending.jobId) != null || !batchIds.add(pending.jobId)) {
+                    problem = "Duplicate job id " + pending.jobId;
+                } else {
+                    jobs.add(pending.toJob(company));
+                }
+            }
+            if (problem != null) {
+                errors.accept(new ImportError(lineNumber, problem));
+                result.rowsRejected++;
+            }
+        }
+        system.addStudents(students);
+        system.addCompanies(companies);
+        system.addJobPostings(jobs);
+        result.rowsImported += students.size() + companies.size() + jobs.size();
+    }
+
+    private static Chunk await(Future<Chunk> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Import interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Import failed", e.getCause());
+        }
+    }
+
+    // Field helpers
+    private static String optional(Map<String, Object> row, String field) {
+        Object value = row.get(field);
+        if (value == null) {
+            return null;
+        }
+        String text = value instanceof Double && (Double) value == Math.rint((Double) value)
+            ? String.valueOf(((Double) value).longValue()) : value.toString().trim();
+        return text.isEmpty() ? null : text;
+    }
+
+    private static String required(Map<String, Object> row, String field) {
+        String value = optional(row, field);
+        if (value == null) {
+            throw new IllegalArgumentException(field + " is required");
+        }
+        return value;
+    }
+
+    private static String email(Map<String, Object> row) {
+        String email = required(row, "email");
+        if (email.indexOf('@') <= 0) {
+            throw new IllegalArgumentException("Invalid email " + email);
+        }
+        return email;
+    }
+
+    private String department(String code) {
+        if (allowedDepartments != null ? !allowedDepartments.contains(code) : !DEPARTMENT_CODE.matcher(code).matches()) {
+            throw new IllegalArgumentException("Unknown department code " + code);
+        }
+        return code;
+    }
+
+    private static double number(Map<String, Object> row, String field) {
+        Object value = row.get(field);
+        if (value instanceof Double) {
+            return (Double) value;
+        }
+        String text = required(row, field);
+        try {
+            return Double.parseDouble(text);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(field + " is not a number: " + text);
+        }
+    }
+
+    private static double range(double value, double min, double max, String field) {
+        if (!(value >= min && value <= max)) {
+            throw new IllegalArgumentException(field + " out of range: " + value);
+        }
+        return value;
+    }
+
+    // Lists are JSON arrays or ';'-separated text
+    private static List<String> list(Map<String, Object> row, String field) {
+        Object value = row.get(field);
+        List<String> values = new ArrayList<>();
+        if (value instanceof List) {
+            for (Object element : (List<?>) value) {
+                if (element != null && !element.toString().trim().isEmpty()) {
+                    values.add(element.toString().trim());
+                }
+            }
+        } else if (value != null) {
+            for (String element : value.toString().split(";")) {
+                if (!element.trim().isEmpty()) {
+                    values.add(element.trim());
+                }
+            }
+        }
+        return values;
+    }
+
+    private static Map<String, Object> csvRow(String[] header, String line) {
+        List<String> fields = splitCsv(line);
+        if (fields.size() > header.length) {
+            throw new IllegalArgumentException("Expected " + header.length + " fields but found " + fields.size());
+        }
+        Map<String, Object> row = new HashMap<>();
+        for (int i = 0; i < fields.size(); i++) {
+            row.put(header[i].trim(), fields.get(i));
+        }
+        return row;
+    }
+
+    // RFC 4180 fields on a single line: commas separate, double quotes enclose and escape quotes
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static class Chunk {
+        private List<Object> rows = new ArrayList<>();
+        private List<Integer> lineNumbers = new ArrayList<>();
+        private List<ImportError> errors = new ArrayList<>();
+    }
+
+    // A validated job row waiting for its company to be resolved at insert time
+    private static class PendingJob {
+        private String jobId, title, description, companyId, location;
+        private double packageLPA, minCgpa;
+        private Set<String> departments, skills;
+
+        PendingJob(String jobId, String title, String description, String companyId, double packageLPA,
+                   String location, double minCgpa, Set<String> departments, Set<String> skills) {
+            this.jobId = jobId;
+            this.title = title;
+            this.description = description == null ? "" : description;
+            this.companyId = companyId;
+            this.packageLPA = packageLPA;
+            this.location = location;
+            this.minCgpa = minCgpa;
+            this.departments = departments;
+            this.skills = skills;
+        }
+
+        JobPosting toJob(Company company) {
+            return new JobPosting(jobId, title, description, company, packageLPA, location, minCgpa,
+                departments, skills);
+        }
+    }
+}
+
+// ImportError.java
+class ImportError {
+    private int lineNumber;
+    private String message;
+
+    public ImportError(int lineNumber, String message) {
+        this.lineNumber = lineNumber;
+        this.message = message;
+    }
+
+    public int getLineNumber() { return lineNumber; }
+    public String getMessage() { return message; }
+
+    @Override
+    public String toString() {
+        return "Line " + lineNumber + ": " + message;
+    }
+}
+
+// ImportResult.java
+class ImportResult {
+    int rowsRead;
+    int rowsImported;
+    int rowsRejected;
+
+    public int getRowsRead() { return rowsRead; }
+    public int getRowsImported() { return rowsImported; }
+    public int getRowsRejected() { return rowsRejected; }
+
+    @Override
+    public String toString() {
+        return "Rows read: " + rowsRead + ", imported: " + rowsImported + ", rejected: " + rowsRejected;
+    }
+}
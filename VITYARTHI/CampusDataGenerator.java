@@ -0,0 +1,262 @@
+// CampusDataGenerator.java
+import java.time.LocalDate;
+import java.util.*;
+
+// Seeded synthetic campus for benchmarks and the demo mode. The same seed and sizes always
+// produce the same students, companies, jobs, applications, interviews and offers (and ids),
+// because everything is drawn from one Random on the calling thread.
+class CampusDataGenerator {
+    private static final String[] DEPARTMENTS = {"CS", "IT", "ECE", "EEE", "ME", "CE", "CHE"};
+    private static final double[] DEPARTMENT_WEIGHTS = {0.30, 0.20, 0.15, 0.10, 0.12, 0.08, 0.05};
+
+    private static final String[][] DEPARTMENT_SKILLS = {
+        {"Java", "Python", "SQL", "Data Structures", "Algorithms", "Spring", "React", "Machine Learning", "Docker", "Kubernetes"},
+        {"Java", "JavaScript", "SQL", "React", "Node.js", "Networking", "Linux", "AWS", "Python", "Testing"},
+        {"Embedded C", "VLSI", "Signal Processing", "MATLAB", "Verilog", "Python", "IoT", "PCB Design"},
+        {"Power Systems", "MATLAB", "PLC", "Control Systems", "Embedded C", "Python", "Simulink"},
+        {"AutoCAD", "SolidWorks", "CATIA", "Thermodynamics", "ANSYS", "Manufacturing", "MATLAB"},
+        {"AutoCAD", "STAAD Pro", "Revit", "Surveying", "Project Management", "Structural Analysis"},
+        {"Process Design", "Aspen Plus", "MATLAB", "Safety Engineering", "Thermodynamics", "Python"}
+    };
+    private static final String[] COMMON_SKILLS = {"Communication", "Excel", "Teamwork", "Problem Solving"};
+
+    private static final String[] INDUSTRIES = {"Technology", "IT Services", "Finance", "Manufacturing",
+        "Consulting", "Automotive", "Energy", "Construction"};
+    private static final String[] COMPANY_WORDS = {"Tech", "Data", "Infra", "Nova", "Prime", "Blue", "Apex",
+        "Quantum", "Vertex", "Core", "Bright", "Global"};
+    private static final String[] COMPANY_SUFFIXES = {"Systems", "Labs", "Solutions", "Industries", "Corp",
+        "Works", "Analytics", "Engineering"};
+    private static final String[] JOB_TITLES = {"Software Engineer", "Data Analyst", "Systems Engineer",
+        "Design Engineer", "Graduate Engineer Trainee", "Business Analyst", "Site Engineer", "QA Engineer",
+        "Embedded Engineer", "Process Engineer"};
+    private static final String[] LOCATIONS = {"Bengaluru", "Hyderabad", "Pune", "Chennai", "Mumbai",
+        "Gurugram", "Noida", "Kolkata"};
+    private static final double[] MIN_CGPAS = {6.0, 6.5, 7.0, 7.5, 8.0};
+    private static final double[] MIN_CGPA_WEIGHTS = {0.25, 0.30, 0.25, 0.15, 0.05};
+    private static final String[] INTERVIEW_TYPES = {"TECHNICAL", "HR", "GROUP"};
+    private static final int BATCH_SIZE = 10_000;
+
+    private static final String[] FIRST_NAMES = {"Aarav", "Vivaan", "Aditya", "Diya", "Ananya", "Ishaan",
+        "Kavya", "Rohan", "Saanvi", "Arjun", "Meera", "Kabir", "Priya", "Rahul", "Sneha", "Vikram", "Alice",
+        "Bob", "Nisha", "Karan"};
+    private static final String[] LAST_NAMES = {"Sharma", "Verma", "Iyer", "Reddy", "Patel", "Gupta",
+        "Nair", "Khan", "Singh", "Das", "Menon", "Rao", "Johnson", "Smith", "Joshi", "Kulkarni"};
+
+    private long seed;
+    private int students;
+    private int companies;
+    private int jobsPerCompany;
+    private int applicationsPerStudent;
+    private double interviewRate;
+    private double offerRate;
+    private double acceptRate;
+    private int graduationYear;
+    private LocalDate driveStart;
+
+    public CampusDataGenerator(long seed, int students) {
+        this.seed = seed;
+        this.students = students;
+        this.companies = Math.max(5, students / 200);
+        this.jobsPerCompany = 3;
+        this.applicationsPerStudent = 5;
+        this.interviewRate = 0.3;
+        this.offerRate = 0.4;
+        this.acceptRate = 0.7;
+        this.graduationYear = 2025;
+        this.driveStart = LocalDate.of(2025, 1, 6);
+    }
+
+    public void setCompanies(int companies) { this.companies = companies; }
+    public void setJobsPerCompany(int jobsPerCompany) { this.jobsPerCompany = jobsPerCompany; }
+    public void setApplicationsPerStudent(int applicationsPerStudent) { this.applicationsPerStudent = applicationsPerStudent; }
+    public void setInterviewRate(double interviewRate) { this.interviewRate = interviewRate; }
+    public void setOfferRate(double offerRate) { this.offerRate = offerRate; }
+    public void setAcceptRate(double acceptRate) { this.acceptRate = acceptRate; }
+    public void setGraduationYear(int graduationYear) { this.graduationYear = graduationYear; }
+
+    // Fills the system and returns counts: students, companies, jobs, applications, interviews, offers, accepted
+    public Map<String, Integer> generate(PlacementSystem system) {
+        Random random = new Random(seed);
+        Map<String, Integer> counts = new LinkedHashMap<>();
+
+        List<Student> batch = new ArrayList<>(BATCH_SIZE);
+        Student[] allStudents = new Student[students];
+        for (int i = 0; i < students; i++) {
+            allStudents[i] = newStudent(random, i);
+            batch.add(allStudents[i]);
+            if (batch.size() == BATCH_SIZE) {
+                system.addStudents(batch);
+                batch = new ArrayList<>(BATCH_SIZE);
+            }
+        }
+        system.addStudents(batch);
+        counts.put("students", students);
+
+        List<Company> allCompanies = new ArrayList<>(companies);
+        for (int i = 0; i < companies; i++) {
+            allCompanies.add(newCompany(random, i));
+        }
+        system.addCompanies(allCompanies);
+        counts.put("companies", companies);
+
+        List<JobPosting> allJobs = new ArrayList<>(companies * jobsPerCompany);
+        for (Company company : allCompanies) {
+            for (int j = 0; j < jobsPerCompany; j++) {
+                allJobs.add(newJob(random, allJobs.size(), company));
+            }
+        }
+        system.addJobPostings(allJobs);
+        counts.put("jobs", allJobs.size());
+
+        // Each student tries a handful of random postings and applies to the ones it is eligible for
+        int applications = 0;
+        int interviews = 0;
+        int offers = 0;
+        int accepted = 0;
+        List<JobPosting> picks = new ArrayList<>(applicationsPerStudent);
+        int rooms = Math.max(10, companies);
+        for (Student student : allStudents) {
+            picks.clear();
+            for (int attempt = 0; attempt < applicationsPerStudent * 4 && picks.size() < applicationsPerStudent
+                    && !allJobs.isEmpty(); attempt++) {
+                JobPosting job = allJobs.get(random.nextInt(allJobs.size()));
+                if (job.isEligible(student) && !picks.contains(job)) {
+                    picks.add(job);
+                }
+            }
+            system.applyForJobs(student, picks);
+            applications += picks.size();
+
+            boolean placed = false;
+            for (Application app : system.getStudentApplications(student.getId())) {
+                if (random.nextDouble() >= interviewRate) {
+                    continue;
+                }
+                // Conflicting slots are rejected, so retry a few random day/hour/room picks
+                boolean scheduled = false;
+                String type = INTERVIEW_TYPES[random.nextInt(INTERVIEW_TYPES.length)];
+                for (int attempt = 0; attempt < 8 && !scheduled; attempt++) {
+                    LocalDate day = driveStart.plusDays(random.nextInt(60));
+                    scheduled = system.scheduleInterview(app.getApplicationId(), day.toString(),
+                        String.format("%02d:00", 9 + random.nextInt(8)), "Room " + (1 + random.nextInt(rooms)),
+                        type).isScheduled();
+                }
+                if (!scheduled) {
+                    continue;
+                }
+                interviews++;
+                if (random.nextDouble() >= offerRate) {
+                    continue;
+                }
+                double offered = Math.round(app.getJob().getPackageLPA() * (0.95 + random.nextDouble() * 0.1) * 10) / 10.0;
+                JobOffer offer = system.createJobOffer(app.getApplicationId(), offered,
+                    graduationYear + "-07-" + (1 + random.nextInt(2) * 14), "Offer for " + app.getJob().getTitle());
+                offers++;
+                if (!placed && random.nextDouble() < acceptRate) {
+                    offer.accept();
+                    placed = true;
+                    accepted++;
+                } else if (placed) {
+                    offer.reject();
+                }
+            }
+        }
+        counts.put("applications", applications);
+        counts.put("interviews", interviews);
+        counts.put("offers", offers);
+        counts.put("accepted", accepted);
+        return counts;
+    }
+
+    private Student newStudent(Random random, int index) {
+        int dept = pick(random, DEPARTMENT_WEIGHTS);
+        String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        // CGPA is roughly normal around 7.4, clipped to the grading scale
+        double cgpa = Math.round(Math.max(5.0, Math.min(10.0, 7.4 + random.nextGaussian() * 0.9)) * 100) / 100.0;
+        int year = graduationYear + (random.nextDouble() < 0.7 ? 0 : 1 + random.nextInt(2));
+        Student student = new Student(String.format("S%07d", index), first + " " + last,
+            first.toLowerCase() + "." + last.toLowerCase() + index + "@college.edu", DEPARTMENTS[dept], cgpa, year);
+
+        String[] pool = DEPARTMENT_SKILLS[dept];
+        int skillCount = 2 + random.nextInt(5);
+        List<String> skills = new ArrayList<>(skillCount + 1);
+        for (int i = 0; i < skillCount; i++) {
+            // Earlier skills in each pool are the common ones
+            String skill = pool[skewedIndex(random, pool.length)];
+            if (!skills.contains(skill)) {
+                skills.add(skill);
+                student.addSkill(skill);
+            }
+        }
+        if (random.nextDouble() < 0.5) {
+            String skill = COMMON_SKILLS[random.nextInt(COMMON_SKILLS.length)];
+            skills.add(skill);
+            student.addSkill(skill);
+        }
+        student.setResume(first + " " + last + ", " + DEPARTMENTS[dept] + " student graduating in " + year
+            + ". Experienced with " + String.join(", ", skills) + ". Completed projects in "
+            + pool[random.nextInt(pool.length)] + " and " + pool[random.nextInt(pool.length)] + ".");
+        return student;
+    }
+
+    private Company newCompany(Random random, int index) {
+        String name = COMPANY_WORDS[random.nextInt(COMPANY_WORDS.length)]
+            + COMPANY_WORDS[random.nextInt(COMPANY_WORDS.length)].toLowerCase() + " "
+            + COMPANY_SUFFIXES[random.nextInt(COMPANY_SUFFIXES.length)];
+        String id = String.format("C%05d", index);
+        return new Company(id, name, "careers@" + id.toLowerCase() + ".example.com",
+            INDUSTRIES[random.nextInt(INDUSTRIES.length)]);
+    }
+
+    private JobPosting newJob(Random random, int index, Company company) {
+        int dept = pick(random, DEPARTMENT_WEIGHTS);
+        Set<String> departments = new HashSet<>();
+        departments.add(DEPARTMENTS[dept]);
+        int extra = random.nextInt(3);
+        for (int i = 0; i < extra; i++) {
+            departments.add(DEPARTMENTS[pick(random, DEPARTMENT_WEIGHTS)]);
+        }
+        String[] pool = DEPARTMENT_SKILLS[dept];
+        Set<String> required = new LinkedHashSet<>();
+        int skillCount = 1 + random.nextInt(4);
+        for (int i = 0; i < skillCount; i++) {
+            required.add(pool[skewedIndex(random, pool.length)]);
+        }
+        String title = JOB_TITLES[random.nextInt(JOB_TITLES.length)];
+        // Packages are log-normal with a median of about 8 LPA
+        double packageLPA = Math.round(Math.exp(Math.log(8) + random.nextGaussian() * 0.45) * 10) / 10.0;
+        String description = title + " at " + company.getName() + " working with " + String.join(", ", required)
+            + ". Open to " + String.join(", ", new TreeSet<>(departments)) + " graduates.";
+        return new JobPosting(String.format("J%06d", index), title, description, company, packageLPA,
+            LOCATIONS[random.nextInt(LOCATIONS.length)], MIN_CGPAS[pick(random, MIN_CGPA_WEIGHTS)],
+            departments, required);
+    }
+
+    private static int pick(Random random, double[] weights) {
+        double r = random.nextDouble();
+        for (int i = 0; i < weights.length - 1; i++) {
+            r -= weights[i];
+            if (r < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    // Biased towards the front of the array: index i has weight proportional to 1 / (i + 1)
+    private static int skewedIndex(Random random, int length) {
+        double total = 0;
+        for (int i = 1; i <= length; i++) {
+            total += 1.0 / i;
+        }
+        double r = random.nextDouble() * total;
+        for (int i = 0; i < length; i++) {
+            r -= 1.0 / (i + 1);
+            if (r < 0) {
+                return i;
+            }
+        }
+        return length - 1;
+    }
+}
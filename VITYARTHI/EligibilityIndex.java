@@ -0,0 +1,97 @@
+// EligibilityIndex.java
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+class EligibilityIndex {
+    // department -> minimum CGPA -> jobs open to that department
+    private Map<String, ConcurrentSkipListMap<Double, Set<JobPosting>>> jobsByDepartment;
+    // department -> CGPA -> students of that department
+    private Map<String, ConcurrentSkipListMap<Double, Set<Student>>> studentsByDepartment;
+
+    public EligibilityIndex() {
+        this.jobsByDepartment = new ConcurrentHashMap<>();
+        this.studentsByDepartment = new ConcurrentHashMap<>();
+    }
+
+    public void addJob(JobPosting job) {
+        for (String dept : job.getEligibleDepartments()) {
+            add(jobsByDepartment, dept, job.getMinCgpa(), job);
+        }
+    }
+
+    public void removeJob(JobPosting job) {
+        for (String dept : job.getEligibleDepartments()) {
+            remove(jobsByDepartment, dept, job.getMinCgpa(), job);
+        }
+    }
+
+    public void addStudent(Student student) {
+        add(studentsByDepartment, student.getDepartment(), student.getCgpa(), student);
+    }
+
+    public void removeStudent(Student student) {
+        remove(studentsByDepartment, student.getDepartment(), student.getCgpa(), student);
+    }
+
+    public void cgpaChanged(Student student, double oldCgpa) {
+        remove(studentsByDepartment, student.getDepartment(), oldCgpa, student);
+        add(studentsByDepartment, student.getDepartment(), student.getCgpa(), student);
+    }
+
+    // Jobs whose minimum CGPA is at or below the student's, lowest bar first
+    public List<JobPosting> eligibleJobs(Student student) {
+        List<JobPosting> result = new ArrayList<>();
+        ConcurrentSkipListMap<Double, Set<JobPosting>> byCgpa = jobsByDepartment.get(student.getDepartment());
+        if (byCgpa != null) {
+            for (Set<JobPosting> jobs : byCgpa.headMap(student.getCgpa(), true).values()) {
+                result.addAll(jobs);
+            }
+        }
+        return result;
+    }
+
+    // Students meeting the job's CGPA bar in any eligible department, highest CGPA first
+    public List<Student> eligibleStudents(JobPosting job) {
+        List<Student> result = new ArrayList<>();
+        for (String dept : job.getEligibleDepartments()) {
+            ConcurrentSkipListMap<Double, Set<Student>> byCgpa = studentsByDepartment.get(dept);
+            if (byCgpa != null) {
+                for (Set<Student> students : byCgpa.tailMap(job.getMinCgpa(), true).descendingMap().values()) {
+                    result.addAll(students);
+                }
+            }
+        }
+        return result;
+    }
+
+    // Writers hold the department's map: its compute is not atomic, so an add racing the remove that
+    // empties a set could land in the set being dropped. Readers never lock
+    private static <T> void add(Map<String, ConcurrentSkipListMap<Double, Set<T>>> index,
+                                String dept, double cgpa, T value) {
+        ConcurrentSkipListMap<Double, Set<T>> byCgpa = index.computeIfAbsent(dept, d -> new ConcurrentSkipListMap<>());
+        synchronized (byCgpa) {
+            Set<T> values = byCgpa.get(cgpa);
+            if (values == null) {
+                values = ConcurrentHashMap.newKeySet();
+                values.add(value);
+                byCgpa.put(cgpa, values);
+            } else {
+                values.add(value);
+            }
+        }
+    }
+
+    private static <T> void remove(Map<String, ConcurrentSkipListMap<Double, Set<T>>> index,
+                                   String dept, double cgpa, T value) {
+        ConcurrentSkipListMap<Double, Set<T>> byCgpa = index.get(dept);
+        if (byCgpa != null) {
+            synchronized (byCgpa) {
+                Set<T> values = byCgpa.get(cgpa);
+                if (values != null && values.remove(value) && values.isEmpty()) {
+                    byCgpa.remove(cgpa);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,125 @@
+// EligibilityMatrix.java
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+// Student x job eligibility for a whole campus, one bit per pair.
+// Each job owns a row of words, so rows can be filled in parallel without coordination.
+class EligibilityMatrix {
+    private List<Student> students;
+    private List<JobPosting> jobs;
+    private Map<String, Integer> studentOrdinals;
+    private Map<String, Integer> jobOrdinals;
+    private int wordsPerRow;
+    private long[] bits;
+    private int[] jobCounts;
+    private int[] studentCounts;
+
+    // candidates narrows each job to students already meeting JobPosting.isEligible;
+    // the matrix additionally requires the given share of the job's skills
+    public EligibilityMatrix(Collection<Student> students, Collection<JobPosting> jobs,
+                             Function<JobPosting, Collection<Student>> candidates,
+                             double minSkillMatchPercentage) {
+        this.students = new ArrayList<>(students);
+        this.jobs = new ArrayList<>(jobs);
+        this.studentOrdinals = ordinals(this.students, Student::getId);
+        this.jobOrdinals = ordinals(this.jobs, JobPosting::getJobId);
+        this.wordsPerRow = (this.students.size() + 63) >>> 6;
+        this.bits = new long[this.jobs.size() * wordsPerRow];
+        this.jobCounts = new int[this.jobs.size()];
+        this.studentCounts = new int[this.students.size()];
+
+        IntStream.range(0, this.jobs.size()).parallel().forEach(row -> {
+            JobPosting job = this.jobs.get(row);
+            SkillSet required = job.getRequiredSkillSet();
+            int base = row * wordsPerRow;
+            int count = 0;
+            for (Student student : candidates.apply(job)) {
+                Integer column = studentOrdinals.get(student.getId());
+                if (column != null && job.isEligible(student)
+                        && required.matchPercentage(student.getSkillSet()) >= minSkillMatchPercentage) {
+                    bits[base + (column >>> 6)] |= 1L << column;
+                    count++;
+                }
+            }
+            jobCounts[row] = count;
+        });
+
+        // Column totals: each word covers a disjoint block of 64 students
+        IntStream.range(0, wordsPerRow).parallel().forEach(word -> {
+            for (int row = 0; row < this.jobs.size(); row++) {
+                long w = bits[row * wordsPerRow + word];
+                while (w != 0) {
+                    studentCounts[(word << 6) + Long.numberOfTrailingZeros(w)]++;
+                    w &= w - 1;
+                }
+            }
+        });
+    }
+
+    public List<Student> getStudents() { return Collections.unmodifiableList(students); }
+    public List<JobPosting> getJobs() { return Collections.unmodifiableList(jobs); }
+
+    public int getEligibleStudentCount(String jobId) {
+        Integer row = jobOrdinals.get(jobId);
+        return row == null ? 0 : jobCounts[row];
+    }
+
+    public int getEligibleJobCount(String studentId) {
+        Integer column = studentOrdinals.get(studentId);
+        return column == null ? 0 : studentCounts[column];
+    }
+
+    public long getTotalEligiblePairs() {
+        long total = 0;
+        for (int count : jobCounts) {
+            total += count;
+        }
+        return total;
+    }
+
+    public boolean isEligible(String studentId, String jobId) {
+        Integer row = jobOrdinals.get(jobId);
+        Integer column = studentOrdinals.get(studentId);
+        return row != null && column != null
+            && (bits[row * wordsPerRow + (column >>> 6)] & (1L << column)) != 0;
+    }
+
+    public void forEachEligibleStudent(String jobId, Consumer<Student> action) {
+        Integer row = jobOrdinals.get(jobId);
+        if (row == null) {
+            return;
+        }
+        int base = row * wordsPerRow;
+        for (int word = 0; word < wordsPerRow; word++) {
+            long w = bits[base + word];
+            while (w != 0) {
+                action.accept(students.get((word << 6) + Long.numberOfTrailingZeros(w)));
+                w &= w - 1;
+            }
+        }
+    }
+
+    public void forEachEligibleJob(String studentId, Consumer<JobPosting> action) {
+        Integer column = studentOrdinals.get(studentId);
+        if (column == null) {
+            return;
+        }
+        int word = column >>> 6;
+        long mask = 1L << column;
+        for (int row = 0; row < jobs.size(); row++) {
+            if ((bits[row * wordsPerRow + word] & mask) != 0) {
+                action.accept(jobs.get(row));
+            }
+        }
+    }
+
+    private static <T> Map<String, Integer> ordinals(List<T> values, Function<T, String> id) {
+        Map<String, Integer> ordinals = new HashMap<>(values.size() * 2);
+        for (int i = 0; i < values.size(); i++) {
+            ordinals.put(id.apply(values.get(i)), i);
+        }
+        return ordinals;
+    }
+}
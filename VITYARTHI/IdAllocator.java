@@ -0,0 +1,129 @@
+// IdAllocator.java
+import java.util.concurrent.atomic.AtomicLong;
+
+// Hands out the numeric part of APP/INT/OFF ids. Single ids are one getAndIncrement; a batch, shard or
+// other node can reserve a whole block up front and number its records without touching the shared
+// counter again. Records keep the number as a primitive, and the display string ("APP0042") is only
+// built when something renders it. Numbers are zero-padded to at least four digits and simply grow
+// wider after 9999, so every id written so far parses back to the same number.
+class IdAllocator {
+    static final int MIN_DIGITS = 4;
+
+    private final String prefix;
+    private final AtomicLong next;
+
+    public IdAllocator(String prefix) {
+        this.prefix = prefix;
+        this.next = new AtomicLong(1);
+    }
+
+    public String getPrefix() { return prefix; }
+
+    public long allocate() {
+        return next.getAndIncrement();
+    }
+
+    // A private range of numbers for one owner; IdBlock itself is not thread-safe
+    public IdBlock reserve(int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("Block size must be positive: " + count);
+        }
+        long first = next.getAndAdd(count);
+        return new IdBlock(first, first + count);
+    }
+
+    // Hands back the unused tail of a block if nothing was allocated after it; otherwise the gap stays
+    public void release(IdBlock block) {
+        next.compareAndSet(block.getEnd(), block.peek());
+    }
+
+    // Every number handed out so far is below this
+    public long peekNext() {
+        return next.get();
+    }
+
+    // Replay and snapshots restore records under their original numbers
+    public void advancePast(long number) {
+        next.accumulateAndGet(number + 1, Math::max);
+    }
+
+    public String format(long number) {
+        return format(prefix, number);
+    }
+
+    public long parse(String id) {
+        return parse(prefix, id);
+    }
+
+    // Formatting
+    static String format(String prefix, long number) {
+        String digits = Long.toString(number);
+        int padding = MIN_DIGITS - digits.length();
+        if (padding <= 0) {
+            return prefix.concat(digits);
+        }
+        StringBuilder id = new StringBuilder(prefix.length() + MIN_DIGITS).append(prefix);
+        for (int i = 0; i < padding; i++) {
+            id.append('0');
+        }
+        return id.append(digits).toString();
+    }
+
+    static long require(String prefix, String id) {
+        long number = parse(prefix, id);
+        if (number < 0) {
+            throw new IllegalArgumentException("Not a " + prefix + " id: " + id);
+        }
+        return number;
+    }
+
+    // The number behind an id in canonical form, or -1; "APP1" and "APP00042" are not ids
+    static long parse(String prefix, String id) {
+        if (id == null || !id.startsWith(prefix)) {
+            return -1;
+        }
+        int from = prefix.length();
+        int digits = id.length() - from;
+        if (digits < MIN_DIGITS || digits > 18 || (digits > MIN_DIGITS && id.charAt(from) == '0')) {
+            return -1;
+        }
+        long number = 0;
+        for (int i = from; i < id.length(); i++) {
+            char c = id.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            number = number * 10 + (c - '0');
+        }
+        return number;
+    }
+}
+
+// IdBlock.java
+class IdBlock {
+    private long next;
+    private final long end;
+
+    IdBlock(long first, long end) {
+        this.next = first;
+        this.end = end;
+    }
+
+    public boolean hasNext() {
+        return next < end;
+    }
+
+    public long next() {
+        if (next >= end) {
+            throw new IllegalStateException("Id block exhausted at " + end);
+        }
+        return next++;
+    }
+
+    public int remaining() {
+        return (int) (end - next);
+    }
+
+    long peek() { return next; }
+    long getEnd() { return end; }
+}
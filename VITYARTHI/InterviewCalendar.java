@@ -0,0 +1,113 @@
+// InterviewCalendar.java
+import java.time.LocalDateTime;
+import java.util.*;
+
+// Interviews of one student, company panel or room, ordered by start time. Booking never lets them
+// overlap, but restored data can hold overlaps and several interviews at one start, so every one is
+// kept. Whatever clashes with a slot starts less than the longest interview before it, so a conflict
+// check is one O(log n) seek plus the few entries in that window. Not thread-safe; PlacementSystem
+// guards it.
+class InterviewCalendar {
+    private TreeMap<LocalDateTime, List<Interview>> byStart = new TreeMap<>();
+    private int longestMinutes; // never shrinks, so the window stays wide enough after removals
+    private int size;
+
+    // The earliest booked interview overlapping [start, end), or null if the slot is free
+    public Interview findConflict(LocalDateTime start, LocalDateTime end) {
+        LocalDateTime earliest = start.minusMinutes(longestMinutes);
+        for (List<Interview> sameStart : byStart.subMap(earliest, false, end, false).values()) {
+            for (Interview interview : sameStart) {
+                if (interview.getEnd().isAfter(start)) {
+                    return interview;
+                }
+            }
+        }
+        return null;
+    }
+
+    public void add(Interview interview) {
+        byStart.merge(interview.getStart(), List.of(interview), (booked, added) -> {
+            List<Interview> all = new ArrayList<>(booked);
+            all.addAll(added);
+            return all;
+        });
+        longestMinutes = Math.max(longestMinutes, interview.getDurationMinutes());
+        size++;
+    }
+
+    public void remove(Interview interview) {
+        List<Interview> sameStart = byStart.get(interview.getStart());
+        if (sameStart == null || !sameStart.contains(interview)) {
+            return;
+        }
+        if (sameStart.size() == 1) {
+            byStart.remove(interview.getStart());
+        } else {
+            List<Interview> rest = new ArrayList<>(sameStart);
+            rest.remove(interview);
+            byStart.put(interview.getStart(), rest);
+        }
+        size--;
+    }
+
+    public Collection<Interview> between(LocalDateTime from, LocalDateTime to) {
+        List<Interview> result = new ArrayList<>();
+        for (List<Interview> sameStart : byStart.subMap(from, true, to, false).values()) {
+            result.addAll(sameStart);
+        }
+        return result;
+    }
+
+    public int size() {
+        return size;
+    }
+}
+
+// ScheduleResult.java
+class ScheduleResult {
+    enum Status {
+        SCHEDULED, UNKNOWN_APPLICATION, INVALID_TIME, APPLICATION_CLOSED, STUDENT_CONFLICT, COMPANY_CONFLICT,
+        LOCATION_CONFLICT
+    }
+
+    private Status status;
+    private Interview interview; // the new interview, or the one it clashes with
+    private String reason;
+
+    private ScheduleResult(Status status, Interview interview, String reason) {
+        this.status = status;
+        this.interview = interview;
+        this.reason = reason;
+    }
+
+    static ScheduleResult scheduled(Interview interview) {
+        return new ScheduleResult(Status.SCHEDULED, interview, "Interview " + interview.getInterviewId() + " scheduled");
+    }
+
+    static ScheduleResult rejected(Status status, String reason) {
+        return new ScheduleResult(status, null, reason);
+    }
+
+    static ScheduleResult conflict(Status status, Interview existing, String who) {
+        return new ScheduleResult(status, existing, who + " already has interview " + existing.getInterviewId() +
+            " from " + existing.getStart().toLocalTime() + " to " + existing.getEnd().toLocalTime() +
+            " on " + existing.getStart().toLocalDate());
+    }
+
+    public boolean isScheduled() { return status == Status.SCHEDULED; }
+    public Status getStatus() { return status; }
+    public String getReason() { return reason; }
+
+    public Interview getInterview() {
+        return status == Status.SCHEDULED ? interview : null;
+    }
+
+    public Interview getConflictingInterview() {
+        return status == Status.SCHEDULED ? null : interview;
+    }
+
+    @Override
+    public String toString() {
+        return status + ": " + reason;
+    }
+}
@@ -0,0 +1,187 @@
+// InterviewSlotScheduler.java
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.*;
+
+// Assigns a batch of candidates to one company's interview drive: time windows cut into fixed-length
+// slots, a set of rooms, and one round per interview type, each round starting after the candidate's
+// previous one ends. Greedy earliest-fit in batch order: every probe is an O(log n) calendar check, slots
+// that fill up are skipped for good, so a drive costs roughly O((candidates + slots x rooms) log n)
+// instead of one menu round-trip per candidate. Students' existing interviews, rooms booked by other
+// companies and the company's own earlier interviews are all respected through the shared calendars.
+class InterviewSlotScheduler {
+    private List<LocalDateTime[]> windows = new ArrayList<>();
+    private List<String> rooms = new ArrayList<>();
+    private List<String> rounds = new ArrayList<>(List.of("TECHNICAL"));
+    private int slotMinutes = Interview.DEFAULT_DURATION_MINUTES;
+    private int gapMinutes = 0;
+    private int panels = 0; // 0 means one panel per room
+
+    // Setup
+    public void addWindow(LocalDate day, LocalTime from, LocalTime to) {
+        if (!to.isAfter(from)) {
+            throw new IllegalArgumentException("Window must end after it starts: " + from + "-" + to);
+        }
+        windows.add(new LocalDateTime[] { day.atTime(from), day.atTime(to) });
+    }
+
+    public void setRooms(Collection<String> rooms) {
+        this.rooms = new ArrayList<>(new LinkedHashSet<>(rooms));
+    }
+
+    // Interview types in the order candidates go through them, e.g. TECHNICAL then HR
+    public void setRounds(List<String> rounds) {
+        if (rounds.isEmpty()) {
+            throw new IllegalArgumentException("At least one interview round is required");
+        }
+        this.rounds = new ArrayList<>(rounds);
+    }
+
+    public void setSlotMinutes(int slotMinutes) {
+        if (slotMinutes <= 0 || slotMinutes > 24 * 60) {
+            throw new IllegalArgumentException("Slot length must be between 1 and 1440 minutes");
+        }
+        this.slotMinutes = slotMinutes;
+    }
+
+    // Minimum break for a candidate between consecutive rounds
+    public void setGapMinutes(int gapMinutes) {
+        this.gapMinutes = Math.max(0, gapMinutes);
+    }
+
+    // How many interviews the company can run at the same time
+    public void setPanels(int panels) {
+        this.panels = Math.max(0, panels);
+    }
+
+    // Scheduling
+    // Called by PlacementSystem.scheduleInterviews, which syncs the journal once for the whole drive
+    SlotSchedule schedule(PlacementSystem system, Collection<Application> batch) {
+        if (rooms.isEmpty()) {
+            throw new IllegalStateException("No interview rooms configured");
+        }
+        LocalDateTime[] slots = slots();
+        int roomCount = rooms.size();
+        int parallel = panels > 0 ? panels : roomCount;
+        boolean[][] roomTaken = new boolean[slots.length][roomCount];
+        boolean[] full = new boolean[slots.length];
+        int firstOpen = 0;
+
+        SlotSchedule schedule = new SlotSchedule();
+        for (Application app : distinct(batch)) {
+            if (!app.getStatus().canMoveTo(ApplicationStatus.SHORTLISTED)) {
+                schedule.unassigned(app, "Application is " + app.getStatus());
+                continue;
+            }
+            // Each candidate goes through every round before the next one starts, so a full drive
+            // leaves late candidates unscheduled rather than everyone stuck after the first round
+            LocalDateTime readyAt = null;
+            for (String type : rounds) {
+                int slot = readyAt == null ? firstOpen : Math.max(firstOpen, firstSlotAtOrAfter(slots, readyAt));
+                Interview booked = null;
+                for (; slot < slots.length && booked == null; slot++) {
+                    if (full[slot]) {
+                        continue;
+                    }
+                    LocalDateTime start = slots[slot];
+                    String date = start.toLocalDate().toString();
+                    String time = start.toLocalTime().toString();
+                    boolean studentBusy = false;
+                    for (int room = 0; room < roomCount && booked == null && !studentBusy && !full[slot]; room++) {
+                        if (roomTaken[slot][room]) {
+                            continue;
+                        }
+                        ScheduleResult result = system.book(app, date, time, start, slotMinutes, rooms.get(room),
+                            type, parallel);
+                        switch (result.getStatus()) {
+                            case SCHEDULED:
+                                booked = result.getInterview();
+                                roomTaken[slot][room] = true;
+                                break;
+                            case STUDENT_CONFLICT:
+                            case APPLICATION_CLOSED: // rejected while the drive was being planned
+                                studentBusy = true;
+                                break;
+                            case COMPANY_CONFLICT:
+                                full[slot] = true;
+                                break;
+                            default:
+                                roomTaken[slot][room] = true;
+                        }
+                    }
+                    if (booked == null && !studentBusy) {
+                        full[slot] = true; // every room or every panel is booked
+                    }
+                }
+                while (firstOpen < slots.length && full[firstOpen]) {
+                    firstOpen++;
+                }
+                if (booked == null) {
+                    schedule.unassigned(app, readyAt == null ? "No free " + type + " slot in the drive windows"
+                        : "No free " + type + " slot after the previous round");
+                    break;
+                }
+                schedule.scheduled(booked);
+                readyAt = booked.getEnd().plusMinutes(gapMinutes);
+            }
+        }
+        return schedule;
+    }
+
+    // Slot start times across all windows, sorted
+    private LocalDateTime[] slots() {
+        TreeSet<LocalDateTime> starts = new TreeSet<>();
+        for (LocalDateTime[] window : windows) {
+            for (LocalDateTime start = window[0]; !start.plusMinutes(slotMinutes).isAfter(window[1]);
+                 start = start.plusMinutes(slotMinutes)) {
+                starts.add(start);
+            }
+        }
+        return starts.toArray(new LocalDateTime[0]);
+    }
+
+    private static int firstSlotAtOrAfter(LocalDateTime[] slots, LocalDateTime time) {
+        int index = Arrays.binarySearch(slots, time);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    private static List<Application> distinct(Collection<Application> batch) {
+        Set<Application> seen = new HashSet<>();
+        List<Application> candidates = new ArrayList<>(batch.size());
+        for (Application app : batch) {
+            if (app != null && seen.add(app)) {
+                candidates.add(app);
+            }
+        }
+        return candidates;
+    }
+}
+
+// SlotSchedule.java
+class SlotSchedule {
+    private List<Interview> interviews = new ArrayList<>();
+    private Map<Application, String> unassigned = new LinkedHashMap<>();
+
+    void scheduled(Interview interview) {
+        interviews.add(interview);
+    }
+
+    void unassigned(Application application, String reason) {
+        unassigned.put(application, reason);
+    }
+
+    public List<Interview> getInterviews() {
+        return Collections.unmodifiableList(interviews);
+    }
+
+    // Candidates who could not be fitted into some round, with the reason
+    public Map<Application, String> getUnassigned() {
+        return Collections.unmodifiableMap(unassigned);
+    }
+
+    @Override
+    public String toString() {
+        return interviews.size() + " interviews scheduled, " + unassigned.size() + " candidates unassigned";
+    }
+}
@@ -0,0 +1,41 @@
+// JobRecommendation.java
+import java.util.*;
+
+class JobRecommendation {
+    // Best first: skill match, then package, then how far the student clears the CGPA bar
+    public static final Comparator<JobRecommendation> RANKING = (a, b) ->
+        compare(b.matchPercentage, b.job.getPackageLPA(), b.cgpaMargin,
+                a.matchPercentage, a.job.getPackageLPA(), a.cgpaMargin);
+
+    private JobPosting job;
+    private double matchPercentage;
+    private double cgpaMargin;
+
+    public JobRecommendation(JobPosting job, double matchPercentage, double cgpaMargin) {
+        this.job = job;
+        this.matchPercentage = matchPercentage;
+        this.cgpaMargin = cgpaMargin;
+    }
+
+    public JobPosting getJob() { return job; }
+    public double getMatchPercentage() { return matchPercentage; }
+    public double getCgpaMargin() { return cgpaMargin; }
+
+    static int compare(double match1, double package1, double margin1,
+                       double match2, double package2, double margin2) {
+        int result = Double.compare(match1, match2);
+        if (result == 0) {
+            result = Double.compare(package1, package2);
+        }
+        if (result == 0) {
+            result = Double.compare(margin1, margin2);
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return job.getJobId() + " - " + job.getTitle() + " at " + job.getCompany().getName() +
+               " (" + String.format("%.2f", matchPercentage) + "% match, " + job.getPackageLPA() + " LPA)";
+    }
+}
@@ -1,14 +1,54 @@
 // Main.java
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.*;
 
 public class Main {
     private static Scanner scanner = new Scanner(System.in);
     private static PlacementSystem system = new PlacementSystem();
     private static User currentUser = null;
+    private static PlacementJournal journal = null;
 
-    public static void main(String[] args) {
-        // Add sample data
-        initializeSampleData();
+    public static void main(String[] args) throws InterruptedException {
+        int httpPort = -1;
+        int demoStudents = 0;
+        int metricsPeriod = 0;
+        for (int i = 0; i + 1 < args.length; i++) {
+            if (args[i].equals("--data")) {
+                openJournal(args[i + 1]);
+            } else if (args[i].equals("--http")) {
+                httpPort = Integer.parseInt(args[i + 1]);
+            } else if (args[i].equals("--demo")) {
+                demoStudents = Integer.parseInt(args[i + 1]);
+            } else if (args[i].equals("--metrics")) {
+                metricsPeriod = Integer.parseInt(args[i + 1]);
+            }
+        }
+
+        // Visible in jconsole / VisualVM; --metrics also prints a summary to stderr every N seconds
+        system.getMetrics().registerMBean();
+        if (metricsPeriod > 0) {
+            system.getMetrics().startReporter(metricsPeriod, System.err);
+        }
+
+        // Add sample data on first start
+        if (system.getStudentsView().isEmpty()) {
+            if (demoStudents > 0) {
+                initializeDemoData(demoStudents);
+            } else {
+                initializeSampleData();
+            }
+        }
+
+        if (httpPort >= 0) {
+            serveHttp(httpPort);
+            return;
+        }
         
         System.out.println("╔════════════════════════════════════════════════╗");
         System.out.println("║  Campus Placement & Career Services System    ║");
@@ -54,6 +94,63 @@ public class Main {
         system.addAdmin(new Admin("A001", "Admin User", "admin@college.edu"));
     }
 
+    // Synthetic campus of the given size; always the same data for the same size
+    private static void initializeDemoData(int students) {
+        long start = System.nanoTime();
+        Map<String, Integer> counts = new CampusDataGenerator(2024, students).generate(system);
+        system.addAdmin(new Admin("A001", "Admin User", "admin@college.edu"));
+        System.out.println("Generated demo campus " + counts + " in " +
+            (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+    private static void openJournal(String directory) {
+        try {
+            long start = System.nanoTime();
+            journal = PlacementJournal.open(Paths.get(directory), system);
+            System.out.println("Recovered " + journal.getReplayedRecords() + " records from " + directory +
+                " in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        } catch (IOException e) {
+            System.out.println("Could not open data directory " + directory + ": " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    // Runs the JSON API instead of the console menus until the process is stopped
+    private static void serveHttp(int port) throws InterruptedException {
+        // The JDK server writes headers and body separately; without TCP_NODELAY keep-alive clients
+        // stall ~40 ms per request on delayed ACKs. JVM-wide, and read once when the server classes
+        // load, so it is set here before the first server is created
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        PlacementHttpServer server;
+        try {
+            server = new PlacementHttpServer(system, port);
+        } catch (IOException e) {
+            System.out.println("Could not start HTTP server on port " + port + ": " + e.getMessage());
+            closeJournal();
+            System.exit(1);
+            return;
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop();
+            closeJournal();
+        }));
+        server.start();
+        System.out.println("Placement API listening on http://localhost:" + server.getPort() + "/api/");
+        Thread.currentThread().join();
+    }
+
+    private static void closeJournal() {
+        if (journal != null) {
+            try {
+                journal.close();
+            } catch (IOException e) {
+                System.out.println("Failed to close journal: " + e.getMessage());
+            }
+        }
+    }
+
     private static void showLoginMenu() {
         System.out.println("\n=== Login Menu ===");
         System.out.println("1. Student Login");
@@ -77,6 +174,7 @@ public class Main {
                 break;
             case 4:
                 System.out.println("Thank you for using the system!");
+                closeJournal();
                 System.exit(0);
             default:
                 System.out.println("Invalid option!");
@@ -130,7 +228,9 @@ public class Main {
         System.out.println("6. View Interview Schedule");
         System.out.println("7. View Offers");
         System.out.println("8. Skill Gap Analysis");
-        System.out.println("9. Logout");
+        System.out.println("9. Recommended Jobs");
+        System.out.println("10. Search Jobs");
+        System.out.println("11. Logout");
         System.out.print("Choose option: ");
         
         int choice = getIntInput();
@@ -162,6 +262,12 @@ public class Main {
                 skillGapAnalysis(student);
                 break;
             case 9:
+                viewRecommendedJobs(student);
+                break;
+            case 10:
+                searchJobs(student);
+                break;
+            case 11:
                 currentUser = null;
                 System.out.println("Logged out successfully!");
                 break;
@@ -181,7 +287,9 @@ public class Main {
         System.out.println("6. Update Application Status");
         System.out.println("7. Make Job Offer");
         System.out.println("8. View Placement Statistics");
-        System.out.println("9. Logout");
+        System.out.println("9. Schedule Interview Drive");
+        System.out.println("10. Search Resumes");
+        System.out.println("11. Logout");
         System.out.print("Choose option: ");
         
         int choice = getIntInput();
@@ -213,6 +321,12 @@ public class Main {
                 viewPlacementStats(company);
                 break;
             case 9:
+                scheduleInterviewDrive(company);
+                break;
+            case 10:
+                searchResumes();
+                break;
+            case 11:
                 currentUser = null;
                 System.out.println("Logged out successfully!");
                 break;
@@ -231,7 +345,10 @@ public class Main {
         System.out.println("6. View All Applications");
         System.out.println("7. Generate Placement Report");
         System.out.println("8. Manage Placement Drives");
-        System.out.println("9. Logout");
+        System.out.println("9. Bulk Import");
+        System.out.println("10. Export Reports");
+        System.out.println("11. Search Students / Applications");
+        System.out.println("12. Logout");
         System.out.print("Choose option: ");
         
         int choice = getIntInput();
@@ -263,6 +380,15 @@ public class Main {
                 managePlacementDrives();
                 break;
             case 9:
+                bulkImport();
+                break;
+            case 10:
+                exportReports();
+                break;
+            case 11:
+                searchRecords();
+                break;
+            case 12:
                 currentUser = null;
                 System.out.println("Logged out successfully!");
                 break;
@@ -375,6 +501,12 @@ public class Main {
         for (Interview interview : interviews) {
             System.out.println("\n" + interview);
         }
+        List<Interview> next = system.getUpcomingStudentInterviews(student.getId(), LocalDateTime.now(), 1);
+        if (!next.isEmpty()) {
+            System.out.println("\nNext up: " + next.get(0).getInterviewId() + " with " +
+                next.get(0).getApplication().getJob().getCompany().getName() + " on " + next.get(0).getDate() +
+                " at " + next.get(0).getTime());
+        }
     }
 
     private static void viewOffers(Student student) {
@@ -388,7 +520,7 @@ public class Main {
         
         for (JobOffer offer : offers) {
             System.out.println("\n" + offer);
-            if (offer.getStatus().equals("PENDING")) {
+            if (offer.getStatus() == OfferStatus.PENDING) {
                 System.out.print("Accept this offer? (Y/N): ");
                 String response = scanner.nextLine();
                 if (response.equalsIgnoreCase("Y")) {
@@ -413,30 +545,53 @@ public class Main {
             return;
         }
         
-        Set<String> studentSkills = student.getSkills();
-        Set<String> requiredSkills = job.getRequiredSkills();
-        
-        Set<String> missingSkills = new HashSet<>(requiredSkills);
-        missingSkills.removeAll(studentSkills);
-        
-        Set<String> matchingSkills = new HashSet<>(requiredSkills);
-        matchingSkills.retainAll(studentSkills);
+        SkillSet studentSkills = student.getSkillSet();
+        SkillSet requiredSkills = job.getRequiredSkillSet();
         
         System.out.println("\nJob: " + job.getTitle() + " at " + job.getCompany().getName());
         System.out.println("Required Skills: " + requiredSkills);
         System.out.println("Your Skills: " + studentSkills);
-        System.out.println("Matching Skills: " + matchingSkills);
-        System.out.println("Missing Skills: " + missingSkills);
+        System.out.println("Matching Skills: " + requiredSkills.and(studentSkills));
+        System.out.println("Missing Skills: " + requiredSkills.andNot(studentSkills));
         
-        double matchPercentage = requiredSkills.isEmpty() ? 100.0 : 
-            (matchingSkills.size() * 100.0 / requiredSkills.size());
+        double matchPercentage = requiredSkills.matchPercentage(studentSkills);
         System.out.println("Match Percentage: " + String.format("%.2f", matchPercentage) + "%");
         
-        if (!missingSkills.isEmpty()) {
+        if (requiredSkills.countMissing(studentSkills) > 0) {
             System.out.println("\nRecommended Training:");
-            for (String skill : missingSkills) {
-                System.out.println("- Learn " + skill);
-            }
+            requiredSkills.forEachMissing(studentSkills, skill -> System.out.println("- Learn " + skill));
+        }
+    }
+
+    private static void viewRecommendedJobs(Student student) {
+        System.out.println("\n=== Recommended Jobs ===");
+        List<JobRecommendation> recommendations = system.recommendJobs(student, 5);
+        
+        if (recommendations.isEmpty()) {
+            System.out.println("No new jobs to recommend right now.");
+            return;
+        }
+        
+        int rank = 1;
+        for (JobRecommendation recommendation : recommendations) {
+            System.out.println(rank++ + ". " + recommendation);
+        }
+    }
+
+    private static void searchJobs(Student student) {
+        System.out.println("\n=== Search Jobs ===");
+        String text = prompt("Keywords: ");
+        List<SearchHit<JobPosting>> hits = system.searchJobs(text, 10);
+        if (hits.isEmpty()) {
+            System.out.println("No matching jobs.");
+            return;
+        }
+        int rank = 1;
+        for (SearchHit<JobPosting> hit : hits) {
+            JobPosting job = hit.getItem();
+            System.out.println(rank++ + ". " + job.getJobId() + " - " + job.getTitle() + " at " +
+                job.getCompany().getName() + " (" + job.getPackageLPA() + " LPA)" +
+                (job.isEligible(student) ? "" : " [not eligible]"));
         }
     }
 
@@ -514,18 +669,124 @@ public class Main {
         String appId = scanner.nextLine();
         System.out.print("Enter Interview Date (YYYY-MM-DD): ");
         String date = scanner.nextLine();
-        System.out.print("Enter Interview Time: ");
+        System.out.print("Enter Interview Time (HH:MM): ");
         String time = scanner.nextLine();
+        System.out.print("Enter Duration in minutes (blank for " + Interview.DEFAULT_DURATION_MINUTES + "): ");
+        String duration = scanner.nextLine().trim();
         System.out.print("Enter Interview Location/Link: ");
         String location = scanner.nextLine();
         System.out.print("Enter Interview Type (TECHNICAL/HR/GROUP): ");
         String type = scanner.nextLine();
         
-        if (system.scheduleInterview(appId, date, time, location, type)) {
-            System.out.println("Interview scheduled successfully!");
+        int minutes;
+        try {
+            minutes = duration.isEmpty() ? Interview.DEFAULT_DURATION_MINUTES : Integer.parseInt(duration);
+        } catch (NumberFormatException e) {
+            System.out.println("Invalid duration!");
+            return;
+        }
+        ScheduleResult result = system.scheduleInterview(appId, date, time, location, type, minutes);
+        if (result.isScheduled()) {
+            System.out.println("Interview " + result.getInterview().getInterviewId() + " scheduled successfully!");
         } else {
-            System.out.println("Failed to schedule interview!");
+            System.out.println("Failed to schedule interview: " + result.getReason());
+        }
+    }
+
+    private static void scheduleInterviewDrive(Company company) {
+        System.out.print("Enter Job ID: ");
+        JobPosting job = system.getJobById(scanner.nextLine().trim());
+        if (job == null || job.getCompany() != company) {
+            System.out.println("Job not found!");
+            return;
+        }
+        // Shortlisted candidates who have no interview for this job yet
+        Set<Application> interviewed = new HashSet<>();
+        for (Interview interview : system.getCompanyInterviews(company.getId())) {
+            interviewed.add(interview.getApplication());
+        }
+        List<Application> candidates = new ArrayList<>();
+        for (Application app : system.getJobApplications(job.getJobId(), ApplicationStatus.SHORTLISTED)) {
+            if (!interviewed.contains(app)) {
+                candidates.add(app);
+            }
+        }
+        candidates.sort(Comparator.comparingLong(Application::getNumber));
+        if (candidates.isEmpty()) {
+            System.out.println("No shortlisted candidates waiting for an interview.");
+            return;
+        }
+        System.out.println(candidates.size() + " shortlisted candidates to schedule.");
+
+        InterviewSlotScheduler scheduler = new InterviewSlotScheduler();
+        try {
+            System.out.print("Enter Drive Dates (YYYY-MM-DD, comma-separated): ");
+            String[] dates = scanner.nextLine().split(",");
+            System.out.print("Enter Daily Start and End Time (HH:MM-HH:MM): ");
+            String[] hours = scanner.nextLine().split("-");
+            for (String date : dates) {
+                scheduler.addWindow(LocalDate.parse(date.trim()), LocalTime.parse(hours[0].trim()),
+                    LocalTime.parse(hours[1].trim()));
+            }
+            System.out.print("Enter Slot Length in minutes (blank for " + Interview.DEFAULT_DURATION_MINUTES + "): ");
+            String slot = scanner.nextLine().trim();
+            if (!slot.isEmpty()) {
+                scheduler.setSlotMinutes(Integer.parseInt(slot));
+            }
+            System.out.print("Enter Rooms/Links (comma-separated): ");
+            scheduler.setRooms(splitList(scanner.nextLine()));
+            System.out.print("Enter Rounds in order (blank for TECHNICAL, e.g. TECHNICAL,HR): ");
+            List<String> rounds = splitList(scanner.nextLine());
+            if (!rounds.isEmpty()) {
+                scheduler.setRounds(rounds);
+            }
+        } catch (RuntimeException e) {
+            System.out.println("Invalid drive settings: " + e.getMessage());
+            return;
+        }
+
+        SlotSchedule schedule;
+        try {
+            schedule = system.scheduleInterviews(scheduler, candidates);
+        } catch (IllegalStateException e) {
+            System.out.println("Failed to schedule drive: " + e.getMessage());
+            return;
+        }
+        for (Interview interview : schedule.getInterviews()) {
+            System.out.println(interview.getInterviewId() + "  " + interview.getApplication().getStudent().getName() +
+                "  " + interview.getDate() + " " + interview.getTime() + "  " + interview.getLocation() +
+                "  " + interview.getType());
+        }
+        for (Map.Entry<Application, String> entry : schedule.getUnassigned().entrySet()) {
+            System.out.println("Not scheduled: " + entry.getKey().getApplicationId() + " - " + entry.getValue());
+        }
+        System.out.println(schedule);
+    }
+
+    private static void searchResumes() {
+        System.out.println("\n=== Search Resumes ===");
+        String text = prompt("Keywords: ");
+        List<SearchHit<Student>> hits = system.searchResumes(text, 10);
+        if (hits.isEmpty()) {
+            System.out.println("No matching resumes.");
+            return;
+        }
+        int rank = 1;
+        for (SearchHit<Student> hit : hits) {
+            Student s = hit.getItem();
+            System.out.println(rank++ + ". " + s.getId() + " | " + s.getName() + " | " + s.getDepartment() +
+                " | CGPA: " + s.getCgpa() + " | Graduating " + s.getGraduationYear());
+        }
+    }
+
+    private static List<String> splitList(String input) {
+        List<String> values = new ArrayList<>();
+        for (String value : input.split(",")) {
+            if (!value.trim().isEmpty()) {
+                values.add(value.trim());
+            }
         }
+        return values;
     }
 
     private static void updateApplicationStatus(Company company) {
@@ -539,20 +800,23 @@ public class Main {
         int choice = getIntInput();
         scanner.nextLine();
         
-        String status = "";
+        ApplicationStatus status;
         switch (choice) {
-            case 1: status = "SHORTLISTED"; break;
-            case 2: status = "REJECTED"; break;
-            case 3: status = "ON_HOLD"; break;
+            case 1: status = ApplicationStatus.SHORTLISTED; break;
+            case 2: status = ApplicationStatus.REJECTED; break;
+            case 3: status = ApplicationStatus.ON_HOLD; break;
             default:
                 System.out.println("Invalid option!");
                 return;
         }
         
-        if (system.updateApplicationStatus(appId, status)) {
+        Application app = system.getApplicationById(appId);
+        if (app == null) {
+            System.out.println("Application not found!");
+        } else if (system.updateApplicationStatus(appId, status)) {
             System.out.println("Application status updated!");
         } else {
-            System.out.println("Failed to update status!");
+            System.out.println("Cannot move application from " + app.getStatus() + " to " + status + "!");
         }
     }
 
@@ -591,7 +855,7 @@ public class Main {
                 List<JobOffer> offers = system.getApplicationOffers(app.getApplicationId());
                 totalOffers += offers.size();
                 for (JobOffer offer : offers) {
-                    if (offer.getStatus().equals("ACCEPTED")) {
+                    if (offer.getStatus() == OfferStatus.ACCEPTED) {
                         acceptedOffers++;
                     }
                 }
@@ -644,7 +908,7 @@ public class Main {
 
     private static void viewAllStudents() {
         System.out.println("\n=== All Students ===");
-        List<Student> students = system.getAllStudents();
+        Collection<Student> students = system.getStudentsView();
         
         if (students.isEmpty()) {
             System.out.println("No students registered.");
@@ -659,7 +923,7 @@ public class Main {
 
     private static void viewAllCompanies() {
         System.out.println("\n=== All Companies ===");
-        List<Company> companies = system.getAllCompanies();
+        Collection<Company> companies = system.getCompaniesView();
         
         if (companies.isEmpty()) {
             System.out.println("No companies registered.");
@@ -674,7 +938,7 @@ public class Main {
 
     private static void viewAllJobs() {
         System.out.println("\n=== All Jobs ===");
-        List<JobPosting> jobs = system.getAllJobs();
+        Collection<JobPosting> jobs = system.getJobsView();
         
         if (jobs.isEmpty()) {
             System.out.println("No jobs posted.");
@@ -688,7 +952,7 @@ public class Main {
 
     private static void viewAllApplications() {
         System.out.println("\n=== All Applications ===");
-        List<Application> applications = system.getAllApplications();
+        Collection<Application> applications = system.getApplicationsView();
         
         if (applications.isEmpty()) {
             System.out.println("No applications found.");
@@ -700,38 +964,159 @@ public class Main {
         }
     }
 
+    private static void searchRecords() {
+        System.out.println("\n=== Search ===");
+        System.out.println("1. Students");
+        System.out.println("2. Applications");
+        System.out.print("Choose option: ");
+        int choice = getIntInput();
+        scanner.nextLine();
+        System.out.println("Leave a filter blank to skip it.");
+        try {
+            switch (choice) {
+                case 1:
+                    searchStudents();
+                    break;
+                case 2:
+                    searchApplications();
+                    break;
+                default:
+                    System.out.println("Invalid option!");
+            }
+        } catch (RuntimeException e) {
+            System.out.println("Invalid filter: " + e.getMessage());
+        }
+    }
+
+    private static void searchStudents() {
+        StudentQuery query = new StudentQuery();
+        List<String> departments = splitList(prompt("Departments (comma-separated): "));
+        if (!departments.isEmpty()) {
+            query.setDepartments(departments);
+        }
+        String min = prompt("Min CGPA: ");
+        String max = prompt("Max CGPA: ");
+        query.setCgpaRange(min.isEmpty() ? Double.NEGATIVE_INFINITY : Double.parseDouble(min),
+            max.isEmpty() ? Double.POSITIVE_INFINITY : Double.parseDouble(max));
+        String year = prompt("Graduation Year: ");
+        if (!year.isEmpty()) {
+            query.setGraduationYear(Integer.parseInt(year));
+        }
+        for (String skill : splitList(prompt("Required Skills (comma-separated): "))) {
+            query.requireSkill(skill);
+        }
+        String placed = prompt("Placed (y/n): ");
+        if (!placed.isEmpty()) {
+            query.setPlaced(placed.equalsIgnoreCase("y"));
+        }
+        String company = prompt("Applied to Company ID: ");
+        if (!company.isEmpty()) {
+            query.setCompanyId(company);
+        }
+        query.setApplicationStatus(
+            applicationStatus(prompt("Application Status (APPLIED/SHORTLISTED/ON_HOLD/REJECTED): ")));
+        String order = prompt("Sort by (ID/NAME/CGPA/GRADUATION_YEAR): ");
+        if (!order.isEmpty()) {
+            query.setOrder(StudentQuery.Order.valueOf(order.toUpperCase()));
+        }
+        String limit = prompt("Page size (blank for " + QueryPage.DEFAULT_LIMIT + "): ");
+        if (!limit.isEmpty()) {
+            query.setLimit(Integer.parseInt(limit));
+        }
+
+        QueryPage<Student> page;
+        do {
+            page = system.findStudents(query);
+            for (Student student : page.getItems()) {
+                System.out.println(student.getId() + " | " + student.getName() + " | " + student.getDepartment() +
+                    " | CGPA: " + student.getCgpa() + " | " + student.getGraduationYear());
+            }
+            System.out.println(page);
+            query.setCursor(page.getNextCursor());
+        } while (page.hasMore() && prompt("Enter for the next page, q to stop: ").isEmpty());
+    }
+
+    private static void searchApplications() {
+        ApplicationQuery query = new ApplicationQuery();
+        String company = prompt("Company ID: ");
+        if (!company.isEmpty()) {
+            query.setCompanyId(company);
+        }
+        String job = prompt("Job ID: ");
+        if (!job.isEmpty()) {
+            query.setJobId(job);
+        }
+        String student = prompt("Student ID: ");
+        if (!student.isEmpty()) {
+            query.setStudentId(student);
+        }
+        query.setStatus(applicationStatus(prompt("Status (APPLIED/SHORTLISTED/ON_HOLD/REJECTED): ")));
+        String department = prompt("Student Department: ");
+        if (!department.isEmpty()) {
+            query.setDepartment(department);
+        }
+        String from = prompt("Applied on or after (YYYY-MM-DD): ");
+        String to = prompt("Applied before (YYYY-MM-DD): ");
+        query.setAppliedBetween(from.isEmpty() ? null : LocalDate.parse(from).atStartOfDay(),
+            to.isEmpty() ? null : LocalDate.parse(to).atStartOfDay());
+        String order = prompt("Sort by (ID/NEWEST/OLDEST): ");
+        if (!order.isEmpty()) {
+            query.setOrder(ApplicationQuery.Order.valueOf(order.toUpperCase()));
+        }
+        String limit = prompt("Page size (blank for " + QueryPage.DEFAULT_LIMIT + "): ");
+        if (!limit.isEmpty()) {
+            query.setLimit(Integer.parseInt(limit));
+        }
+
+        QueryPage<Application> page;
+        do {
+            page = system.findApplications(query);
+            for (Application app : page.getItems()) {
+                System.out.println(app.getApplicationId() + " | " + app.getStudent().getName() + " | " +
+                    app.getJob().getTitle() + " at " + app.getJob().getCompany().getName() + " | " + app.getStatus() +
+                    " | " + app.getAppliedDate().toLocalDate());
+            }
+            System.out.println(page);
+            query.setCursor(page.getNextCursor());
+        } while (page.hasMore() && prompt("Enter for the next page, q to stop: ").isEmpty());
+    }
+
+    private static String prompt(String label) {
+        System.out.print(label);
+        return scanner.nextLine().trim();
+    }
+
+    // Null for blank input
+    private static ApplicationStatus applicationStatus(String input) {
+        if (input.isEmpty()) {
+            return null;
+        }
+        ApplicationStatus status = ApplicationStatus.parse(input.toUpperCase());
+        if (status == null) {
+            throw new IllegalArgumentException("Unknown status " + input);
+        }
+        return status;
+    }
+
     private static void generatePlacementReport() {
         System.out.println("\n=== Placement Report ===");
         
-        List<Student> students = system.getAllStudents();
-        List<JobOffer> allOffers = system.getAllOffers();
+        Map<String, Object> stats = system.getPlacementStatistics();
         
-        int totalStudents = students.size();
-        int placedStudents = 0;
-        double highestPackage = 0;
-        double totalPackage = 0;
-        int acceptedOffers = 0;
-        
-        for (JobOffer offer : allOffers) {
-            if (offer.getStatus().equals("ACCEPTED")) {
-                placedStudents++;
-                acceptedOffers++;
-                totalPackage += offer.getPackage();
-                if (offer.getPackage() > highestPackage) {
-                    highestPackage = offer.getPackage();
-                }
-            }
-        }
-        
-        double placementPercentage = totalStudents > 0 ? (placedStudents * 100.0 / totalStudents) : 0;
-        double averagePackage = acceptedOffers > 0 ? (totalPackage / acceptedOffers) : 0;
+        long totalStudents = (Long) stats.get("totalStudents");
+        long placedStudents = (Long) stats.get("placedStudents");
+        double placementPercentage = (Double) stats.get("placementPercentage");
+        double highestPackage = (Double) stats.get("highestPackage");
+        double averagePackage = (Double) stats.get("averagePackage");
+        int totalOffers = (Integer) stats.get("totalOffers");
+        long acceptedOffers = (Long) stats.get("acceptedOffers");
         
         System.out.println("Total Students: " + totalStudents);
         System.out.println("Placed Students: " + placedStudents);
         System.out.println("Placement Percentage: " + String.format("%.2f", placementPercentage) + "%");
         System.out.println("Highest Package: " + String.format("%.2f", highestPackage) + " LPA");
         System.out.println("Average Package: " + String.format("%.2f", averagePackage) + " LPA");
-        System.out.println("Total Offers Made: " + allOffers.size());
+        System.out.println("Total Offers Made: " + totalOffers);
         System.out.println("Offers Accepted: " + acceptedOffers);
     }
 
@@ -739,6 +1124,7 @@ public class Main {
         System.out.println("\n=== Manage Placement Drives ===");
         System.out.println("1. Create Placement Drive");
         System.out.println("2. View All Drives");
+        System.out.println("3. Drive Eligibility Summary");
         System.out.print("Choose option: ");
         
         int choice = getIntInput();
@@ -757,11 +1143,101 @@ public class Main {
             case 2:
                 System.out.println("Feature coming soon!");
                 break;
+            case 3:
+                driveEligibilitySummary();
+                break;
             default:
                 System.out.println("Invalid option!");
         }
     }
 
+    private static void driveEligibilitySummary() {
+        System.out.print("Minimum skill match % (0 for CGPA/department only): ");
+        double minMatch = getDoubleInput();
+        scanner.nextLine();
+        
+        EligibilityMatrix matrix = system.buildEligibilityMatrix(minMatch);
+        System.out.println("\n=== Eligibility Summary ===");
+        for (JobPosting job : matrix.getJobs()) {
+            System.out.println(job.getJobId() + " | " + job.getTitle() + " | " + job.getCompany().getName() +
+                " | Eligible Students: " + matrix.getEligibleStudentCount(job.getJobId()));
+        }
+        
+        int noOptions = 0;
+        for (Student student : matrix.getStudents()) {
+            if (matrix.getEligibleJobCount(student.getId()) == 0) {
+                noOptions++;
+            }
+        }
+        System.out.println("Eligible (student, job) pairs: " + matrix.getTotalEligiblePairs());
+        System.out.println("Students with no eligible job: " + noOptions);
+    }
+
+    private static void bulkImport() {
+        System.out.println("\n=== Bulk Import ===");
+        System.out.println("1. Students (id,name,email,department,cgpa,graduationYear,skills,resume)");
+        System.out.println("2. Companies (id,name,email,industry)");
+        System.out.println("3. Jobs (jobId,title,description,companyId,packageLPA,location,minCgpa,eligibleDepartments,requiredSkills)");
+        System.out.print("Choose type: ");
+        int choice = getIntInput();
+        scanner.nextLine();
+        if (choice < 1 || choice > 3) {
+            System.out.println("Invalid option!");
+            return;
+        }
+        System.out.print("CSV or JSON-lines file path: ");
+        Path file = Paths.get(scanner.nextLine().trim());
+        
+        BulkImporter.RecordType type = BulkImporter.RecordType.values()[choice - 1];
+        int[] shown = {0};
+        try {
+            ImportResult result = new BulkImporter(system).importFile(file, type, error -> {
+                if (shown[0]++ < 20) {
+                    System.out.println(error);
+                }
+            });
+            if (result.getRowsRejected() > 20) {
+                System.out.println("... " + (result.getRowsRejected() - 20) + " more errors");
+            }
+            System.out.println(result);
+        } catch (IOException e) {
+            System.out.println("Import failed: " + e.getMessage());
+        }
+    }
+
+    private static void exportReports() {
+        System.out.println("\n=== Export Reports ===");
+        System.out.println("1. Placement Report");
+        System.out.println("2. Applications");
+        System.out.println("3. Offer Ledger");
+        System.out.print("Choose report: ");
+        int choice = getIntInput();
+        scanner.nextLine();
+        if (choice < 1 || choice > 3) {
+            System.out.println("Invalid option!");
+            return;
+        }
+        System.out.print("Output file (.csv or .json): ");
+        Path file = Paths.get(scanner.nextLine().trim());
+        ReportExporter.Format format = file.getFileName().toString().toLowerCase().endsWith(".json")
+            ? ReportExporter.Format.JSON : ReportExporter.Format.CSV;
+        
+        ReportExporter exporter = new ReportExporter(system);
+        try {
+            long rows;
+            if (choice == 1) {
+                rows = exporter.exportPlacementReport(file, format);
+            } else if (choice == 2) {
+                rows = exporter.exportApplications(file, format);
+            } else {
+                rows = exporter.exportOffers(file, format);
+            }
+            System.out.println("Exported " + rows + " rows to " + file);
+        } catch (IOException | UncheckedIOException e) {
+            System.out.println("Export failed: " + e.getMessage());
+        }
+    }
+
     private static int getIntInput() {
         while (!scanner.hasNextInt()) {
             System.out.print("Invalid input! Enter a number: ");
@@ -769,4 +1245,12 @@ public class Main {
         }
         return scanner.nextInt();
     }
+
+    private static double getDoubleInput() {
+        while (!scanner.hasNextDouble()) {
+            System.out.print("Invalid input! Enter a number: ");
+            scanner.next();
+        }
+        return scanner.nextDouble();
+    }
 }
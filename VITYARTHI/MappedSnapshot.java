@@ -0,0 +1,739 @@
+// MappedSnapshot.java
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+// Compact binary image of a PlacementSystem that is memory-mapped and materialized lazily.
+//
+// Layout: a header of section offsets, one section of fixed-width records per entity type and
+// then a heap of length-prefixed strings and string lists. Records point at strings and lists by
+// file offset and at related records by ordinal, and each section is sorted by id so records can
+// be found by binary search without loading the rest. The header also keeps the next application,
+// interview and offer numbers, so a system backed by the image can hand out ids before anything is
+// materialized; see PlacementSystem.attachImage.
+//
+// The file is read through consecutive mapped regions and written through consecutive mapped
+// windows plus a small buffer for the heap, so neither side holds the image in memory and its size
+// is not bounded by what one buffer can address. Versions 1 and 2 kept a string table and a list
+// area ahead of the records, addressed by index; they are still read, but carry no next numbers.
+class MappedSnapshot implements Closeable {
+    private static final long MAGIC = 0x504c41434d4e5431L; // "PLACMNT1"
+    private static final int VERSION = 3; // 2 added interview durations, 3 moved strings into a heap
+
+    private static final int STRING_OFFSETS = 0; // this section and the next two: versions 1 and 2 only
+    private static final int STRING_BYTES = 1;
+    private static final int LISTS = 2;
+    private static final int STUDENTS = 3;
+    private static final int COMPANIES = 4;
+    private static final int ADMINS = 5;
+    private static final int JOBS = 6;
+    private static final int APPLICATIONS = 7;
+    private static final int INTERVIEWS = 8;
+    private static final int OFFERS = 9;
+    private static final int SECTIONS = 10;
+    private static final int HEADER_SIZE = 16 + SECTIONS * 12 + 24; // section table, then the next numbers
+
+    // Record sizes by section. From version 3 on strings and lists are 8-byte offsets, before that
+    // 4-byte indexes, and version 1 interviews have no duration
+    private static final int[] RECORD_SIZES = {0, 0, 0, 60, 32, 24, 76, 36, 56, 44};
+    private static final int[] INDEXED_RECORD_SIZES = {0, 0, 0, 36, 16, 12, 48, 28, 32, 28};
+    private static final int INTERVIEW_SIZE_V1 = 28;
+
+    static final int REGION_SHIFT = 30;
+
+    private FileChannel channel;
+    private Regions data;
+    private long[] offsets;
+    private int[] counts;
+    private int[] sizes;
+    private int version;
+    private long[] nextNumbers; // application, interview, offer; null before version 3
+
+    private String[] strings; // decoded version 1 and 2 strings by index
+    private AtomicReferenceArray<Student> students;
+    private AtomicReferenceArray<Company> companies;
+    private AtomicReferenceArray<Admin> admins;
+    private AtomicReferenceArray<JobPosting> jobs;
+    private AtomicReferenceArray<Application> applications;
+    private AtomicReferenceArray<Interview> interviews;
+    private AtomicReferenceArray<JobOffer> offers;
+
+    private MappedSnapshot(FileChannel channel, int regionShift) throws IOException {
+        this.channel = channel;
+        if (channel.size() < 16 + SECTIONS * 12) {
+            throw new IOException("Not a placement snapshot");
+        }
+        this.data = new Regions(channel, regionShift);
+        this.version = data.getInt(8);
+        if (data.getLong(0) != MAGIC || version < 1 || version > VERSION || data.getInt(12) != SECTIONS) {
+            throw new IOException("Not a placement snapshot");
+        }
+        this.offsets = new long[SECTIONS];
+        this.counts = new int[SECTIONS];
+        for (int i = 0; i < SECTIONS; i++) {
+            offsets[i] = data.getLong(16 + i * 12);
+            counts[i] = data.getInt(24 + i * 12);
+        }
+        if (version >= 3) {
+            this.sizes = RECORD_SIZES;
+            this.nextNumbers = new long[3];
+            for (int i = 0; i < 3; i++) {
+                nextNumbers[i] = data.getLong(16 + SECTIONS * 12 + i * 8);
+            }
+        } else {
+            this.sizes = INDEXED_RECORD_SIZES.clone();
+            if (version == 1) {
+                sizes[INTERVIEWS] = INTERVIEW_SIZE_V1;
+            }
+            this.strings = new String[counts[STRING_OFFSETS] - 1];
+        }
+        this.students = new AtomicReferenceArray<>(counts[STUDENTS]);
+        this.companies = new AtomicReferenceArray<>(counts[COMPANIES]);
+        this.admins = new AtomicReferenceArray<>(counts[ADMINS]);
+        this.jobs = new AtomicReferenceArray<>(counts[JOBS]);
+        this.applications = new AtomicReferenceArray<>(counts[APPLICATIONS]);
+        this.interviews = new AtomicReferenceArray<>(counts[INTERVIEWS]);
+        this.offers = new AtomicReferenceArray<>(counts[OFFERS]);
+    }
+
+    // Maps the file; nothing is decoded until a record is asked for
+    public static MappedSnapshot open(Path file) throws IOException {
+        return open(file, REGION_SHIFT);
+    }
+
+    // Maps the file as regions of 2^regionShift bytes (at most 2^30)
+    static MappedSnapshot open(Path file, int regionShift) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            return new MappedSnapshot(channel, regionShift);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public int getStudentCount() { return counts[STUDENTS]; }
+    public int getCompanyCount() { return counts[COMPANIES]; }
+    public int getAdminCount() { return counts[ADMINS]; }
+    public int getJobCount() { return counts[JOBS]; }
+    public int getApplicationCount() { return counts[APPLICATIONS]; }
+    public int getInterviewCount() { return counts[INTERVIEWS]; }
+    public int getOfferCount() { return counts[OFFERS]; }
+
+    public int getRecordCount() {
+        int total = 0;
+        for (int section = STUDENTS; section < SECTIONS; section++) {
+            total += counts[section];
+        }
+        return total;
+    }
+
+    // Above every number in the image, or -1 for images written before version 3
+    public long getNextApplicationNumber() { return nextNumbers == null ? -1 : nextNumbers[0]; }
+    public long getNextInterviewNumber() { return nextNumbers == null ? -1 : nextNumbers[1]; }
+    public long getNextOfferNumber() { return nextNumbers == null ? -1 : nextNumbers[2]; }
+
+    // Lookup by id
+    public Student findStudent(String id) {
+        int ordinal = find(STUDENTS, id);
+        return ordinal < 0 ? null : getStudent(ordinal);
+    }
+
+    public Company findCompany(String id) {
+        int ordinal = find(COMPANIES, id);
+        return ordinal < 0 ? null : getCompany(ordinal);
+    }
+
+    public Admin findAdmin(String id) {
+        int ordinal = find(ADMINS, id);
+        return ordinal < 0 ? null : getAdmin(ordinal);
+    }
+
+    public JobPosting findJob(String jobId) {
+        int ordinal = find(JOBS, jobId);
+        return ordinal < 0 ? null : getJob(ordinal);
+    }
+
+    public Application findApplication(String applicationId) {
+        int ordinal = find(APPLICATIONS, applicationId);
+        return ordinal < 0 ? null : getApplication(ordinal);
+    }
+
+    public Interview findInterview(String interviewId) {
+        int ordinal = find(INTERVIEWS, interviewId);
+        return ordinal < 0 ? null : getInterview(ordinal);
+    }
+
+    public JobOffer findOffer(String offerId) {
+        int ordinal = find(OFFERS, offerId);
+        return ordinal < 0 ? null : getOffer(ordinal);
+    }
+
+    // Lazy materialization by ordinal; each record is built at most once
+    public Student getStudent(int ordinal) {
+        Student student = students.get(ordinal);
+        if (student == null) {
+            Fields at = record(STUDENTS, ordinal);
+            student = new Student(at.getString(), at.getString(), at.getString(), at.getString(),
+                at.getDouble(), at.getInt());
+            for (String skill : at.getList()) {
+                student.addSkill(skill);
+            }
+            student.setResume(at.getString());
+            student = publish(students, ordinal, student);
+        }
+        return student;
+    }
+
+    public Company getCompany(int ordinal) {
+        Company company = companies.get(ordinal);
+        if (company == null) {
+            Fields at = record(COMPANIES, ordinal);
+            company = publish(companies, ordinal,
+                new Company(at.getString(), at.getString(), at.getString(), at.getString()));
+        }
+        return company;
+    }
+
+    public Admin getAdmin(int ordinal) {
+        Admin admin = admins.get(ordinal);
+        if (admin == null) {
+            Fields at = record(ADMINS, ordinal);
+            admin = publish(admins, ordinal, new Admin(at.getString(), at.getString(), at.getString()));
+        }
+        return admin;
+    }
+
+    public JobPosting getJob(int ordinal) {
+        JobPosting job = jobs.get(ordinal);
+        if (job == null) {
+            Fields at = record(JOBS, ordinal);
+            job = publish(jobs, ordinal, new JobPosting(at.getString(), at.getString(), at.getString(),
+                getCompany(at.getInt()), at.getDouble(), at.getString(), at.getDouble(),
+                new HashSet<>(at.getList()), new HashSet<>(at.getList()), at.getString()));
+        }
+        return job;
+    }
+
+    public Application getApplication(int ordinal) {
+        Application application = applications.get(ordinal);
+        if (application == null) {
+            Fields at = record(APPLICATIONS, ordinal);
+            String applicationId = at.getString();
+            Student student = getStudent(at.getInt());
+            JobPosting job = getJob(at.getInt());
+            LocalDateTime appliedDate = LocalDateTime.ofEpochSecond(at.getLong(), at.getInt(), ZoneOffset.UTC);
+            application = new Application(applicationId, student, job, appliedDate);
+            ApplicationStatus status = ApplicationStatus.parse(at.getString());
+            if (status != null) {
+                application.restoreStatus(status);
+            }
+            application = publish(applications, ordinal, application);
+        }
+        return application;
+    }
+
+    public Interview getInterview(int ordinal) {
+        Interview interview = interviews.get(ordinal);
+        if (interview == null) {
+            Fields at = record(INTERVIEWS, ordinal);
+            String interviewId = at.getString();
+            Application application = getApplication(at.getInt());
+            String date = at.getString();
+            String time = at.getString();
+            String location = at.getString();
+            String type = at.getString();
+            InterviewStatus status = InterviewStatus.parse(at.getString());
+            int duration = version == 1 ? Interview.DEFAULT_DURATION_MINUTES : at.getInt();
+            interview = new Interview(interviewId, application, date, time, location, type, duration);
+            if (status != null) {
+                interview.restoreStatus(status);
+            }
+            interview = publish(interviews, ordinal, interview);
+        }
+        return interview;
+    }
+
+    public JobOffer getOffer(int ordinal) {
+        JobOffer offer = offers.get(ordinal);
+        if (offer == null) {
+            Fields at = record(OFFERS, ordinal);
+            offer = new JobOffer(at.getString(), getApplication(at.getInt()), at.getDouble(), at.getString(),
+                at.getString());
+            OfferStatus status = OfferStatus.parse(at.getString());
+            if (status != null) {
+                offer.restoreStatus(status);
+            }
+            offer = publish(offers, ordinal, offer);
+        }
+        return offer;
+    }
+
+    // The mapped regions stay readable until collected, so records already found remain usable
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private Fields record(int section, int ordinal) {
+        if (ordinal < 0 || ordinal >= counts[section]) {
+            throw new IndexOutOfBoundsException("No record " + ordinal + " in section " + section);
+        }
+        return new Fields(offsets[section] + (long) ordinal * sizes[section]);
+    }
+
+    private int find(int section, String id) {
+        int low = 0;
+        int high = counts[section] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int compare = record(section, mid).getString().compareTo(id);
+            if (compare < 0) {
+                low = mid + 1;
+            } else if (compare > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    // Version 3: [length][UTF-8 bytes] at a heap offset
+    private String string(long at) {
+        if (at < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[data.getInt(at)];
+        data.get(at + 4, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // Version 3: [count][string offsets...]
+    private List<String> list(long at) {
+        int size = data.getInt(at);
+        List<String> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(string(data.getLong(at + 4 + i * 8L)));
+        }
+        return values;
+    }
+
+    // Versions 1 and 2: the string table entry at an index
+    private String indexedString(int index) {
+        if (index < 0) {
+            return null;
+        }
+        String value = strings[index];
+        if (value == null) {
+            long base = offsets[STRING_OFFSETS];
+            int start = data.getInt(base + index * 4L);
+            int end = data.getInt(base + index * 4L + 4);
+            byte[] bytes = new byte[end - start];
+            data.get(offsets[STRING_BYTES] + start, bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+            strings[index] = value; // racing decoders produce equal strings, so no lock
+        }
+        return value;
+    }
+
+    // Versions 1 and 2: [count, string indexes...] in the list area
+    private List<String> indexedList(int offset) {
+        long at = offsets[LISTS] + offset * 4L;
+        int size = data.getInt(at);
+        List<String> values = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            values.add(indexedString(data.getInt(at + i * 4L)));
+        }
+        return values;
+    }
+
+    private static <T> T publish(AtomicReferenceArray<T> cache, int ordinal, T value) {
+        return cache.compareAndSet(ordinal, null, value) ? value : cache.get(ordinal);
+    }
+
+    // Reads one record's fields in order
+    private class Fields {
+        private long at;
+
+        Fields(long at) {
+            this.at = at;
+        }
+
+        int getInt() {
+            int value = data.getInt(at);
+            at += 4;
+            return value;
+        }
+
+        long getLong() {
+            long value = data.getLong(at);
+            at += 8;
+            return value;
+        }
+
+        double getDouble() {
+            double value = data.getDouble(at);
+            at += 8;
+            return value;
+        }
+
+        String getString() {
+            return version >= 3 ? string(getLong()) : indexedString(getInt());
+        }
+
+        List<String> getList() {
+            return version >= 3 ? list(getLong()) : indexedList(getInt());
+        }
+    }
+
+    // Writing
+    // Records whose referenced student, job or application is not in the image are left out;
+    // a journal replayed on top restores them.
+    public static void write(PlacementSystem system, Path file) throws IOException {
+        write(system, file, REGION_SHIFT);
+    }
+
+    // Writes the records through mapped windows of 2^windowShift bytes (at most 2^30)
+    static void write(PlacementSystem system, Path file, int windowShift) throws IOException {
+        List<Student> studentList = sorted(system.getStudentsView(), Student::getId);
+        List<Company> companyList = sorted(system.getCompaniesView(), Company::getId);
+        List<Admin> adminList = sorted(system.getAdminsView(), Admin::getId);
+        List<JobPosting> jobList = sorted(system.getJobsView(), JobPosting::getJobId);
+        List<Application> applicationList = sorted(system.getApplicationsView(), Application::getApplicationId);
+        List<Interview> interviewList = sorted(system.getInterviewsView(), Interview::getInterviewId);
+        List<JobOffer> offerList = sorted(system.getOffersView(), JobOffer::getOfferId);
+
+        // Applications, the one section that grows with students times jobs, are found by binary
+        // search instead of through a map
+        Map<String, Integer> studentOrdinals = ordinals(studentList, Student::getId);
+        Map<String, Integer> companyOrdinals = ordinals(companyList, Company::getId);
+        jobList.removeIf(job -> !companyOrdinals.containsKey(job.getCompany().getId()));
+        Map<String, Integer> jobOrdinals = ordinals(jobList, JobPosting::getJobId);
+        applicationList.removeIf(app -> !studentOrdinals.containsKey(app.getStudent().getId())
+            || !jobOrdinals.containsKey(app.getJob().getJobId()));
+        interviewList.removeIf(interview -> ordinal(applicationList, interview.getApplication()) < 0);
+        offerList.removeIf(offer -> ordinal(applicationList, offer.getApplication()) < 0);
+
+        long[] sectionOffsets = new long[SECTIONS];
+        int[] sectionCounts = new int[SECTIONS];
+        sectionCounts[STUDENTS] = studentList.size();
+        sectionCounts[COMPANIES] = companyList.size();
+        sectionCounts[ADMINS] = adminList.size();
+        sectionCounts[JOBS] = jobList.size();
+        sectionCounts[APPLICATIONS] = applicationList.size();
+        sectionCounts[INTERVIEWS] = interviewList.size();
+        sectionCounts[OFFERS] = offerList.size();
+        long end = HEADER_SIZE;
+        for (int section = STUDENTS; section < SECTIONS; section++) {
+            sectionOffsets[section] = end;
+            end += (long) sectionCounts[section] * RECORD_SIZES[section];
+        }
+        for (int section = STRING_OFFSETS; section < STUDENTS; section++) {
+            sectionOffsets[section] = end;
+        }
+        long[] nextNumbers = {1, 1, 1};
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            Records out = new Records(channel, HEADER_SIZE, end, windowShift);
+            Heap heap = new Heap(channel, end);
+            for (Student student : studentList) {
+                out.putLong(heap.add(student.getId()));
+                out.putLong(heap.add(student.getName()));
+                out.putLong(heap.add(student.getEmail()));
+                out.putLong(heap.shared(student.getDepartment()));
+                out.putDouble(student.getCgpa());
+                out.putInt(student.getGraduationYear());
+                out.putLong(heap.list(student.getSkills()));
+                out.putLong(heap.add(student.getResume()));
+            }
+            for (Company company : companyList) {
+                out.putLong(heap.add(company.getId()));
+                out.putLong(heap.add(company.getName()));
+                out.putLong(heap.add(company.getEmail()));
+                out.putLong(heap.shared(company.getIndustry()));
+            }
+            for (Admin admin : adminList) {
+                out.putLong(heap.add(admin.getId()));
+                out.putLong(heap.add(admin.getName()));
+                out.putLong(heap.add(admin.getEmail()));
+            }
+            for (JobPosting job : jobList) {
+                out.putLong(heap.add(job.getJobId()));
+                out.putLong(heap.shared(job.getTitle()));
+                out.putLong(heap.add(job.getDescription()));
+                out.putInt(companyOrdinals.get(job.getCompany().getId()));
+                out.putDouble(job.getPackageLPA());
+                out.putLong(heap.shared(job.getLocation()));
+                out.putDouble(job.getMinCgpa());
+                out.putLong(heap.list(job.getEligibleDepartments()));
+                out.putLong(heap.list(job.getRequiredSkills()));
+                out.putLong(heap.shared(job.getPostDate()));
+            }
+            for (Application application : applicationList) {
+                LocalDateTime appliedDate = application.getAppliedDate();
+                out.putLong(heap.add(application.getApplicationId()));
+                out.putInt(studentOrdinals.get(application.getStudent().getId()));
+                out.putInt(jobOrdinals.get(application.getJob().getJobId()));
+                out.putLong(appliedDate.toEpochSecond(ZoneOffset.UTC));
+                out.putInt(appliedDate.getNano());
+                out.putLong(heap.shared(application.getStatus().name()));
+                nextNumbers[0] = Math.max(nextNumbers[0], application.getNumber() + 1);
+            }
+            for (Interview interview : interviewList) {
+                out.putLong(heap.add(interview.getInterviewId()));
+                out.putInt(ordinal(applicationList, interview.getApplication()));
+                out.putLong(heap.shared(interview.getDate()));
+                out.putLong(heap.shared(interview.getTime()));
+                out.putLong(heap.shared(interview.getLocation()));
+                out.putLong(heap.shared(interview.getType()));
+                out.putLong(heap.shared(interview.getStatus().name()));
+                out.putInt(interview.getDurationMinutes());
+                nextNumbers[1] = Math.max(nextNumbers[1], interview.getNumber() + 1);
+            }
+            for (JobOffer offer : offerList) {
+                out.putLong(heap.add(offer.getOfferId()));
+                out.putInt(ordinal(applicationList, offer.getApplication()));
+                out.putDouble(offer.getPackage());
+                out.putLong(heap.shared(offer.getJoiningDate()));
+                out.putLong(heap.add(offer.getDetails()));
+                out.putLong(heap.shared(offer.getStatus().name()));
+                nextNumbers[2] = Math.max(nextNumbers[2], offer.getNumber() + 1);
+            }
+            out.finish();
+            heap.flush();
+
+            // Last, so a torn write never leaves a header pointing at records that are not there
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putLong(MAGIC).putInt(VERSION).putInt(SECTIONS);
+            for (int section = 0; section < SECTIONS; section++) {
+                header.putLong(sectionOffsets[section]).putInt(sectionCounts[section]);
+            }
+            for (long next : nextNumbers) {
+                header.putLong(next);
+            }
+            header.flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+            channel.force(true);
+        }
+    }
+
+    private static <T> List<T> sorted(Collection<T> values, Function<T, String> id) {
+        List<T> list = new ArrayList<>(values);
+        list.sort(Comparator.comparing(id));
+        return list;
+    }
+
+    private static <T> Map<String, Integer> ordinals(List<T> values, Function<T, String> id) {
+        Map<String, Integer> ordinals = new HashMap<>(values.size() * 2);
+        for (int i = 0; i < values.size(); i++) {
+            ordinals.put(id.apply(values.get(i)), i);
+        }
+        return ordinals;
+    }
+
+    // Position of the application with this one's id in the sorted list, or -1
+    private static int ordinal(List<Application> sorted, Application application) {
+        String id = application.getApplicationId();
+        int low = 0;
+        int high = sorted.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int compare = sorted.get(mid).getApplicationId().compareTo(id);
+            if (compare < 0) {
+                low = mid + 1;
+            } else if (compare > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    // The file as consecutive mapped regions of 2^shift bytes. Each region also maps the few bytes
+    // after it, so a field never straddles two buffers; only byte runs are copied piece by piece.
+    private static class Regions {
+        private static final int OVERLAP = 8;
+
+        private final MappedByteBuffer[] buffers;
+        private final int shift;
+        private final long mask;
+
+        Regions(FileChannel channel, int shift) throws IOException {
+            if (shift < 4 || shift > REGION_SHIFT) {
+                throw new IllegalArgumentException("Region shift out of range: " + shift);
+            }
+            long size = channel.size();
+            this.shift = shift;
+            this.mask = (1L << shift) - 1;
+            this.buffers = new MappedByteBuffer[(int) ((size + mask) >>> shift)];
+            for (int i = 0; i < buffers.length; i++) {
+                long start = (long) i << shift;
+                buffers[i] = channel.map(FileChannel.MapMode.READ_ONLY, start,
+                    Math.min((1L << shift) + OVERLAP, size - start));
+            }
+        }
+
+        int getInt(long at) {
+            return buffers[(int) (at >>> shift)].getInt((int) (at & mask));
+        }
+
+        long getLong(long at) {
+            return buffers[(int) (at >>> shift)].getLong((int) (at & mask));
+        }
+
+        double getDouble(long at) {
+            return buffers[(int) (at >>> shift)].getDouble((int) (at & mask));
+        }
+
+        void get(long at, byte[] into) {
+            int done = 0;
+            while (done < into.length) {
+                long from = at + done;
+                int offset = (int) (from & mask);
+                int length = (int) Math.min(into.length - done, (1L << shift) - offset);
+                buffers[(int) (from >>> shift)].get(offset, into, done, length);
+                done += length;
+            }
+        }
+    }
+
+    // Fills [start, end) of the file through mapped windows of at most 2^shift bytes. A new window
+    // starts where the last write stopped whenever the next field would not fit, so fields are never
+    // split and nothing past end is mapped.
+    private static class Records {
+        private final FileChannel channel;
+        private final long end;
+        private final long windowSize;
+        private MappedByteBuffer window;
+        private long windowStart;
+
+        Records(FileChannel channel, long start, long end, int shift) {
+            if (shift < 4 || shift > REGION_SHIFT) {
+                throw new IllegalArgumentException("Window shift out of range: " + shift);
+            }
+            this.channel = channel;
+            this.end = end;
+            this.windowSize = 1L << shift;
+            this.windowStart = start;
+        }
+
+        void putInt(int value) throws IOException {
+            room(4).putInt(value);
+        }
+
+        void putLong(long value) throws IOException {
+            room(8).putLong(value);
+        }
+
+        void putDouble(double value) throws IOException {
+            room(8).putDouble(value);
+        }
+
+        void finish() {
+            if (window != null) {
+                window.force();
+            }
+        }
+
+        private MappedByteBuffer room(int bytes) throws IOException {
+            if (window == null || window.remaining() < bytes) {
+                if (window != null) {
+                    window.force();
+                    windowStart += window.position();
+                }
+                window = channel.map(FileChannel.MapMode.READ_WRITE, windowStart,
+                    Math.min(windowSize, end - windowStart));
+            }
+            return window;
+        }
+    }
+
+    // Strings and string lists appended after the records as [length][UTF-8 bytes] and
+    // [count][string offsets...]. Values from small vocabularies (departments, skills, statuses) are
+    // written once and shared; the table that remembers them stops growing at SHARED_LIMIT.
+    private static class Heap {
+        private static final int SHARED_LIMIT = 1 << 16;
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16);
+        private final Map<String, Long> shared = new HashMap<>();
+        private long flushed; // file offset of buffer[0]
+
+        Heap(FileChannel channel, long start) {
+            this.channel = channel;
+            this.flushed = start;
+        }
+
+        long add(String value) throws IOException {
+            if (value == null) {
+                return -1;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            long at = flushed + buffer.position();
+            room(4).putInt(bytes.length);
+            for (int done = 0; done < bytes.length; ) {
+                int length = Math.min(room(1).remaining(), bytes.length - done);
+                buffer.put(bytes, done, length);
+                done += length;
+            }
+            return at;
+        }
+
+        long shared(String value) throws IOException {
+            if (value == null) {
+                return -1;
+            }
+            Long at = shared.get(value);
+            if (at == null) {
+                at = add(value);
+                if (shared.size() < SHARED_LIMIT) {
+                    shared.put(value, at);
+                }
+            }
+            return at;
+        }
+
+        // Copied first, as skills can be added while the image is written
+        long list(Collection<String> values) throws IOException {
+            String[] items = values.toArray(new String[0]);
+            long[] refs = new long[items.length];
+            for (int i = 0; i < items.length; i++) {
+                refs[i] = shared(items[i]);
+            }
+            long at = flushed + buffer.position();
+            room(4).putInt(items.length);
+            for (long ref : refs) {
+                room(8).putLong(ref);
+            }
+            return at;
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                flushed += channel.write(buffer, flushed);
+            }
+            buffer.clear();
+        }
+
+        private ByteBuffer room(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+            return buffer;
+        }
+    }
+}
@@ -0,0 +1,1997 @@
+// PlacementBenchmark.java
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.LongUnaryOperator;
+import java.util.function.Predicate;
+
+public class PlacementBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        String mode = args.length > 0 ? args[0] : "stress";
+        switch (mode) {
+            case "stress":
+                runStress(args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors());
+                break;
+            case "alloc":
+                runAllocation();
+                break;
+            case "journal":
+                runJournal(args.length > 1 ? Integer.parseInt(args[1]) : 50_000);
+                break;
+            case "http":
+                runHttp(args.length > 1 ? Integer.parseInt(args[1]) : 200,
+                    args.length > 2 ? Integer.parseInt(args[2]) : 100);
+                break;
+            case "metrics":
+                runMetricsOverhead(args.length > 1 ? Integer.parseInt(args[1]) : 100_000);
+                break;
+            case "suite":
+                runSuite(Arrays.copyOfRange(args, 1, args.length));
+                break;
+            case "conflicts":
+                runConflictCheck(args.length > 1 ? Integer.parseInt(args[1]) : 500);
+                break;
+            case "drives":
+                runDriveCheck(args.length > 1 ? Integer.parseInt(args[1]) : 2_000);
+                break;
+            case "statuses":
+                runStatusCheck(args.length > 1 ? Integer.parseInt(args[1]) : 2_000);
+                break;
+            case "ids":
+                runIdCheck(args.length > 1 ? Integer.parseInt(args[1]) : 8);
+                break;
+            case "columns":
+                runColumnCheck(args.length > 1 ? Integer.parseInt(args[1]) : 5_000);
+                break;
+            case "queries":
+                runQueryCheck(args.length > 1 ? Integer.parseInt(args[1]) : 2_000);
+                break;
+            case "search":
+                runSearchCheck(args.length > 1 ? Integer.parseInt(args[1]) : 20_000);
+                break;
+            case "eligibility":
+                runEligibilityCheck(args.length > 1 ? Integer.parseInt(args[1]) : 2_000);
+                break;
+            case "timeline":
+                runTimelineCheck(args.length > 1 ? Integer.parseInt(args[1]) : 2_000);
+                break;
+            default:
+                System.out.println("Usage: java PlacementBenchmark [stress [threads] | alloc | journal [students]"
+                    + " | http [clients] [requests] | metrics [students] | conflicts [students]"
+                    + " | drives [students] | statuses [students] | ids [threads] | columns [students]"
+                    + " | queries [students] | search [updates] | eligibility [students]"
+                    + " | timeline [students] | suite [--sizes 1000,100000,1000000] [--forks 1] [--save file] [--baseline file]"
+                    + " [--threshold 1.25]]");
+                System.exit(2);
+        }
+    }
+
+    // Concurrency stress: many threads race to apply for the same (student, job) pairs
+    // and accept offers; afterwards every index and counter must agree.
+    private static void runStress(int threads) throws Exception {
+        int studentCount = 2_000;
+        int jobCount = 50;
+        int attemptsPerThread = 200_000;
+
+        PlacementSystem system = new PlacementSystem();
+        Company company = new Company("C001", "StressCorp", "hr@stress.com", "Technology");
+        system.addCompany(company);
+        Student[] students = new Student[studentCount];
+        for (int i = 0; i < studentCount; i++) {
+            students[i] = new Student(String.format("S%05d", i), "Student " + i, "s" + i + "@college.edu",
+                i % 2 == 0 ? "CS" : "IT", 6.0 + (i % 40) / 10.0, 2024);
+            system.addStudent(students[i]);
+        }
+        JobPosting[] jobs = new JobPosting[jobCount];
+        for (int i = 0; i < jobCount; i++) {
+            jobs[i] = new JobPosting(String.format("J%03d", i), "Job " + i, "", company, 5 + i, "Pune",
+                6.0 + (i % 30) / 10.0, new HashSet<>(Arrays.asList("CS", "IT")), new HashSet<>());
+            system.addJobPosting(jobs[i]);
+        }
+
+        AtomicInteger applied = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            final long seed = t;
+            futures.add(pool.submit(() -> {
+                Random random = new Random(seed);
+                start.await();
+                for (int i = 0; i < attemptsPerThread; i++) {
+                    Student student = students[random.nextInt(studentCount)];
+                    if (system.applyForJob(student, jobs[random.nextInt(jobCount)])) {
+                        applied.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        long startNanos = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+
+        // Offers are made and accepted concurrently as well
+        List<Application> allApplications = system.getAllApplications();
+        allApplications.parallelStream().forEach(app ->
+            system.makeJobOffer(app.getApplicationId(), app.getJob().getPackageLPA(), "2025-07-01", ""));
+        system.getAllOffers().parallelStream().forEach(JobOffer::accept);
+        pool.shutdown();
+
+        List<String> failures = new ArrayList<>();
+        int expected = 0;
+        Set<String> placed = new HashSet<>();
+        for (Student student : students) {
+            Set<String> seenJobs = new HashSet<>();
+            for (Application app : system.getStudentApplications(student.getId())) {
+                if (!seenJobs.add(app.getJob().getJobId())) {
+                    failures.add("duplicate application " + student.getId() + "/" + app.getJob().getJobId());
+                }
+            }
+            expected += seenJobs.size();
+            if (!seenJobs.isEmpty()) {
+                placed.add(student.getId());
+            }
+        }
+        int byJob = 0;
+        for (JobPosting job : jobs) {
+            byJob += system.getJobApplications(job.getJobId()).size();
+        }
+        Map<String, Object> stats = system.getPlacementStatistics();
+        check(failures, "successful applies", applied.get(), allApplications.size());
+        check(failures, "student index size", expected, allApplications.size());
+        check(failures, "job index size", byJob, allApplications.size());
+        check(failures, "offers", ((Number) stats.get("totalOffers")).longValue(), allApplications.size());
+        check(failures, "accepted offers", ((Number) stats.get("acceptedOffers")).longValue(), allApplications.size());
+        check(failures, "placed students", ((Number) stats.get("placedStudents")).longValue(), placed.size());
+        check(failures, "unplaced students", system.getUnplacedStudents().size(), studentCount - placed.size());
+
+        long attempts = (long) threads * attemptsPerThread;
+        System.out.printf("stress: %d threads, %d apply attempts, %d applications, %.0f ops/s%n",
+            threads, attempts, allApplications.size(), attempts * 1e9 / elapsedNanos);
+        if (!failures.isEmpty()) {
+            failures.forEach(failure -> System.out.println("FAILED: " + failure));
+            System.exit(1);
+        }
+        System.out.println("stress: OK");
+    }
+
+    // Bytes allocated per call on the read paths, comparing the copying accessors
+    // with the read-only views that replaced them on hot paths
+    private static void runAllocation() {
+        PlacementSystem system = new PlacementSystem();
+        Company company = new Company("C001", "AllocCorp", "hr@alloc.com", "Technology");
+        system.addCompany(company);
+        for (int i = 0; i < 10_000; i++) {
+            Student student = new Student(String.format("S%05d", i), "Student " + i, "s" + i + "@college.edu",
+                i % 2 == 0 ? "CS" : "IT", 6.0 + (i % 40) / 10.0, 2024);
+            student.addSkill("Java");
+            student.addSkill(i % 3 == 0 ? "Python" : "SQL");
+            system.addStudent(student);
+        }
+        JobPosting job = new JobPosting("J001", "Engineer", "", company, 12, "Pune", 7.0,
+            new HashSet<>(Arrays.asList("CS", "IT")), new HashSet<>(Arrays.asList("Java", "SQL")));
+        system.addJobPosting(job);
+        Student student = system.getStudentById("S00001");
+        long[] sink = new long[1];
+
+        reportAllocation("Student skills, copied", 1_000_000, () -> sink[0] += new HashSet<>(student.getSkills()).size());
+        reportAllocation("Student.getSkills()", 1_000_000, () -> sink[0] += student.getSkills().size());
+        reportAllocation("Job departments, copied", 1_000_000, () -> sink[0] += new HashSet<>(job.getEligibleDepartments()).size());
+        reportAllocation("JobPosting.getEligibleDepartments()", 1_000_000, () -> sink[0] += job.getEligibleDepartments().size());
+        reportAllocation("JobPosting.getRequiredSkills()", 1_000_000, () -> sink[0] += job.getRequiredSkills().size());
+        reportAllocation("JobPosting.isEligible()", 1_000_000, () -> sink[0] += job.isEligible(student) ? 1 : 0);
+        reportAllocation("getAllStudents() listing", 200, () -> {
+            for (Student s : system.getAllStudents()) {
+                sink[0] += s.getGraduationYear();
+            }
+        });
+        reportAllocation("forEachStudent() listing", 200, () ->
+            system.forEachStudent(s -> sink[0] += s.getGraduationYear()));
+        System.out.println("(sink " + sink[0] + ")");
+    }
+
+    private static void reportAllocation(String label, int calls, Runnable call) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        for (int i = 0; i < calls; i++) {
+            call.run(); // warm up so the JIT can eliminate what it is able to
+        }
+        long before = threads.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        for (int i = 0; i < calls; i++) {
+            call.run();
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(thread) - before;
+        System.out.printf("%-38s %10.1f bytes/call %10.1f ns/call%n",
+            label, (double) allocated / calls, (double) elapsed / calls);
+    }
+
+    // Journals a campus through concurrent writers, then times recovery from snapshot plus tail
+    private static void runJournal(int studentCount) throws Exception {
+        Path directory = Files.createTempDirectory("placement-journal");
+        int jobCount = 20;
+        // Only one campus is kept in memory at a time
+        Map<String, ApplicationStatus> raced = new HashMap<>();
+        int[] expected = writeJournaledCampus(directory, studentCount, jobCount, raced);
+        int expectedStudents = expected[0];
+        int expectedApplications = expected[1];
+
+        List<String> failures = new ArrayList<>();
+        PlacementSystem recovered = new PlacementSystem();
+        long start = System.nanoTime();
+        PlacementJournal reopened = PlacementJournal.open(directory, recovered);
+        long replay = System.nanoTime() - start;
+        System.out.printf("journal: replayed %d records in %d ms%n", reopened.getReplayedRecords(), replay / 1_000_000);
+        checkRecovered(failures, recovered, expectedStudents, expectedApplications, jobCount);
+        checkStatuses(failures, recovered, raced);
+
+        start = System.nanoTime();
+        reopened.checkpoint();
+        System.out.printf("journal: snapshot written in %d ms%n", (System.nanoTime() - start) / 1_000_000);
+        reopened.close();
+        recovered = null;
+
+        // The mapped image answers point lookups without materializing the campus
+        Path image;
+        try (java.util.stream.Stream<Path> files = Files.list(directory)) {
+            image = files.filter(path -> path.getFileName().toString().endsWith(".bin")).findFirst().get();
+        }
+        start = System.nanoTime();
+        try (MappedSnapshot snapshot = MappedSnapshot.open(image)) {
+            Application application = snapshot.findApplication(
+                IdAllocator.format(Application.ID_PREFIX, expectedApplications / 2));
+            System.out.printf("journal: mapped %d MB snapshot and found %s in %.2f ms%n", Files.size(image) >> 20,
+                application.getApplicationId(), (System.nanoTime() - start) / 1e6);
+            check(failures, "mapped applications", snapshot.getApplicationCount(), expectedApplications);
+        }
+        checkSmallRegions(failures, image);
+
+        // Recovery only maps the image; lookups by id fault records in until a query needs them all
+        PlacementSystem fromSnapshot = new PlacementSystem();
+        start = System.nanoTime();
+        PlacementJournal last = PlacementJournal.open(directory, fromSnapshot);
+        System.out.printf("journal: recovered %d records from snapshot in %d ms%n",
+            last.getReplayedRecords(), (System.nanoTime() - start) / 1_000_000);
+        checkStatuses(failures, fromSnapshot, raced);
+        JobOffer lazyOffer = fromSnapshot.createJobOffer(
+            IdAllocator.format(Application.ID_PREFIX, expectedApplications / 2), 9, "2025-07-01", "");
+        check(failures, "lazy offer id", lazyOffer.getNumber(), 2);
+        check(failures, "still lazy after lookups", fromSnapshot.isImageLoaded() ? 1 : 0, 0);
+        checkRecovered(failures, fromSnapshot, expectedStudents, expectedApplications, jobCount);
+        check(failures, "loaded by queries", fromSnapshot.isImageLoaded() ? 1 : 0, 1);
+        check(failures, "offers after load", fromSnapshot.getOffersView().size(), 2);
+        check(failures, "lazy offer indexed", fromSnapshot.getStudentOffers(
+            lazyOffer.getApplication().getStudent().getId()).contains(lazyOffer) ? 1 : 0, 1);
+        check(failures, "one copy per application", fromSnapshot.getStudentApplications(
+            lazyOffer.getApplication().getStudent().getId()).size(), jobCount);
+
+        // Counters continue after the highest restored id
+        Student extra = new Student("S9999999", "Extra", "x@college.edu", "CS", 9, 2024);
+        fromSnapshot.addStudent(extra);
+        fromSnapshot.applyForJob(extra, fromSnapshot.getJobById("J000"));
+        check(failures, "next application id", fromSnapshot.getApplicationById(
+            IdAllocator.format(Application.ID_PREFIX, expectedApplications + 1)) == null ? 0 : 1, 1);
+        last.close();
+        deleteRecursively(directory);
+        checkSnapshotOverlap(failures);
+        checkCorruptTail(failures);
+
+        if (!failures.isEmpty()) {
+            failures.forEach(failure -> System.out.println("FAILED: " + failure));
+            System.exit(1);
+        }
+        System.out.println("journal: OK");
+    }
+
+    // Images are read and written in regions; page-sized ones split strings across region boundaries and
+    // must decode exactly as one region does
+    private static void checkSmallRegions(List<String> failures, Path image) throws IOException {
+        Path rewritten = image.resolveSibling("small-windows.bin");
+        try (MappedSnapshot whole = MappedSnapshot.open(image);
+             MappedSnapshot small = MappedSnapshot.open(image, 12)) {
+            PlacementSystem copy = new PlacementSystem();
+            for (int i = 0; i < whole.getStudentCount(); i++) {
+                Student expected = whole.getStudent(i);
+                Student actual = small.getStudent(i);
+                if (!expected.getId().equals(actual.getId()) || !expected.getEmail().equals(actual.getEmail())
+                        || !expected.getSkills().equals(actual.getSkills())) {
+                    failures.add("small regions: student " + expected.getId() + " read as " + actual.getId());
+                }
+                copy.addStudent(expected);
+            }
+            for (int i = 0; i < whole.getCompanyCount(); i++) {
+                copy.addCompany(whole.getCompany(i));
+            }
+            for (int i = 0; i < whole.getJobCount(); i++) {
+                copy.addJobPosting(whole.getJob(i));
+            }
+            for (int i = 0; i < whole.getApplicationCount(); i++) {
+                Application expected = whole.getApplication(i);
+                Application actual = small.getApplication(i);
+                if (!expected.getApplicationId().equals(actual.getApplicationId())
+                        || !expected.getStudent().getId().equals(actual.getStudent().getId())
+                        || !expected.getAppliedDate().equals(actual.getAppliedDate())
+                        || expected.getStatus() != actual.getStatus()) {
+                    failures.add("small regions: application " + expected.getApplicationId());
+                }
+                copy.restoreApplication(expected);
+            }
+            for (int i = 0; i < whole.getOfferCount(); i++) {
+                copy.restoreOffer(whole.getOffer(i));
+            }
+            MappedSnapshot.write(copy, rewritten, 12);
+        }
+        check(failures, "small windows write the same image", Arrays.equals(Files.readAllBytes(image),
+            Files.readAllBytes(rewritten)) ? 1 : 0, 1);
+        Files.delete(rewritten);
+    }
+
+    // A checkpoint's snapshot can already hold changes also logged in the segment after it; recovery
+    // must apply those again without creating second copies of the objects they refer to
+    private static void checkSnapshotOverlap(List<String> failures) throws IOException {
+        Path directory = Files.createTempDirectory("placement-overlap");
+        PlacementSystem system = new PlacementSystem();
+        PlacementJournal journal = PlacementJournal.open(directory, system);
+        Company company = new Company("C001", "OverlapCorp", "hr@overlap.com", "Technology");
+        system.addCompany(company);
+        Student first = new Student("S001", "First", "first@college.edu", "CS", 8.0, 2024);
+        system.addStudent(first);
+        journal.checkpoint();
+
+        // Logged after the rotation, then captured by a snapshot taken under the same segment number
+        Student second = new Student("S002", "Second", "second@college.edu", "CS", 7.5, 2024);
+        second.addSkill("Java");
+        system.addStudent(second);
+        JobPosting job = new JobPosting("J001", "Engineer", "", company, 10, "Pune", 7.0,
+            new HashSet<>(Arrays.asList("CS")), new HashSet<>(Arrays.asList("Java")));
+        system.addJobPosting(job);
+        system.applyForJob(first, job);
+        system.applyForJob(second, job);
+        Application shortlisted = system.getStudentApplications("S002").get(0);
+        system.updateApplicationStatus(shortlisted.getApplicationId(), ApplicationStatus.SHORTLISTED);
+        second.setCgpa(9.1);
+        Path image;
+        try (java.util.stream.Stream<Path> files = Files.list(directory)) {
+            image = files.filter(path -> path.getFileName().toString().endsWith(".bin")).findFirst().get();
+        }
+        MappedSnapshot.write(system, image);
+        second.addSkill("Python");
+        journal.close();
+
+        PlacementSystem copy = new PlacementSystem();
+        PlacementJournal reopened = PlacementJournal.open(directory, copy);
+        check(failures, "overlap students", copy.getStudentsView().size(), 2);
+        check(failures, "overlap jobs", copy.getJobsView().size(), 1);
+        check(failures, "overlap applications", copy.getApplicationsView().size(), 2);
+        Student restored = copy.getStudentById("S002");
+        for (Application app : copy.getApplicationsView()) {
+            check(failures, "overlap application student is live",
+                app.getStudent() == copy.getStudentById(app.getStudent().getId()) ? 1 : 0, 1);
+            check(failures, "overlap application job is live", app.getJob() == copy.getJobById("J001") ? 1 : 0, 1);
+        }
+        check(failures, "overlap job company is live",
+            copy.getJobById("J001").getCompany() == copy.getCompanyById("C001") ? 1 : 0, 1);
+        check(failures, "overlap status", copy.getApplicationById(shortlisted.getApplicationId()).getStatus()
+            == ApplicationStatus.SHORTLISTED ? 1 : 0, 1);
+        check(failures, "overlap cgpa", restored.getCgpa() == 9.1 ? 1 : 0, 1);
+        check(failures, "overlap skills", restored.getSkills().size(), 2);
+        check(failures, "overlap eligible", copy.getEligibleStudents(copy.getJobById("J001")).size(), 2);
+        reopened.close();
+        deleteRecursively(directory);
+    }
+
+    // A garbage length in the last frame must truncate the tail, not size a buffer from it
+    private static void checkCorruptTail(List<String> failures) throws IOException {
+        Path directory = Files.createTempDirectory("placement-tail");
+        PlacementSystem system = new PlacementSystem();
+        PlacementJournal journal = PlacementJournal.open(directory, system);
+        for (int i = 0; i < 10; i++) {
+            system.addStudent(new Student("S00" + i, "Student " + i, "s" + i + "@college.edu", "CS", 8.0, 2024));
+        }
+        journal.close();
+        Path segment;
+        try (java.util.stream.Stream<Path> files = Files.list(directory)) {
+            segment = files.filter(path -> path.getFileName().toString().endsWith(".log")).findFirst().get();
+        }
+        long intact = Files.size(segment);
+        Files.write(segment, new byte[] {0x7f, (byte) 0xff, 0, 0, 1, 2, 3, 4, 5, 6}, StandardOpenOption.APPEND);
+
+        PlacementSystem copy = new PlacementSystem();
+        PlacementJournal reopened = PlacementJournal.open(directory, copy);
+        check(failures, "students before corrupt tail", copy.getStudentsView().size(), 10);
+        check(failures, "truncated segment size", Files.size(segment), intact);
+        reopened.close();
+        deleteRecursively(directory);
+    }
+
+    private static int[] writeJournaledCampus(Path directory, int studentCount, int jobCount,
+                                              Map<String, ApplicationStatus> raced) throws Exception {
+        PlacementSystem system = new PlacementSystem();
+        PlacementJournal journal = PlacementJournal.open(directory, system);
+        Company company = new Company("C001", "JournalCorp", "hr@journal.com", "Technology");
+        system.addCompany(company);
+        List<JobPosting> jobs = new ArrayList<>();
+        for (int i = 0; i < jobCount; i++) {
+            JobPosting job = new JobPosting(String.format("J%03d", i), "Job " + i, "", company, 5 + i, "Pune",
+                6.0, new HashSet<>(Arrays.asList("CS", "IT")), new HashSet<>(Arrays.asList("Java")));
+            system.addJobPosting(job);
+            jobs.add(job);
+        }
+
+        long start = System.nanoTime();
+        ExecutorService pool = Executors.newFixedThreadPool(32);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < studentCount; i++) {
+            final int n = i;
+            futures.add(pool.submit(() -> {
+                Student student = new Student(String.format("S%07d", n), "Student " + n, "s" + n + "@college.edu",
+                    n % 2 == 0 ? "CS" : "IT", 6.0 + (n % 40) / 10.0, 2024);
+                student.addSkill("Java");
+                system.addStudent(student);
+                system.applyForJobs(student, jobs);
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long written = System.nanoTime() - start;
+
+        // Writers toggling the same applications must leave the log in the order the changes were applied
+        List<Application> contended = system.getStudentApplications("S0000002");
+        futures.clear();
+        for (int t = 0; t < 8; t++) {
+            final int seed = t;
+            futures.add(pool.submit(() -> {
+                Random random = new Random(seed);
+                for (int i = 0; i < 2_000; i++) {
+                    Application app = contended.get(random.nextInt(contended.size()));
+                    system.updateApplicationStatus(app.getApplicationId(),
+                        random.nextBoolean() ? ApplicationStatus.SHORTLISTED : ApplicationStatus.ON_HOLD);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        pool.shutdown();
+        for (Application app : contended) {
+            raced.put(app.getApplicationId(), app.getStatus());
+        }
+        List<Application> sample = system.getStudentApplications("S0000001");
+        system.makeJobOffer(sample.get(0).getApplicationId(), 12, "2025-07-01", "");
+        system.getStudentOffers("S0000001").get(0).accept();
+        journal.close();
+
+        int students = system.getStudentsView().size();
+        int applications = system.getApplicationsView().size();
+        System.out.printf("journal: wrote %d rows with 32 writers in %d ms%n",
+            students + applications, written / 1_000_000);
+        return new int[] {students, applications};
+    }
+
+    // Many concurrent clients apply and read back through the JSON API on localhost
+    private static void runHttp(int clients, int requestsPerClient) throws Exception {
+        int studentCount = 5_000;
+        int jobCount = 50;
+        PlacementSystem system = new PlacementSystem();
+        Company company = new Company("C001", "HttpCorp", "hr@http.com", "Technology");
+        system.addCompany(company);
+        for (int i = 0; i < studentCount; i++) {
+            system.addStudent(new Student(String.format("S%05d", i), "Student " + i, "s" + i + "@college.edu",
+                i % 2 == 0 ? "CS" : "IT", 6.0 + (i % 40) / 10.0, 2024));
+        }
+        for (int i = 0; i < jobCount; i++) {
+            system.addJobPosting(new JobPosting(String.format("J%03d", i), "Job " + i, "", company, 5 + i, "Pune",
+                6.0 + (i % 30) / 10.0, new HashSet<>(Arrays.asList("CS", "IT")), new HashSet<>()));
+        }
+
+        // As Main.serveHttp does, before the server classes load
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        PlacementHttpServer server = new PlacementHttpServer(system, 0);
+        server.start();
+        String base = "http://localhost:" + server.getPort() + "/api/";
+        java.net.http.HttpClient client = java.net.http.HttpClient.newBuilder()
+            .version(java.net.http.HttpClient.Version.HTTP_1_1)
+            .executor(Executors.newCachedThreadPool())
+            .build();
+
+        AtomicInteger applied = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        long[][] latencies = new long[clients][requestsPerClient];
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int c = 0; c < clients; c++) {
+            final int id = c;
+            futures.add(pool.submit(() -> {
+                Random random = new Random(id);
+                start.await();
+                for (int r = 0; r < requestsPerClient; r++) {
+                    String studentId = String.format("S%05d", random.nextInt(studentCount));
+                    java.net.http.HttpRequest request;
+                    if (r % 2 == 0) {
+                        String body = "{\"studentId\":\"" + studentId + "\",\"jobId\":\""
+                            + String.format("J%03d", random.nextInt(jobCount)) + "\"}";
+                        request = java.net.http.HttpRequest.newBuilder(java.net.URI.create(base + "applications"))
+                            .POST(java.net.http.HttpRequest.BodyPublishers.ofString(body)).build();
+                    } else {
+                        request = java.net.http.HttpRequest.newBuilder(
+                            java.net.URI.create(base + "students/" + studentId + "/applications")).GET().build();
+                    }
+                    long sent = System.nanoTime();
+                    java.net.http.HttpResponse<String> response =
+                        client.send(request, java.net.http.HttpResponse.BodyHandlers.ofString());
+                    latencies[id][r] = System.nanoTime() - sent;
+                    if (response.statusCode() >= 300) {
+                        errors.incrementAndGet();
+                    } else if (r % 2 == 0 && response.body().contains(":\"APPLIED\"")) {
+                        applied.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsed = System.nanoTime() - begin;
+        pool.shutdown();
+        server.stop();
+
+        long[] all = new long[clients * requestsPerClient];
+        for (int c = 0; c < clients; c++) {
+            System.arraycopy(latencies[c], 0, all, c * requestsPerClient, requestsPerClient);
+        }
+        Arrays.sort(all);
+        System.out.printf("http: %d clients x %d requests in %d ms = %.0f req/s%n", clients, requestsPerClient,
+            elapsed / 1_000_000, all.length / (elapsed / 1e9));
+        System.out.printf("http: latency p50 %.2f ms, p99 %.2f ms, max %.2f ms%n",
+            all[all.length / 2] / 1e6, all[(int) (all.length * 0.99)] / 1e6, all[all.length - 1] / 1e6);
+
+        List<String> failures = new ArrayList<>();
+        check(failures, "error responses", errors.get(), 0);
+        check(failures, "applications created", system.getApplicationsView().size(), applied.get());
+        if (!failures.isEmpty()) {
+            failures.forEach(failure -> System.out.println("FAILED: " + failure));
+            System.exit(1);
+        }
+        System.out.println("http: OK");
+        System.exit(0);
+    }
+
+    // Operation suite in the style of JMH: each operation gets warmup iterations, then timed
+    // measurement iterations, at each campus size. Results can be saved as a baseline and later
+    // runs compared against it; anything slower than the threshold ratio fails the run.
+    // The same operations run under JMH itself in the benchmarks module (see suiteOperations); this
+    // mode needs nothing but a JDK, so forking is done by hand: by default each size runs in a fresh
+    // JVM with this one's flags (--forks N for more, 0 to stay in-process), so profiles and heap
+    // from one campus do not leak into the next, and the error covers every fork.
+    private static final int WARMUP_ITERATIONS = 3;
+    private static final int MEASURE_ITERATIONS = 5;
+    private static final long ITERATION_NANOS = 250_000_000L;
+    // Two-sided Student's t at 99.9% for 1..30 degrees of freedom, as JMH reports the error
+    private static final double[] T_999 = {636.62, 31.599, 12.924, 8.610, 6.869, 5.959, 5.408, 5.041, 4.781,
+        4.587, 4.437, 4.318, 4.221, 4.140, 4.073, 4.015, 3.965, 3.922, 3.883, 3.850, 3.819, 3.792, 3.768, 3.745,
+        3.725, 3.707, 3.690, 3.674, 3.659, 3.646};
+    private static volatile long sink;
+
+    private interface Operation {
+        long run(long invocation);
+    }
+
+    private static void runSuite(String[] args) throws IOException, InterruptedException {
+        int[] sizes = {1_000, 100_000, 1_000_000};
+        Path save = null;
+        Path baselineFile = null;
+        double threshold = 1.25;
+        int forks = 1;
+        Path forkOutput = null; // set in a forked child: where to leave its samples
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--sizes":
+                    sizes = Arrays.stream(args[i + 1].split(",")).mapToInt(Integer::parseInt).toArray();
+                    break;
+                case "--save":
+                    save = Paths.get(args[i + 1]);
+                    break;
+                case "--baseline":
+                    baselineFile = Paths.get(args[i + 1]);
+                    break;
+                case "--threshold":
+                    threshold = Double.parseDouble(args[i + 1]);
+                    break;
+                case "--forks":
+                    forks = Integer.parseInt(args[i + 1]);
+                    break;
+                case "--fork-output":
+                    forkOutput = Paths.get(args[i + 1]);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown suite option " + args[i]);
+            }
+        }
+        if (forkOutput != null) {
+            List<String> lines = new ArrayList<>();
+            for (int size : sizes) {
+                measureSuite(size).forEach((name, samples) -> lines.add(name + "@" + size + "\t"
+                    + Arrays.toString(samples).replaceAll("[\\[\\] ]", "")));
+            }
+            Files.write(forkOutput, lines);
+            return;
+        }
+        Map<String, Double> baseline = baselineFile == null ? Collections.emptyMap() : readBaseline(baselineFile);
+
+        Map<String, Double> results = new LinkedHashMap<>();
+        List<String> regressions = new ArrayList<>();
+        System.out.printf("%-24s %10s %6s %14s %12s %10s%n", "Benchmark", "Size", "Forks", "ns/op", "Error",
+            "vs base");
+        for (int size : sizes) {
+            Map<String, double[]> samples = forks > 0 ? forkSuite(size, forks) : measureSuite(size);
+            for (Map.Entry<String, double[]> entry : samples.entrySet()) {
+                double[] score = score(entry.getValue());
+                String key = entry.getKey() + "@" + size;
+                results.put(key, score[0]);
+                Double base = baseline.get(key);
+                String comparison = "";
+                if (base != null) {
+                    double ratio = score[0] / base;
+                    comparison = String.format("%.2fx", ratio);
+                    if (ratio > threshold) {
+                        regressions.add(String.format("%s: %.1f ns/op vs baseline %.1f ns/op", key, score[0], base));
+                    }
+                }
+                System.out.printf("%-24s %10d %6d %14.1f %12.1f %10s%n", entry.getKey(), size, forks, score[0],
+                    score[1], comparison);
+            }
+        }
+
+        if (save != null) {
+            List<String> lines = new ArrayList<>();
+            lines.add("# operation@size\tns/op");
+            results.forEach((key, value) -> lines.add(key + "\t" + value));
+            Files.write(save, lines);
+            System.out.println("suite: saved baseline to " + save);
+        }
+        if (!regressions.isEmpty()) {
+            regressions.forEach(regression -> System.out.println("REGRESSION: " + regression));
+            System.exit(1);
+        }
+        System.out.println("suite: OK");
+    }
+
+    // Every operation at one size in this JVM: name -> ns/op of each measurement iteration
+    private static Map<String, double[]> measureSuite(int size) {
+        Map<String, double[]> samples = new LinkedHashMap<>();
+        suiteOperations(new SuiteCampus(size)).forEach((name, operation) -> samples.put(name, measure(operation)));
+        return samples;
+    }
+
+    // The suite over a fresh campus in JDK types only, for the JMH benchmarks: those need a named
+    // package, which cannot refer to classes in this one, so they look this method up reflectively
+    static Map<String, LongUnaryOperator> suiteOperations(int size) {
+        Map<String, LongUnaryOperator> operations = new LinkedHashMap<>();
+        suiteOperations(new SuiteCampus(size)).forEach((name, operation) -> operations.put(name, operation::run));
+        return operations;
+    }
+
+    private static Map<String, Operation> suiteOperations(SuiteCampus campus) {
+        Map<String, Operation> operations = new LinkedHashMap<>();
+        long[] applyCursor = {0};
+        operations.put("applyForJob", i -> campus.applyNext(applyCursor[0]++) ? 1 : 0);
+        operations.put("getEligibleJobs", i -> campus.system.getEligibleJobs(campus.student(i)).size());
+        operations.put("getStudentApplications",
+            i -> campus.system.getStudentApplications(campus.student(i).getId()).size());
+        operations.put("getJobApplications",
+            i -> campus.system.getJobApplications(campus.job(i).getJobId()).size());
+        operations.put("getPlacementStatistics", i -> campus.system.getPlacementStatistics().size());
+        operations.put("getUnplacedStudents", i -> campus.system.getUnplacedStudents().size());
+        operations.put("countEligibleStudents", i -> campus.system.countEligibleStudents(campus.job(i)));
+        operations.put("getQualifiedStudents", i -> campus.system.getQualifiedStudents(campus.job(i), 0).size());
+        operations.put("searchJobs",
+            i -> campus.system.searchJobs(String.join(" ", campus.student(i).getSkills()), 10).size());
+        operations.put("searchResumes", i -> campus.system.searchResumes(campus.job(i).getTitle() + " "
+            + String.join(" ", campus.job(i).getRequiredSkills()), 10).size());
+        return operations;
+    }
+
+    // The same size in fresh JVMs, one after another, with this JVM's flags; samples of all forks pooled
+    private static Map<String, double[]> forkSuite(int size, int forks) throws IOException, InterruptedException {
+        Map<String, double[]> samples = new LinkedHashMap<>();
+        for (int fork = 0; fork < forks; fork++) {
+            Path output = Files.createTempFile("placement-fork", ".tsv");
+            List<String> command = new ArrayList<>();
+            command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+            command.addAll(ManagementFactory.getRuntimeMXBean().getInputArguments());
+            command.addAll(Arrays.asList("-cp", System.getProperty("java.class.path"), "PlacementBenchmark", "suite",
+                "--sizes", Integer.toString(size), "--fork-output", output.toString()));
+            Process child = new ProcessBuilder(command).redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.INHERIT).start();
+            if (child.waitFor() != 0) {
+                throw new IOException("Benchmark fork for size " + size + " exited with " + child.exitValue());
+            }
+            for (String line : Files.readAllLines(output)) {
+                String[] fields = line.split("\t");
+                String name = fields[0].substring(0, fields[0].lastIndexOf('@'));
+                double[] more = Arrays.stream(fields[1].split(",")).mapToDouble(Double::parseDouble).toArray();
+                samples.merge(name, more, (a, b) -> {
+                    double[] all = Arrays.copyOf(a, a.length + b.length);
+                    System.arraycopy(b, 0, all, a.length, b.length);
+                    return all;
+                });
+            }
+            Files.delete(output);
+        }
+        return samples;
+    }
+
+    // ns/op of each measurement iteration
+    private static double[] measure(Operation operation) {
+        long invocation = 0;
+        double[] samples = new double[MEASURE_ITERATIONS];
+        for (int iteration = 0; iteration < WARMUP_ITERATIONS + MEASURE_ITERATIONS; iteration++) {
+            long ops = 0;
+            long accumulated = 0;
+            long start = System.nanoTime();
+            long elapsed;
+            do {
+                for (int batch = 0; batch < 64; batch++) {
+                    accumulated += operation.run(invocation++);
+                }
+                ops += 64;
+                elapsed = System.nanoTime() - start;
+            } while (elapsed < ITERATION_NANOS);
+            sink += accumulated;
+            if (iteration >= WARMUP_ITERATIONS) {
+                samples[iteration - WARMUP_ITERATIONS] = (double) elapsed / ops;
+            }
+        }
+        return samples;
+    }
+
+    // {mean ns/op, 99.9% confidence half-width}
+    private static double[] score(double[] samples) {
+        double mean = Arrays.stream(samples).average().orElse(0);
+        int degrees = samples.length - 1;
+        if (degrees < 1) {
+            return new double[] {mean, Double.NaN};
+        }
+        double variance = Arrays.stream(samples).map(x -> (x - mean) * (x - mean)).sum() / degrees;
+        double t = degrees <= T_999.length ? T_999[degrees - 1] : 3.291;
+        return new double[] {mean, t * Math.sqrt(variance / samples.length)};
+    }
+
+    // Cost of instrumentation: each operation timed with metrics off and on, alternating so drift
+    // in JIT or GC state affects both sides equally
+    private static void runMetricsOverhead(int size) {
+        SuiteCampus campus = new SuiteCampus(size);
+        PlacementMetrics metrics = campus.system.getMetrics();
+        Map<String, Operation> operations = new LinkedHashMap<>();
+        operations.put("getEligibleJobs", i -> campus.system.getEligibleJobs(campus.student(i)).size());
+        operations.put("getStudentApplications",
+            i -> campus.system.getStudentApplications(campus.student(i).getId()).size());
+        operations.put("getJobApplications",
+            i -> campus.system.getJobApplications(campus.job(i).getJobId()).size());
+        operations.put("recommendJobs", i -> campus.system.recommendJobs(campus.student(i), 5).size());
+        operations.put("getPlacementStatistics", i -> campus.system.getPlacementStatistics().size());
+        operations.put("applyForJob (repeat)", i -> campus.system.applyForJob(campus.student(i),
+            campus.job(i)) ? 1 : 0);
+
+        System.out.printf("%-24s %12s %12s %10s%n", "Operation", "off ns/op", "on ns/op", "overhead");
+        for (Map.Entry<String, Operation> entry : operations.entrySet()) {
+            double off = 0;
+            double on = 0;
+            for (int round = 0; round < 3; round++) {
+                metrics.setEnabled(false);
+                off += measure(entry.getValue())[0];
+                metrics.setEnabled(true);
+                on += measure(entry.getValue())[0];
+            }
+            System.out.printf("%-24s %12.1f %12.1f %9.1f%%%n", entry.getKey(), off / 3, on / 3,
+                (on - off) * 100 / off);
+        }
+        System.out.print(metrics.getSummary());
+    }
+
+    // Every scheduling outcome against a scan of all live interviews, through cancellations, completions and
+    // rejected applications; then threads book at random and no student, company or room may be double-booked
+    private static void runConflictCheck(int size) throws Exception {
+        PlacementSystem system = new PlacementSystem();
+        CampusDataGenerator generator = new CampusDataGenerator(18, size);
+        generator.setInterviewRate(0);
+        generator.generate(system);
+        Application[] applications = system.getApplicationsView().toArray(new Application[0]);
+        Arrays.sort(applications, Comparator.comparingLong(Application::getNumber));
+        Random random = new Random(18);
+        List<String> failures = new ArrayList<>();
+        Map<ScheduleResult.Status, Integer> outcomes = new EnumMap<>(ScheduleResult.Status.class);
+        for (int i = 0; i < size * 4; i++) {
+            int action = random.nextInt(20);
+            List<Interview> live = system.getInterviews(InterviewStatus.SCHEDULED);
+            if (action < 2 && !live.isEmpty()) {
+                system.cancelInterview(live.get(random.nextInt(live.size())).getInterviewId());
+                continue;
+            }
+            if (action == 2 && !live.isEmpty()) {
+                system.completeInterview(live.get(random.nextInt(live.size())).getInterviewId());
+                continue;
+            }
+            Application app = applications[random.nextInt(applications.length)];
+            if (action == 3) {
+                system.updateApplicationStatus(app.getApplicationId(), ApplicationStatus.REJECTED);
+                continue;
+            }
+            String date = LocalDate.of(2025, 2, 3).plusDays(random.nextInt(10)).toString();
+            String time = String.format("%02d:%02d", 9 + random.nextInt(9), 15 * random.nextInt(4));
+            String room = (random.nextBoolean() ? "Room " : " ROOM ") + random.nextInt(6);
+            int duration = 15 * (1 + random.nextInt(6));
+            LocalDateTime start = Interview.parseStart(date, time);
+            ScheduleResult.Status expected = expectedOutcome(system, app, start, start.plusMinutes(duration), room);
+            ScheduleResult result = system.scheduleInterview(app.getApplicationId(), date, time, room, "TECHNICAL",
+                duration);
+            outcomes.merge(result.getStatus(), 1, Integer::sum);
+            if (result.getStatus() != expected) {
+                failures.add(app.getApplicationId() + " at " + start + " for " + duration + " min in '" + room
+                    + "': expected " + expected + " but was " + result.getStatus() + " (" + result.getReason() + ")");
+            }
+        }
+        checkRestoredOverlaps(failures, system, applications);
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            final long seed = t;
+            futures.add(pool.submit(() -> {
+                Random local = new Random(seed);
+                for (int i = 0; i < size; i++) {
+                    Application app = applications[local.nextInt(applications.length)];
+                    system.scheduleInterview(app.getApplicationId(),
+                        LocalDate.of(2025, 3, 3).plusDays(local.nextInt(3)).toString(),
+                        String.format("%02d:%02d", 9 + local.nextInt(9), 15 * local.nextInt(4)),
+                        "Room " + local.nextInt(6), "HR", 15 * (1 + local.nextInt(6)));
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        pool.shutdown();
+        List<Interview> booked = new ArrayList<>(system.getInterviewsView());
+        booked.removeIf(interview -> interview.getStatus() == InterviewStatus.CANCELLED);
+        checkNoOverlaps(failures, "student", booked, interview -> interview.getApplication().getStudent().getId());
+        checkNoOverlaps(failures, "company", booked, interview -> interview.getApplication().getJob().getCompany().getId());
+        checkNoOverlaps(failures, "room", booked, interview -> interview.getLocation().trim().toLowerCase(Locale.ROOT));
+        System.out.printf("conflicts: %d interviews booked, outcomes %s%n", booked.size(), outcomes);
+        report("conflicts", failures);
+    }
+
+    // Replayed data may overlap where booking never would: a long interview, and two more sharing a start
+    // inside it. All three must be kept, and bookings must be refused around each of them
+    private static void checkRestoredOverlaps(List<String> failures, PlacementSystem system,
+                                              Application[] applications) {
+        Application app = null;
+        for (Application candidate : applications) {
+            if (candidate.getStatus().canMoveTo(ApplicationStatus.SHORTLISTED)) {
+                app = candidate;
+                break;
+            }
+        }
+        String date = "2025-02-20";
+        Interview longest = new Interview(1_000_000_001L, app, date, "08:00", "Replayed A", "TECHNICAL", 150);
+        Interview shorter = new Interview(1_000_000_002L, app, date, "09:00", "Replayed B", "TECHNICAL", 30);
+        Interview sameStart = new Interview(1_000_000_003L, app, date, "09:00", "Replayed C", "TECHNICAL", 60);
+        for (Interview interview : List.of(longest, shorter, sameStart)) {
+            system.restoreInterview(interview);
+        }
+        if (!system.getStudentInterviews(app.getStudent().getId()).containsAll(List.of(longest, shorter, sameStart))) {
+            failures.add("replayed overlapping interviews of " + app.getStudent().getId() + " not all kept");
+        }
+        // 10:10 clashes only with the long one, 09:40 only with the later of the two at 09:00
+        String[][] probes = {{"10:10", null}, {"09:40", longest.getInterviewId()}, {"10:10", null}};
+        for (String[] probe : probes) {
+            if (probe[1] != null) {
+                system.cancelInterview(probe[1]);
+            }
+            LocalDateTime start = Interview.parseStart(date, probe[0]);
+            ScheduleResult.Status expected = expectedOutcome(system, app, start, start.plusMinutes(10), "Replayed D");
+            ScheduleResult result = system.scheduleInterview(app.getApplicationId(), date, probe[0], "Replayed D",
+                "HR", 10);
+            if (result.getStatus() != expected) {
+                failures.add("next to replayed overlaps, " + app.getApplicationId() + " at " + start + ": expected "
+                    + expected + " but was " + result.getStatus() + " (" + result.getReason() + ")");
+            }
+        }
+        // Out of the way of the double-booking checks below
+        system.cancelInterview(shorter.getInterviewId());
+        system.cancelInterview(sameStart.getInterviewId());
+    }
+
+    // What scheduleInterview should answer, from a scan of every interview still holding its slot
+    private static ScheduleResult.Status expectedOutcome(PlacementSystem system, Application app, LocalDateTime start,
+                                                         LocalDateTime end, String room) {
+        if (!app.getStatus().canMoveTo(ApplicationStatus.SHORTLISTED)) {
+            return ScheduleResult.Status.APPLICATION_CLOSED;
+        }
+        boolean company = false;
+        boolean location = false;
+        for (Interview other : system.getInterviewsView()) {
+            if (other.getStatus() == InterviewStatus.CANCELLED || !other.getStart().isBefore(end)
+                    || !start.isBefore(other.getEnd())) {
+                continue;
+            }
+            if (other.getApplication().getStudent() == app.getStudent()) {
+                return ScheduleResult.Status.STUDENT_CONFLICT;
+            }
+            company |= other.getApplication().getJob().getCompany() == app.getJob().getCompany();
+            location |= other.getLocation().trim().equalsIgnoreCase(room.trim());
+        }
+        return company ? ScheduleResult.Status.COMPANY_CONFLICT
+            : location ? ScheduleResult.Status.LOCATION_CONFLICT : ScheduleResult.Status.SCHEDULED;
+    }
+
+    private static void checkNoOverlaps(List<String> failures, String what, List<Interview> interviews,
+                                        Function<Interview, String> keyOf) {
+        Map<String, List<Interview>> byKey = new HashMap<>();
+        for (Interview interview : interviews) {
+            byKey.computeIfAbsent(keyOf.apply(interview), k -> new ArrayList<>()).add(interview);
+        }
+        for (List<Interview> calendar : byKey.values()) {
+            calendar.sort(Comparator.comparing(Interview::getStart));
+            for (int i = 1; i < calendar.size(); i++) {
+                if (calendar.get(i).getStart().isBefore(calendar.get(i - 1).getEnd())) {
+                    failures.add(what + " double-booked: " + calendar.get(i - 1).getInterviewId() + " and "
+                        + calendar.get(i).getInterviewId());
+                }
+            }
+        }
+    }
+
+    // Every company runs a randomly configured drive over a campus that already has interviews, sharing
+    // rooms with other companies. Afterwards nobody is double-booked, no company runs more interviews at
+    // once than its panels, each candidate got all rounds in order or is reported unassigned, and no
+    // unassigned candidate could still have been given a slot nothing else occupies.
+    private static void runDriveCheck(int size) {
+        PlacementSystem system = new PlacementSystem();
+        new CampusDataGenerator(19, size).generate(system);
+        Company[] companies = system.getCompaniesView().toArray(new Company[0]);
+        Arrays.sort(companies, Comparator.comparing(Company::getId));
+        Map<Company, List<Application>> byCompany = new HashMap<>();
+        for (Application app : system.getApplicationsView()) {
+            byCompany.computeIfAbsent(app.getJob().getCompany(), k -> new ArrayList<>()).add(app);
+        }
+        Random random = new Random(19);
+        List<String> failures = new ArrayList<>();
+        Map<Company, Integer> parallel = new HashMap<>();
+        int scheduled = 0;
+        int unassigned = 0;
+        for (Company company : companies) {
+            List<Application> batch = byCompany.getOrDefault(company, new ArrayList<>());
+            batch.sort(Comparator.comparingLong(Application::getNumber));
+            Collections.shuffle(batch, random);
+            batch = new ArrayList<>(batch.subList(0, Math.min(batch.size(), 10 + random.nextInt(40))));
+            for (int i = 0; i < batch.size() / 20; i++) {
+                Application app = batch.get(random.nextInt(batch.size()));
+                system.updateApplicationStatus(app.getApplicationId(), ApplicationStatus.REJECTED);
+                batch.add(app); // listed twice, scheduled once
+            }
+            InterviewSlotScheduler scheduler = new InterviewSlotScheduler();
+            LocalDate day = LocalDate.of(2025, 1, 6).plusDays(random.nextInt(20));
+            LocalDate nextDay = day.plusDays(1 + random.nextInt(3));
+            LocalDateTime[][] windows = {
+                {day.atTime(9, 0), day.atTime(13, 0)},
+                {nextDay.atTime(9, 30), nextDay.atTime(17, 0)}};
+            for (LocalDateTime[] window : windows) {
+                scheduler.addWindow(window[0].toLocalDate(), window[0].toLocalTime(), window[1].toLocalTime());
+            }
+            List<String> rooms = new ArrayList<>();
+            for (int r = 0, n = 1 + random.nextInt(4); r < n; r++) {
+                rooms.add(random.nextInt(3) == 0 ? "Room " + (1 + random.nextInt(4)) : "Hall " + random.nextInt(8));
+            }
+            scheduler.setRooms(rooms);
+            List<String> rounds = random.nextBoolean() ? List.of("TECHNICAL", "HR") : List.of("TECHNICAL");
+            scheduler.setRounds(rounds);
+            int slotMinutes = 15 * (2 + random.nextInt(3));
+            int gapMinutes = random.nextBoolean() ? 0 : 15;
+            int panels = random.nextInt(3);
+            scheduler.setSlotMinutes(slotMinutes);
+            scheduler.setGapMinutes(gapMinutes);
+            scheduler.setPanels(panels);
+            parallel.put(company, panels > 0 ? panels : new LinkedHashSet<>(rooms).size());
+            SlotSchedule schedule = system.scheduleInterviews(scheduler, batch);
+            scheduled += schedule.getInterviews().size();
+            unassigned += schedule.getUnassigned().size();
+            checkDrive(failures, company.getId(), batch, schedule, rounds, rooms, slotMinutes, gapMinutes);
+            checkNoFreeSlot(failures, system, company, schedule, windows, rooms, slotMinutes, gapMinutes);
+        }
+
+        List<Interview> booked = new ArrayList<>(system.getInterviewsView());
+        booked.removeIf(interview -> interview.getStatus() == InterviewStatus.CANCELLED);
+        checkNoOverlaps(failures, "student", booked, interview -> interview.getApplication().getStudent().getId());
+        checkNoOverlaps(failures, "room", booked, interview -> interview.getLocation().trim().toLowerCase(Locale.ROOT));
+        Map<Company, List<Interview>> companyInterviews = new HashMap<>();
+        for (Interview interview : booked) {
+            companyInterviews.computeIfAbsent(interview.getApplication().getJob().getCompany(),
+                k -> new ArrayList<>()).add(interview);
+        }
+        for (Map.Entry<Company, List<Interview>> entry : companyInterviews.entrySet()) {
+            List<Interview> calendar = entry.getValue();
+            calendar.sort(Comparator.comparing(Interview::getStart));
+            PriorityQueue<LocalDateTime> running = new PriorityQueue<>();
+            int limit = Math.max(1, parallel.getOrDefault(entry.getKey(), 1));
+            for (Interview interview : calendar) {
+                while (!running.isEmpty() && !running.peek().isAfter(interview.getStart())) {
+                    running.poll();
+                }
+                running.add(interview.getEnd());
+                if (running.size() > limit) {
+                    failures.add(entry.getKey().getId() + " runs " + running.size() + " interviews at "
+                        + interview.getStart() + " with " + limit + " panels");
+                    break;
+                }
+            }
+        }
+        System.out.printf("drives: %d companies, %d interviews scheduled, %d candidates unassigned%n",
+            companies.length, scheduled, unassigned);
+        report("drives", failures);
+    }
+
+    private static void checkDrive(List<String> failures, String companyId, List<Application> batch, SlotSchedule schedule, List<String> rounds,
+                                   List<String> rooms, int slotMinutes, int gapMinutes) {
+        Map<Application, List<Interview>> byApplication = new IdentityHashMap<>();
+        for (Interview interview : schedule.getInterviews()) {
+            byApplication.computeIfAbsent(interview.getApplication(), k -> new ArrayList<>()).add(interview);
+            if (interview.getDurationMinutes() != slotMinutes || !rooms.contains(interview.getLocation())
+                    || interview.getStatus() != InterviewStatus.SCHEDULED) {
+                failures.add(companyId + ": " + interview.getInterviewId() + " is not a drive slot");
+            }
+        }
+        for (Application app : new LinkedHashSet<>(batch)) {
+            List<Interview> got = byApplication.getOrDefault(app, new ArrayList<>());
+            boolean left = schedule.getUnassigned().containsKey(app);
+            if (!left && got.size() != rounds.size() || left && got.size() >= rounds.size()) {
+                failures.add(companyId + ": " + app.getApplicationId() + " got " + got.size() + " of "
+                    + rounds.size() + " rounds" + (left ? " and is unassigned" : ""));
+                continue;
+            }
+            for (int i = 0; i < got.size(); i++) {
+                if (!got.get(i).getType().equals(rounds.get(i)) || i > 0
+                        && got.get(i).getStart().isBefore(got.get(i - 1).getEnd().plusMinutes(gapMinutes))) {
+                    failures.add(companyId + ": " + app.getApplicationId() + " round " + (i + 1) + " out of order");
+                }
+            }
+        }
+    }
+
+    // Bookings only accumulate during a drive, so a slot that nothing of the candidate's or the company's
+    // overlaps now, with a room to spare, was just as free when the scheduler looked for the candidate's
+    // missing round; that round may start anywhere, or only once the previous one has ended
+    private static void checkNoFreeSlot(List<String> failures, PlacementSystem system, Company company,
+                                        SlotSchedule schedule, LocalDateTime[][] windows, List<String> rooms,
+                                        int slotMinutes, int gapMinutes) {
+        Map<Application, LocalDateTime> lastEnd = new IdentityHashMap<>();
+        for (Interview interview : schedule.getInterviews()) {
+            lastEnd.put(interview.getApplication(), interview.getEnd().plusMinutes(gapMinutes));
+        }
+        Map<Application, LocalDateTime> missed = new LinkedHashMap<>(); // -> earliest start, null for any
+        for (Application app : schedule.getUnassigned().keySet()) {
+            if (app.getStatus() != ApplicationStatus.REJECTED) {
+                missed.put(app, lastEnd.get(app));
+            }
+        }
+        for (LocalDateTime[] window : windows) {
+            for (LocalDateTime start = window[0]; !start.plusMinutes(slotMinutes).isAfter(window[1]);
+                 start = start.plusMinutes(slotMinutes)) {
+                LocalDateTime end = start.plusMinutes(slotMinutes);
+                Set<Student> busyStudents = Collections.newSetFromMap(new IdentityHashMap<>());
+                Set<String> busyRooms = new HashSet<>();
+                boolean companyBusy = false;
+                for (Interview other : system.getInterviewsView()) {
+                    if (other.getStatus() == InterviewStatus.CANCELLED || !other.getStart().isBefore(end)
+                            || !start.isBefore(other.getEnd())) {
+                        continue;
+                    }
+                    busyStudents.add(other.getApplication().getStudent());
+                    busyRooms.add(other.getLocation().trim().toLowerCase(Locale.ROOT));
+                    companyBusy |= other.getApplication().getJob().getCompany() == company;
+                }
+                String freeRoom = null;
+                for (String room : rooms) {
+                    if (!busyRooms.contains(room.trim().toLowerCase(Locale.ROOT))) {
+                        freeRoom = room;
+                    }
+                }
+                if (companyBusy || freeRoom == null) {
+                    continue;
+                }
+                for (Map.Entry<Application, LocalDateTime> entry : missed.entrySet()) {
+                    Application app = entry.getKey();
+                    boolean allowed = entry.getValue() == null || !start.isBefore(entry.getValue());
+                    if (allowed && !busyStudents.contains(app.getStudent())) {
+                        failures.add(company.getId() + ": " + app.getApplicationId() + " unassigned though "
+                            + freeRoom + " was free at " + start);
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    // Allowed moves, written out independently of the enums' own tables; staying put is always allowed
+    private static final Set<String> APPLICATION_MOVES = new HashSet<>(Arrays.asList("APPLIED>SHORTLISTED",
+        "APPLIED>ON_HOLD", "APPLIED>REJECTED", "SHORTLISTED>ON_HOLD", "SHORTLISTED>REJECTED", "ON_HOLD>SHORTLISTED",
+        "ON_HOLD>REJECTED"));
+    private static final Set<String> INTERVIEW_MOVES = new HashSet<>(Arrays.asList("SCHEDULED>COMPLETED",
+        "SCHEDULED>CANCELLED"));
+    private static final Set<String> OFFER_MOVES = new HashSet<>(Arrays.asList("PENDING>ACCEPTED",
+        "PENDING>REJECTED", "ACCEPTED>REJECTED"));
+
+    // Random status changes against the transition tables, then threads change statuses at random and every
+    // status index, counter and placement figure must match a scan of the records
+    private static void runStatusCheck(int size) throws Exception {
+        PlacementSystem system = new PlacementSystem();
+        new CampusDataGenerator(20, size).generate(system);
+        Application[] applications = system.getApplicationsView().toArray(new Application[0]);
+        Arrays.sort(applications, Comparator.comparingLong(Application::getNumber));
+        Random random = new Random(20);
+        List<String> failures = new ArrayList<>();
+        for (int i = 0; i < size * 4; i++) {
+            changeStatus(system, applications, random, failures);
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            final long seed = t;
+            futures.add(pool.submit(() -> {
+                Random local = new Random(seed);
+                for (int i = 0; i < size * 2; i++) {
+                    changeStatus(system, applications, local, null);
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        pool.shutdown();
+
+        Map<ApplicationStatus, Set<Application>> applicationsByStatus = new EnumMap<>(ApplicationStatus.class);
+        Map<String, Map<ApplicationStatus, Set<Application>>> byJob = new HashMap<>();
+        for (Application app : system.getApplicationsView()) {
+            identitySet(applicationsByStatus, app.getStatus()).add(app);
+            identitySet(byJob.computeIfAbsent(app.getJob().getJobId(), k -> new EnumMap<>(ApplicationStatus.class)),
+                app.getStatus()).add(app);
+        }
+        Map<InterviewStatus, Set<Interview>> interviewsByStatus = new EnumMap<>(InterviewStatus.class);
+        for (Interview interview : system.getInterviewsView()) {
+            identitySet(interviewsByStatus, interview.getStatus()).add(interview);
+        }
+        Map<OfferStatus, Set<JobOffer>> offersByStatus = new EnumMap<>(OfferStatus.class);
+        Set<Student> placed = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (JobOffer offer : system.getOffersView()) {
+            identitySet(offersByStatus, offer.getStatus()).add(offer);
+            if (offer.getStatus() == OfferStatus.ACCEPTED) {
+                placed.add(offer.getApplication().getStudent());
+            }
+        }
+        for (ApplicationStatus status : ApplicationStatus.values()) {
+            check(failures, status + " applications", system.getApplicationCounts().get(status),
+                identitySet(applicationsByStatus, status).size());
+            for (JobPosting job : system.getJobsView()) {
+                Set<Application> expected = identitySet(byJob.getOrDefault(job.getJobId(),
+                    new EnumMap<>(ApplicationStatus.class)), status);
+                checkSame(failures, status + " applications of " + job.getJobId(),
+                    system.getJobApplications(job.getJobId(), status), expected);
+                check(failures, status + " pipeline of " + job.getJobId(),
+                    system.getJobPipeline(job.getJobId()).getOrDefault(status, 0), expected.size());
+            }
+        }
+        for (InterviewStatus status : InterviewStatus.values()) {
+            checkSame(failures, status + " interviews", system.getInterviews(status),
+                identitySet(interviewsByStatus, status));
+            check(failures, status + " interview count", system.getInterviewCounts().getOrDefault(status, 0),
+                identitySet(interviewsByStatus, status).size());
+        }
+        for (OfferStatus status : OfferStatus.values()) {
+            checkSame(failures, status + " offers", system.getOffers(status), identitySet(offersByStatus, status));
+            check(failures, status + " offer count", system.getOfferCounts().getOrDefault(status, 0),
+                identitySet(offersByStatus, status).size());
+        }
+        Map<String, Object> stats = system.getPlacementStatistics();
+        check(failures, "placed students", (Long) stats.get("placedStudents"), placed.size());
+        check(failures, "accepted offers", (Long) stats.get("acceptedOffers"),
+            identitySet(offersByStatus, OfferStatus.ACCEPTED).size());
+        check(failures, "pending offers", (Long) stats.get("pendingOffers"),
+            identitySet(offersByStatus, OfferStatus.PENDING).size());
+        check(failures, "shortlisted applications", (Long) stats.get("shortlistedApplications"),
+            identitySet(applicationsByStatus, ApplicationStatus.SHORTLISTED).size());
+        check(failures, "scheduled interviews", (Long) stats.get("scheduledInterviews"),
+            identitySet(interviewsByStatus, InterviewStatus.SCHEDULED).size());
+        System.out.printf("statuses: %d applications, %d interviews, %d offers, %d placed%n", applications.length,
+            system.getInterviewsView().size(), system.getOffersView().size(), placed.size());
+        report("statuses", failures);
+    }
+
+    // One random application, interview or offer change; checked against the tables when failures is given
+    private static void changeStatus(PlacementSystem system, Application[] applications, Random random,
+                                     List<String> failures) {
+        Application app = applications[random.nextInt(applications.length)];
+        switch (random.nextInt(4)) {
+            case 0: {
+                ApplicationStatus before = app.getStatus();
+                ApplicationStatus target = ApplicationStatus.values()[random.nextInt(ApplicationStatus.values().length)];
+                boolean moved = system.updateApplicationStatus(app.getApplicationId(), target);
+                expectMove(failures, app.getApplicationId(), before, target, moved, app.getStatus(), APPLICATION_MOVES);
+                break;
+            }
+            case 1: {
+                List<Interview> interviews = system.getStudentInterviews(app.getStudent().getId());
+                if (interviews.isEmpty()) {
+                    break;
+                }
+                Interview interview = interviews.get(random.nextInt(interviews.size()));
+                InterviewStatus before = interview.getStatus();
+                InterviewStatus target = InterviewStatus.values()[random.nextInt(InterviewStatus.values().length)];
+                boolean moved = system.updateInterviewStatus(interview.getInterviewId(), target);
+                expectMove(failures, interview.getInterviewId(), before, target, moved, interview.getStatus(),
+                    INTERVIEW_MOVES);
+                break;
+            }
+            case 2: {
+                boolean open = app.getStatus() != ApplicationStatus.REJECTED;
+                JobOffer offer = system.createJobOffer(app.getApplicationId(), 4 + random.nextInt(20), "2025-07-01", "");
+                if (failures != null && (offer != null) != open) {
+                    failures.add("offer on " + app.getStatus() + " " + app.getApplicationId()
+                        + (offer != null ? " was made" : " was refused"));
+                }
+                break;
+            }
+            default: {
+                List<JobOffer> offers = system.getStudentOffers(app.getStudent().getId());
+                if (offers.isEmpty()) {
+                    break;
+                }
+                JobOffer offer = offers.get(random.nextInt(offers.size()));
+                OfferStatus before = offer.getStatus();
+                OfferStatus target = OfferStatus.values()[random.nextInt(OfferStatus.values().length)];
+                boolean moved = offer.moveTo(target);
+                expectMove(failures, offer.getOfferId(), before, target, moved, offer.getStatus(), OFFER_MOVES);
+            }
+        }
+    }
+
+    private static void expectMove(List<String> failures, String id, Enum<?> before, Enum<?> target, boolean moved,
+                                   Enum<?> after, Set<String> moves) {
+        if (failures == null) {
+            return;
+        }
+        boolean allowed = before == target || moves.contains(before + ">" + target);
+        if (moved != allowed || after != (allowed ? target : before)) {
+            failures.add(id + " " + before + " -> " + target + ": " + (moved ? "moved" : "refused")
+                + ", now " + after);
+        }
+    }
+
+    private static <S, T> Set<T> identitySet(Map<S, Set<T>> sets, S status) {
+        return sets.computeIfAbsent(status, k -> Collections.newSetFromMap(new IdentityHashMap<>()));
+    }
+
+    // Id formatting round trips; threads mixing single ids with reserved and released blocks never get a
+    // number twice; and applications made concurrently through the system get unique, resolvable ids
+    private static void runIdCheck(int threads) throws Exception {
+        List<String> failures = new ArrayList<>();
+        for (long number : new long[] {0, 1, 42, 999, 9999, 10_000, 123_456_789L}) {
+            String id = IdAllocator.format("APP", number);
+            if (IdAllocator.parse("APP", id) != number || !id.equals("APP" + String.format("%04d", number))) {
+                failures.add("format of " + number + ": " + id);
+            }
+        }
+        for (String id : new String[] {"APP1", "APP00042", "APP", "INT0001", "APP12a4", null, "APP-001"}) {
+            check(failures, "parse of " + id, IdAllocator.parse("APP", id), -1);
+        }
+
+        IdAllocator allocator = new IdAllocator("X");
+        IdBlock block = allocator.reserve(10);
+        block.next();
+        block.next();
+        allocator.release(block);
+        check(failures, "number after a released block", allocator.allocate(), 3);
+        block = allocator.reserve(5);
+        allocator.allocate();
+        allocator.release(block);
+        check(failures, "number after a block that cannot be released", allocator.allocate(), 10);
+
+        IdAllocator shared = new IdAllocator("X");
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<List<Long>>> handedOut = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            final long seed = t;
+            handedOut.add(pool.submit(() -> {
+                Random random = new Random(seed);
+                List<Long> numbers = new ArrayList<>();
+                for (int i = 0; i < 20_000; i++) {
+                    if (random.nextInt(8) > 0) {
+                        numbers.add(shared.allocate());
+                        continue;
+                    }
+                    IdBlock own = shared.reserve(1 + random.nextInt(64));
+                    for (int n = random.nextInt(own.remaining() + 1); n > 0; n--) {
+                        numbers.add(own.next());
+                    }
+                    shared.release(own);
+                }
+                return numbers;
+            }));
+        }
+        Set<Long> numbers = new HashSet<>();
+        long count = 0;
+        for (Future<List<Long>> future : handedOut) {
+            for (long number : future.get()) {
+                count++;
+                if (!numbers.add(number) || number >= shared.peekNext()) {
+                    failures.add("number " + number + " handed out twice or past " + shared.peekNext());
+                }
+            }
+        }
+
+        PlacementSystem system = new PlacementSystem();
+        new CampusDataGenerator(22, 2_000).generate(system);
+        List<Student> fresh = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            Student student = new Student("N" + i, "New " + i, "n" + i + "@college.edu", "CS", 9.5, 2024);
+            system.addStudent(student);
+            fresh.add(student);
+        }
+        List<JobPosting> jobs = new ArrayList<>(system.getJobsView());
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            final int first = t;
+            futures.add(pool.submit(() -> {
+                for (int i = first; i < fresh.size(); i += threads) {
+                    if (i % 2 == 0) {
+                        system.applyForJobs(fresh.get(i), jobs);
+                    } else {
+                        for (JobPosting job : jobs) {
+                            system.applyForJob(fresh.get(i), job);
+                        }
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        pool.shutdown();
+        Set<Long> applicationNumbers = new HashSet<>();
+        for (Application app : system.getApplicationsView()) {
+            if (!applicationNumbers.add(app.getNumber())) {
+                failures.add("application number " + app.getNumber() + " used twice");
+            }
+            if (system.getApplicationById(app.getApplicationId()) != app) {
+                failures.add(app.getApplicationId() + " does not resolve to its application");
+            }
+        }
+        System.out.printf("ids: %d numbers from %d threads, %d applications%n", count, threads,
+            applicationNumbers.size());
+        report("ids", failures);
+    }
+
+    // Columnar scans against the same filters over Student objects, after CGPA changes, skills past the
+    // first 64 skill ids, re-registrations (tombstoned rows) and edits to the replaced objects
+    private static void runColumnCheck(int size) {
+        PlacementSystem system = new PlacementSystem();
+        new CampusDataGenerator(23, size).generate(system);
+        Student[] students = system.getStudentsView().toArray(new Student[0]);
+        Arrays.sort(students, Comparator.comparing(Student::getId));
+        Random random = new Random(23);
+        List<Student> replaced = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            Student student = system.getStudentById(students[random.nextInt(students.length)].getId());
+            switch (random.nextInt(4)) {
+                case 0:
+                    Student again = new Student(student.getId(), student.getName(), student.getEmail(),
+                        random.nextBoolean() ? "MECH" : student.getDepartment(), 5 + random.nextInt(51) / 10.0,
+                        2024 + random.nextInt(3));
+                    again.addSkill("Java");
+                    system.addStudent(again);
+                    replaced.add(student);
+                    break;
+                case 1:
+                    student.addSkill("Extra" + random.nextInt(100));
+                    break;
+                default:
+                    student.setCgpa(5 + random.nextInt(51) / 10.0);
+            }
+            if (!replaced.isEmpty()) {
+                Student stale = replaced.get(random.nextInt(replaced.size()));
+                stale.setCgpa(10.0);
+                stale.addSkill("Extra" + random.nextInt(100));
+            }
+        }
+
+        List<String> failures = new ArrayList<>();
+        Collection<Student> current = system.getStudentsView();
+        for (JobPosting job : system.getJobsView()) {
+            for (int year : new int[] {0, 2024, 2025, 2026}) {
+                Set<Student> expected = Collections.newSetFromMap(new IdentityHashMap<>());
+                for (Student student : current) {
+                    if (job.isEligible(student) && (year == 0 || student.getGraduationYear() == year)
+                            && student.getSkillSet().containsAll(job.getRequiredSkillSet())) {
+                        expected.add(student);
+                    }
+                }
+                checkSame(failures, "qualified for " + job.getJobId() + " in " + year,
+                    system.getQualifiedStudents(job, year), expected);
+            }
+            long eligible = current.stream().filter(job::isEligible).count();
+            check(failures, "eligible count of " + job.getJobId(), system.countEligibleStudents(job), eligible);
+        }
+        System.out.printf("columns: %d students, %d jobs, %d re-registrations%n", current.size(),
+            system.getJobsView().size(), replaced.size());
+        report("columns", failures);
+    }
+
+    // Random student and application queries, paged through with random page sizes, against filtering
+    // every record and sorting the lot in the query's order
+    private static void runQueryCheck(int size) {
+        PlacementSystem system = new PlacementSystem();
+        new CampusDataGenerator(24, size).generate(system);
+        List<Student> students = new ArrayList<>(system.getStudentsView());
+        List<Application> applications = new ArrayList<>(system.getApplicationsView());
+        List<Company> companies = new ArrayList<>(system.getCompaniesView());
+        List<JobPosting> jobs = new ArrayList<>(system.getJobsView());
+        students.sort(Comparator.comparing(Student::getId));
+        applications.sort(Comparator.comparingLong(Application::getNumber));
+        companies.sort(Comparator.comparing(Company::getId));
+        jobs.sort(Comparator.comparing(JobPosting::getJobId));
+        String[] departments = students.stream().map(Student::getDepartment).distinct().sorted().toArray(String[]::new);
+        List<LocalDateTime> times = new ArrayList<>();
+        applications.forEach(app -> times.add(app.getAppliedDate()));
+        Collections.sort(times);
+        Set<Student> placed = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (JobOffer offer : system.getOffersView()) {
+            if (offer.getStatus() == OfferStatus.ACCEPTED) {
+                placed.add(offer.getApplication().getStudent());
+            }
+        }
+        Random random = new Random(24);
+        List<String> failures = new ArrayList<>();
+        Set<String> plans = new TreeSet<>();
+        int pages = 0;
+
+        for (int q = 0; q < 300; q++) {
+            StudentQuery query = new StudentQuery();
+            if (random.nextInt(3) == 0) {
+                query.setDepartments(List.of(departments[random.nextInt(departments.length)]));
+            }
+            if (random.nextInt(3) == 0) {
+                double low = 6 + random.nextInt(30) / 10.0;
+                query.setCgpaRange(low, low + random.nextInt(20) / 10.0);
+            }
+            if (random.nextInt(4) == 0) {
+                query.setGraduationYear(2024 + random.nextInt(3));
+            }
+            if (random.nextInt(4) == 0) {
+                query.requireSkill(random.nextBoolean() ? "Java" : "Python");
+            }
+            if (random.nextInt(6) == 0) {
+                query.requireSkill("NoSuchSkill" + q);
+            }
+            if (random.nextInt(3) == 0) {
+                query.setPlaced(random.nextBoolean());
+            }
+            if (random.nextInt(3) == 0) {
+                query.setCompanyId(companies.get(random.nextInt(companies.size())).getId());
+            }
+            if (random.nextInt(3) == 0) {
+                query.setApplicationStatus(ApplicationStatus.values()[random.nextInt(ApplicationStatus.values().length)]);
+            }
+            query.setOrder(StudentQuery.Order.values()[random.nextInt(StudentQuery.Order.values().length)]);
+            query.setLimit(1 + random.nextInt(50));
+            List<Student> expected = new ArrayList<>();
+            for (Student student : students) {
+                if (studentMatches(system, query, student, placed.contains(student))) {
+                    expected.add(student);
+                }
+            }
+            expected.sort(query.getOrder().comparator());
+            List<Student> actual = new ArrayList<>();
+            String cursor = null;
+            do {
+                query.setCursor(cursor);
+                QueryPage<Student> page = system.findStudents(query);
+                actual.addAll(page.getItems());
+                plans.add(page.getPlan().replaceAll("[0-9]+", "#"));
+                cursor = page.getNextCursor();
+                pages++;
+            } while (cursor != null);
+            if (!actual.equals(expected)) {
+                failures.add("student query " + q + " (" + query.getOrder() + "): expected " + expected.size()
+                    + " rows but paged through " + actual.size()
+                    + (actual.size() == expected.size() ? " in another order" : ""));
+            }
+        }
+
+        for (int q = 0; q < 300; q++) {
+            ApplicationQuery query = new ApplicationQuery();
+            if (random.nextInt(3) == 0) {
+                query.setJobId(jobs.get(random.nextInt(jobs.size())).getJobId());
+            }
+            if (random.nextInt(3) == 0) {
+                query.setCompanyId(companies.get(random.nextInt(companies.size())).getId());
+            }
+            if (random.nextInt(4) == 0) {
+                query.setStudentId(students.get(random.nextInt(students.size())).getId());
+            }
+            if (random.nextInt(2) == 0) {
+                query.setStatus(ApplicationStatus.values()[random.nextInt(ApplicationStatus.values().length)]);
+            }
+            if (random.nextInt(4) == 0) {
+                query.setDepartment(departments[random.nextInt(departments.length)]);
+            }
+            if (random.nextInt(3) == 0) {
+                int i = random.nextInt(times.size());
+                int j = Math.min(times.size() - 1, i + random.nextInt(times.size() / 4 + 1));
+                query.setAppliedBetween(random.nextBoolean() ? times.get(i) : null,
+                    random.nextInt(4) == 0 ? null : times.get(j));
+            }
+            query.setOrder(ApplicationQuery.Order.values()[random.nextInt(ApplicationQuery.Order.values().length)]);
+            query.setLimit(1 + random.nextInt(100));
+            List<Application> expected = new ArrayList<>();
+            for (Application app : applications) {
+                if (applicationMatches(query, app)) {
+                    expected.add(app);
+                }
+            }
+            expected.sort(query.getOrder().comparator());
+            List<Application> actual = new ArrayList<>();
+            String cursor = null;
+            do {
+                query.setCursor(cursor);
+                QueryPage<Application> page = system.findApplications(query);
+                actual.addAll(page.getItems());
+                plans.add(page.getPlan().replaceAll("[0-9]+", "#"));
+                cursor = page.getNextCursor();
+                pages++;
+            } while (cursor != null);
+            if (!actual.equals(expected)) {
+                failures.add("application query " + q + " (" + query.getOrder() + "): expected "
+                    + expected.size() + " rows but paged through " + actual.size()
+                    + (actual.size() == expected.size() ? " in another order" : ""));
+            }
+        }
+        System.out.printf("queries: 600 queries, %d pages, %d access paths%n", pages, plans.size());
+        report("queries", failures);
+    }
+
+    private static boolean studentMatches(PlacementSystem system, StudentQuery query, Student student,
+                                          boolean placed) {
+        if (query.getDepartments() != null && !query.getDepartments().contains(student.getDepartment())
+                || student.getCgpa() < query.getMinCgpa() || student.getCgpa() > query.getMaxCgpa()
+                || query.getGraduationYear() != 0 && student.getGraduationYear() != query.getGraduationYear()
+                || !student.getSkills().containsAll(query.getSkills())) {
+            return false;
+        }
+        if (query.getPlaced() != null && placed != query.getPlaced()) {
+            return false;
+        }
+        if (query.getCompanyId() == null && query.getApplicationStatus() == null) {
+            return true;
+        }
+        for (Application app : system.getStudentApplications(student.getId())) {
+            if ((query.getCompanyId() == null || app.getJob().getCompany().getId().equals(query.getCompanyId()))
+                    && (query.getApplicationStatus() == null || app.getStatus() == query.getApplicationStatus())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean applicationMatches(ApplicationQuery query, Application app) {
+        LocalDateTime at = app.getAppliedDate();
+        return (query.getJobId() == null || app.getJob().getJobId().equals(query.getJobId()))
+            && (query.getCompanyId() == null || app.getJob().getCompany().getId().equals(query.getCompanyId()))
+            && (query.getStudentId() == null || app.getStudent().getId().equals(query.getStudentId()))
+            && (query.getStatus() == null || app.getStatus() == query.getStatus())
+            && (query.getDepartment() == null || app.getStudent().getDepartment().equals(query.getDepartment()))
+            && (query.getFrom() == null || !at.isBefore(query.getFrom()))
+            && (query.getTo() == null || at.isBefore(query.getTo()));
+    }
+
+    // TextIndex against BM25 computed over every live document, through inserts, re-indexing and removals
+    // (documents whose text is null or all stop words). Documents are {key, text} pairs; a skewed
+    // vocabulary with stop words, C++ and C# gives long and short postings lists alike.
+    private static void runSearchCheck(int updates) {
+        Random random = new Random(25);
+        String[] vocabulary = new String[300];
+        for (int i = 0; i < vocabulary.length; i++) {
+            vocabulary[i] = "w" + i;
+        }
+        vocabulary[0] = "C++";
+        vocabulary[1] = "the";
+        vocabulary[2] = "Java";
+        vocabulary[3] = "c#";
+        TextIndex<String[]> index = new TextIndex<>(document -> document[0], document -> document[1]);
+        Map<String, String[]> live = new LinkedHashMap<>(); // in the order the index numbered their rows
+        List<String> failures = new ArrayList<>();
+        int queries = 0;
+        for (int step = 0; step < updates; step++) {
+            String key = "k" + random.nextInt(3_000);
+            String text = null;
+            if (random.nextInt(10) > 0) {
+                StringBuilder words = new StringBuilder();
+                for (int i = 0, n = 1 + random.nextInt(30); i < n; i++) {
+                    int word = (int) Math.min(vocabulary.length - 1, Math.abs(random.nextGaussian()) * 40);
+                    words.append(vocabulary[word]).append(random.nextBoolean() ? ", " : " ");
+                }
+                text = words.toString();
+            }
+            String[] document = {key, text};
+            index.put(document);
+            live.remove(key);
+            if (text != null) {
+                live.put(key, document);
+            }
+            if (step % 50 != 0) {
+                continue;
+            }
+            StringBuilder query = new StringBuilder();
+            for (int i = 0, n = 1 + random.nextInt(4); i < n; i++) {
+                query.append(vocabulary[random.nextInt(random.nextBoolean() ? 10 : vocabulary.length)]).append(' ');
+            }
+            int limit = 1 + random.nextInt(15);
+            Predicate<String[]> filter = random.nextBoolean() ? d -> d[0].hashCode() % 3 != 0 : null;
+            List<SearchHit<String[]>> actual = index.search(query.toString(), limit, filter);
+            List<SearchHit<String[]>> expected = exhaustiveSearch(live.values(), query.toString(), limit, filter);
+            queries++;
+            if (!sameHits(actual, expected)) {
+                failures.add("'" + query.toString().trim() + "' top " + limit + (filter != null ? " filtered" : "")
+                    + ": expected " + expected.size() + " hits but got " + actual.size()
+                    + (actual.size() == expected.size() ? " with other documents or scores" : ""));
+            }
+        }
+        // Re-indexed documents give their rows back once dead rows outnumber live ones
+        if (index.rowsInUse() > 2 * index.size() + 1024) {
+            failures.add(index.rowsInUse() + " rows in use for " + index.size() + " documents");
+        }
+        System.out.printf("search: %d updates, %d queries, %d documents indexed in %d rows%n", updates, queries,
+            index.size(), index.rowsInUse());
+        report("search", failures);
+    }
+
+    // Scores must match position by position. Documents must match too, except in order among scores
+    // within 1e-9 of each other: when two documents match different terms with the same IDF, their sums
+    // add the same values in another order and can differ in the last bit. A run of such near-ties that
+    // reaches the end of the page may also have been cut at a different document. Exactly equal scores
+    // from the index must still come in insertion order.
+    private static boolean sameHits(List<SearchHit<String[]>> actual, List<SearchHit<String[]>> expected) {
+        if (actual.size() != expected.size()) {
+            return false;
+        }
+        for (int i = 0; i < actual.size(); i++) {
+            if (Math.abs(actual.get(i).getScore() - expected.get(i).getScore()) >= 1e-9) {
+                return false;
+            }
+            if (i > 0 && actual.get(i).getScore() == actual.get(i - 1).getScore()
+                    && actual.get(i).row < actual.get(i - 1).row) {
+                return false;
+            }
+        }
+        for (int from = 0, to; from < expected.size(); from = to) {
+            to = from + 1;
+            while (to < expected.size() && expected.get(to - 1).getScore() - expected.get(to).getScore() < 1e-9) {
+                to++;
+            }
+            if (to == expected.size()) {
+                break;
+            }
+            Set<String[]> want = Collections.newSetFromMap(new IdentityHashMap<>());
+            Set<String[]> got = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (int i = from; i < to; i++) {
+                want.add(expected.get(i).getItem());
+                got.add(actual.get(i).getItem());
+            }
+            if (!want.equals(got)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // BM25 with k1 = 1.2 and b = 0.75 over every document, best first, ties in insertion order
+    private static List<SearchHit<String[]>> exhaustiveSearch(Collection<String[]> documents, String query, int limit,
+                                                              Predicate<String[]> filter) {
+        Map<String[], Map<String, Integer>> frequencies = new LinkedHashMap<>();
+        Map<String[], Integer> lengths = new HashMap<>();
+        Map<String, Integer> documentFrequency = new HashMap<>();
+        long totalLength = 0;
+        for (String[] document : documents) {
+            Map<String, Integer> counts = new HashMap<>();
+            int length = TextIndex.tokenize(document[1], term -> counts.merge(term, 1, Integer::sum));
+            if (length == 0) {
+                continue;
+            }
+            frequencies.put(document, counts);
+            lengths.put(document, length);
+            totalLength += length;
+            for (String term : counts.keySet()) {
+                documentFrequency.merge(term, 1, Integer::sum);
+            }
+        }
+        int n = frequencies.size();
+        List<SearchHit<String[]>> hits = new ArrayList<>();
+        if (n == 0) {
+            return hits;
+        }
+        double averageLength = Math.max(1.0, (double) totalLength / n);
+        Set<String> terms = new LinkedHashSet<>();
+        TextIndex.tokenize(query, terms::add);
+        int row = 0;
+        for (Map.Entry<String[], Map<String, Integer>> entry : frequencies.entrySet()) {
+            row++;
+            double score = 0;
+            boolean matched = false;
+            for (String term : terms) {
+                Integer f = entry.getValue().get(term);
+                if (f == null) {
+                    continue;
+                }
+                matched = true;
+                int df = documentFrequency.get(term);
+                double idf = Math.log(1 + (n - df + 0.5) / (df + 0.5));
+                score += idf * f * 2.2 / (f + 1.2 * (1 - 0.75 + 0.75 * lengths.get(entry.getKey()) / averageLength));
+            }
+            if (matched && (filter == null || filter.test(entry.getKey()))) {
+                hits.add(new SearchHit<>(entry.getKey(), score, row));
+            }
+        }
+        hits.sort(Comparator.comparingDouble((SearchHit<String[]> hit) -> -hit.getScore())
+            .thenComparingInt(hit -> hit.row));
+        return hits.subList(0, Math.min(limit, hits.size()));
+    }
+
+    // Eligibility index against JobPosting.isEligible over every pair, through CGPA changes and
+    // re-registrations under an existing id; edits to a replaced Student object must reach no index
+    private static void runEligibilityCheck(int size) {
+        PlacementSystem system = new PlacementSystem();
+        new CampusDataGenerator(5, size).generate(system);
+        Student[] students = system.getStudentsView().toArray(new Student[0]);
+        Arrays.sort(students, Comparator.comparing(Student::getId));
+        Random random = new Random(5);
+        List<Student> replaced = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            Student student = system.getStudentById(students[random.nextInt(students.length)].getId());
+            double cgpa = 5 + random.nextInt(51) / 10.0;
+            if (random.nextInt(4) == 0) {
+                system.addStudent(new Student(student.getId(), student.getName(), student.getEmail(),
+                    student.getDepartment(), cgpa, student.getGraduationYear()));
+                replaced.add(student);
+            } else {
+                student.setCgpa(cgpa);
+            }
+            if (!replaced.isEmpty()) {
+                Student stale = replaced.get(random.nextInt(replaced.size()));
+                stale.setCgpa(5 + random.nextInt(51) / 10.0);
+                stale.setResume("stale " + stale.getId());
+            }
+        }
+
+        List<String> failures = new ArrayList<>();
+        for (JobPosting job : system.getJobsView()) {
+            Set<Student> expected = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (Student student : system.getStudentsView()) {
+                if (job.isEligible(student)) {
+                    expected.add(student);
+                }
+            }
+            checkSame(failures, "eligible students of " + job.getJobId(), system.getEligibleStudents(job), expected);
+        }
+        for (int i = 0; i < 200; i++) {
+            Student student = students[random.nextInt(students.length)];
+            Student current = system.getStudentById(student.getId());
+            Set<JobPosting> expected = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (JobPosting job : system.getJobsView()) {
+                if (job.isEligible(current)) {
+                    expected.add(job);
+                }
+            }
+            checkSame(failures, "eligible jobs of " + current.getId(), system.getEligibleJobs(current), expected);
+        }
+        System.out.printf("eligibility: %d students, %d jobs, %d re-registrations%n",
+            system.getStudentsView().size(), system.getJobsView().size(), replaced.size());
+        report("eligibility", failures);
+    }
+
+    // Time-range lookups against a filter over every application and interview, with either bound open
+    private static void runTimelineCheck(int size) {
+        PlacementSystem system = new PlacementSystem();
+        new CampusDataGenerator(21, size).generate(system);
+        List<Application> applications = new ArrayList<>(system.getApplicationsView());
+        List<Interview> interviews = new ArrayList<>(system.getInterviewsView());
+        Student[] students = system.getStudentsView().toArray(new Student[0]);
+        Company[] companies = system.getCompaniesView().toArray(new Company[0]);
+        Random random = new Random(21);
+        List<String> failures = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            LocalDateTime from = randomBound(random, applications, Application::getAppliedDate);
+            LocalDateTime to = randomBound(random, applications, Application::getAppliedDate);
+            String student = students[random.nextInt(students.length)].getId();
+            String company = companies[random.nextInt(companies.length)].getId();
+            String range = " in [" + from + ", " + to + ")";
+            checkTimeline(failures, "applications" + range, system.getApplicationsBetween(from, to),
+                inRange(applications, Application::getAppliedDate, from, to, app -> true), Application::getAppliedDate);
+            checkTimeline(failures, "applications of " + student + range,
+                system.getStudentApplicationsBetween(student, from, to),
+                inRange(applications, Application::getAppliedDate, from, to,
+                    app -> app.getStudent().getId().equals(student)), Application::getAppliedDate);
+            checkTimeline(failures, "applications to " + company + range,
+                system.getCompanyApplicationsBetween(company, from, to),
+                inRange(applications, Application::getAppliedDate, from, to,
+                    app -> app.getJob().getCompany().getId().equals(company)), Application::getAppliedDate);
+
+            from = randomBound(random, interviews, Interview::getStart);
+            to = randomBound(random, interviews, Interview::getStart);
+            range = " in [" + from + ", " + to + ")";
+            checkTimeline(failures, "interviews" + range, system.getInterviewsBetween(from, to),
+                inRange(interviews, Interview::getStart, from, to, interview -> true), Interview::getStart);
+            checkTimeline(failures, "interviews of " + student + range,
+                system.getStudentInterviewsBetween(student, from, to),
+                inRange(interviews, Interview::getStart, from, to,
+                    interview -> interview.getApplication().getStudent().getId().equals(student)), Interview::getStart);
+            checkTimeline(failures, "interviews at " + company + range,
+                system.getCompanyInterviewsBetween(company, from, to),
+                inRange(interviews, Interview::getStart, from, to,
+                    interview -> interview.getApplication().getJob().getCompany().getId().equals(company)),
+                Interview::getStart);
+        }
+        System.out.printf("timeline: %d applications, %d interviews%n", applications.size(), interviews.size());
+        report("timeline", failures);
+    }
+
+    // Open a quarter of the time, otherwise an existing time nudged by up to a minute either way
+    private static <T> LocalDateTime randomBound(Random random, List<T> items, Function<T, LocalDateTime> time) {
+        LocalDateTime at = items.isEmpty() ? null : time.apply(items.get(random.nextInt(items.size())));
+        if (at == null || random.nextInt(4) == 0) {
+            return null;
+        }
+        return at.plusSeconds(random.nextInt(121) - 60);
+    }
+
+    // Both bounds open means everything, including items without a time
+    private static <T> Set<T> inRange(List<T> items, Function<T, LocalDateTime> time, LocalDateTime from,
+                                      LocalDateTime to, Predicate<T> filter) {
+        Set<T> expected = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (T item : items) {
+            LocalDateTime at = time.apply(item);
+            boolean inside = from == null && to == null
+                || at != null && (from == null || !at.isBefore(from)) && (to == null || at.isBefore(to));
+            if (inside && filter.test(item)) {
+                expected.add(item);
+            }
+        }
+        return expected;
+    }
+
+    private static <T> void checkTimeline(List<String> failures, String what, List<T> actual, Set<T> expected,
+                                          Function<T, LocalDateTime> time) {
+        checkSame(failures, what, actual, expected);
+        for (int i = 1; i < actual.size(); i++) {
+            LocalDateTime previous = time.apply(actual.get(i - 1));
+            LocalDateTime at = time.apply(actual.get(i));
+            if (previous != null && (at == null || at.isBefore(previous))) {
+                failures.add(what + ": out of time order at " + i);
+                break;
+            }
+        }
+    }
+
+    private static Map<String, Double> readBaseline(Path file) throws IOException {
+        Map<String, Double> baseline = new HashMap<>();
+        for (String line : Files.readAllLines(file)) {
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] fields = line.split("\t");
+            baseline.put(fields[0], Double.parseDouble(fields[1]));
+        }
+        return baseline;
+    }
+
+    // Generated campus; jobs scale with the student count
+    private static class SuiteCampus {
+        private PlacementSystem system = new PlacementSystem();
+        private Student[] students;
+        private JobPosting[] jobs;
+
+        SuiteCampus(int size) {
+            new CampusDataGenerator(42, size).generate(system);
+            students = system.getStudentsView().toArray(new Student[0]);
+            jobs = system.getJobsView().toArray(new JobPosting[0]);
+            Arrays.sort(students, Comparator.comparing(Student::getId));
+            Arrays.sort(jobs, Comparator.comparing(JobPosting::getJobId));
+        }
+
+        Student student(long invocation) {
+            return students[(int) ((invocation * 0x9E3779B97F4A7C15L >>> 1) % students.length)];
+        }
+
+        JobPosting job(long invocation) {
+            return jobs[(int) (invocation % jobs.length)];
+        }
+
+        // Walks distinct (student, job) pairs, so calls are a realistic mix of new applications,
+        // ineligible pairs and repeats of the generated ones
+        boolean applyNext(long cursor) {
+            Student student = students[(int) (cursor % students.length)];
+            JobPosting job = jobs[(int) ((cursor * 31 + cursor / students.length) % jobs.length)];
+            return system.applyForJob(student, job);
+        }
+    }
+
+    private static void checkRecovered(List<String> failures, PlacementSystem copy,
+                                       int students, int applications, int jobCount) {
+        check(failures, "students", copy.getStudentsView().size(), students);
+        check(failures, "applications", copy.getApplicationsView().size(), applications);
+        check(failures, "placed", (Long) copy.getPlacementStatistics().get("placedStudents"), 1);
+        check(failures, "student applications", copy.getStudentApplications("S0000001").size(), jobCount);
+    }
+
+    private static void checkStatuses(List<String> failures, PlacementSystem copy, Map<String, ApplicationStatus> raced) {
+        for (Map.Entry<String, ApplicationStatus> entry : raced.entrySet()) {
+            Application app = copy.getApplicationById(entry.getKey());
+            if (app == null || app.getStatus() != entry.getValue()) {
+                failures.add("status of " + entry.getKey() + ": expected " + entry.getValue() + " but was "
+                    + (app == null ? "missing" : app.getStatus()));
+            }
+        }
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        try (java.util.stream.Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    private static void check(List<String> failures, String what, long actual, long expected) {
+        if (actual != expected) {
+            failures.add(what + ": expected " + expected + " but was " + actual);
+        }
+    }
+
+    // Same objects, each once, in any order
+    private static <T> void checkSame(List<String> failures, String what, Collection<T> actual, Set<T> expected) {
+        Set<T> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        seen.addAll(actual);
+        if (seen.size() != actual.size() || !seen.equals(expected)) {
+            failures.add(what + ": expected " + expected.size() + " but got " + actual.size()
+                + (seen.size() != actual.size() ? " with duplicates" : " different"));
+        }
+    }
+
+    private static void report(String mode, List<String> failures) {
+        if (!failures.isEmpty()) {
+            failures.stream().limit(20).forEach(failure -> System.out.println("FAILED: " + failure));
+            System.out.println(mode + ": " + failures.size() + " failures");
+            System.exit(1);
+        }
+        System.out.println(mode + ": OK");
+    }
+}
@@ -0,0 +1,764 @@
+// PlacementHttpServer.java
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+// JSON API over the JDK's built-in HTTP server. Requests run on a bounded pool of platform threads;
+// when it and its queue are full the server's dispatcher runs the request itself, which holds back
+// new connections until a worker frees up.
+//
+//   GET  /api/statistics                         GET  /api/metrics
+//   GET  /api/students[?offset=&limit=]          POST /api/students
+//   GET  /api/students/{id}[/applications|/interviews|/offers|/eligible-jobs|/recommendations?k=]
+//   GET  /api/companies[/{id}[/jobs|/interviews]]  POST /api/companies
+//   GET  /api/jobs[?offset=&limit=]              POST /api/jobs
+//   GET  /api/jobs/{id}[/applications|/qualified-students?graduationYear=&offset=&limit=]
+//   GET  /api/applications?from=&to=[&companyId=|&studentId=][&offset=&limit=]
+//   GET  /api/applications/{id}                  POST /api/applications {studentId, jobId|jobIds}
+//   POST /api/applications/{id}/status {status}
+//   GET  /api/interviews/{id}                    POST /api/interviews {applicationId, date, time, location, type,
+//                                                                     durationMinutes?}  409 on a conflict
+//   POST /api/interviews/{id}/cancel             POST /api/interviews/{id}/complete
+//   GET  /api/interviews?from=&to=[&companyId=|&studentId=][&offset=&limit=]
+//   GET  /api/interviews/upcoming[?from=&limit=&companyId=|&studentId=]   still-scheduled, earliest first
+//   GET  /api/offers/{id}                        POST /api/offers {applicationId, packageLPA, joiningDate, details}
+//   POST /api/offers/{id}/accept                 POST /api/offers/{id}/reject
+//   GET  /api/search/students?department=&minCgpa=&maxCgpa=&graduationYear=&skills=&placed=&companyId=&status=
+//                             &order=ID|NAME|CGPA|GRADUATION_YEAR&limit=&cursor=
+//   GET  /api/search/applications?companyId=&jobId=&studentId=&status=&department=&from=&to=
+//                                 &order=ID|NEWEST|OLDEST&limit=&cursor=       pass back nextCursor for the next page
+//   GET  /api/search/jobs?q=&limit=              GET  /api/search/resumes?q=&limit=   full text, best first
+// Status changes the state machines do not allow are answered with 409.
+class PlacementHttpServer {
+    private static final int DEFAULT_LIMIT = 100;
+    private static final int MAX_LIMIT = 1000;
+
+    private PlacementSystem system;
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public PlacementHttpServer(PlacementSystem system, int port) throws IOException {
+        this.system = system;
+        this.server = HttpServer.create(new InetSocketAddress(port), 1024);
+        this.executor = newRequestExecutor();
+        server.setExecutor(executor);
+        server.createContext("/api/", this::handle);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    // More threads than cores, as a request can wait on the journal's fsync
+    static final int REQUEST_THREADS = Math.max(8, 4 * Runtime.getRuntime().availableProcessors());
+    static final int REQUEST_QUEUE = 1024;
+
+    static ExecutorService newRequestExecutor() {
+        AtomicInteger threads = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(REQUEST_THREADS, REQUEST_THREADS, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(REQUEST_QUEUE), task -> {
+                Thread thread = new Thread(task, "placement-http-" + threads.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.CallerRunsPolicy());
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    // Routing
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String[] path = exchange.getRequestURI().getPath().substring("/api/".length()).split("/");
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+            String method = exchange.getRequestMethod();
+            Object body;
+            switch (path[0]) {
+                case "statistics":
+                    body = statistics();
+                    break;
+                case "metrics":
+                    body = metrics();
+                    break;
+                case "students":
+                    body = students(method, path, query, exchange);
+                    break;
+                case "companies":
+                    body = companies(method, path, exchange);
+                    break;
+                case "jobs":
+                    body = jobs(method, path, query, exchange);
+                    break;
+                case "applications":
+                    body = applications(method, path, query, exchange);
+                    break;
+                case "interviews":
+                    body = interviews(method, path, query, exchange);
+                    break;
+                case "offers":
+                    body = offers(method, path, exchange);
+                    break;
+                case "search":
+                    requireGet(method);
+                    body = search(path, query);
+                    break;
+                default:
+                    throw new ApiException(404, "Unknown resource " + path[0]);
+            }
+            send(exchange, method.equals("POST") && path.length == 1 ? 201 : 200, body);
+        } catch (ApiException e) {
+            send(exchange, e.status, error(e.getMessage()));
+        } catch (DateTimeParseException e) {
+            // Times inside cursors and query fields that are not read through time()
+            send(exchange, 400, error("Bad time " + e.getParsedString()));
+        } catch (IllegalArgumentException e) {
+            send(exchange, 400, error(e.getMessage()));
+        } catch (RuntimeException e) {
+            send(exchange, 500, error("Internal error: " + e));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private Object statistics() {
+        Map<String, Object> stats = new TreeMap<>(system.getPlacementStatistics());
+        stats.put("departmentWise", new TreeMap<>(system.getDepartmentWisePlacement()));
+        stats.put("companyWise", new TreeMap<>(system.getCompanyWiseHiring()));
+        return stats;
+    }
+
+    private Object metrics() {
+        PlacementMetrics metrics = system.getMetrics();
+        Map<String, Object> operations = new LinkedHashMap<>();
+        for (String name : metrics.getOperationNames()) {
+            Map<String, Object> json = new LinkedHashMap<>();
+            json.put("calls", metrics.getCalls(name));
+            json.put("errors", metrics.getErrors(name));
+            json.put("meanMicros", metrics.getMeanMicros(name));
+            json.put("p50Micros", metrics.getPercentileMicros(name, 0.50));
+            json.put("p99Micros", metrics.getPercentileMicros(name, 0.99));
+            json.put("p999Micros", metrics.getPercentileMicros(name, 0.999));
+            json.put("meanResultSize", metrics.getMeanResultSize(name));
+            operations.put(name, json);
+        }
+        return operations;
+    }
+
+    private Object students(String method, String[] path, Map<String, String> query, HttpExchange exchange)
+            throws IOException {
+        if (path.length == 1) {
+            if (method.equals("POST")) {
+                Map<String, Object> in = readBody(exchange);
+                Student student = new Student(text(in, "id"), text(in, "name"), text(in, "email"),
+                    text(in, "department"), number(in, "cgpa"), (int) number(in, "graduationYear"));
+                for (String skill : strings(in, "skills")) {
+                    student.addSkill(skill);
+                }
+                if (!system.addStudentIfAbsent(student)) {
+                    throw new ApiException(409, "Student " + student.getId() + " already exists");
+                }
+                return toJson(student);
+            }
+            requireGet(method);
+            return page(system.getStudentsView(), query, PlacementHttpServer::toJson);
+        }
+        requireGet(method);
+        Student student = system.getStudentById(path[1]);
+        if (student == null) {
+            throw new ApiException(404, "Unknown student " + path[1]);
+        }
+        if (path.length == 2) {
+            return toJson(student);
+        }
+        switch (path[2]) {
+            case "applications":
+                return map(system.getStudentApplications(student.getId()), PlacementHttpServer::toJson);
+            case "interviews":
+                return map(system.getStudentInterviews(student.getId()), PlacementHttpServer::toJson);
+            case "offers":
+                return map(system.getStudentOffers(student.getId()), PlacementHttpServer::toJson);
+            case "eligible-jobs":
+                return map(system.getEligibleJobs(student), PlacementHttpServer::toJson);
+            case "recommendations": {
+                int k = Integer.parseInt(query.getOrDefault("k", "10"));
+                List<Object> out = new ArrayList<>();
+                for (JobRecommendation rec : system.recommendJobs(student, k)) {
+                    Map<String, Object> json = toJson(rec.getJob());
+                    json.put("matchPercentage", rec.getMatchPercentage());
+                    json.put("cgpaMargin", rec.getCgpaMargin());
+                    out.add(json);
+                }
+                return out;
+            }
+            default:
+                throw new ApiException(404, "Unknown student resource " + path[2]);
+        }
+    }
+
+    private Object companies(String method, String[] path, HttpExchange exchange) throws IOException {
+        if (path.length == 1) {
+            if (method.equals("POST")) {
+                Map<String, Object> in = readBody(exchange);
+                Company company = new Company(text(in, "id"), text(in, "name"), text(in, "email"),
+                    text(in, "industry"));
+                if (!system.addCompanyIfAbsent(company)) {
+                    throw new ApiException(409, "Company " + company.getId() + " already exists");
+                }
+                return toJson(company);
+            }
+            requireGet(method);
+            return map(system.getCompaniesView(), PlacementHttpServer::toJson);
+        }
+        requireGet(method);
+        Company company = system.getCompanyById(path[1]);
+        if (company == null) {
+            throw new ApiException(404, "Unknown company " + path[1]);
+        }
+        if (path.length == 2) {
+            return toJson(company);
+        }
+        switch (path[2]) {
+            case "jobs":
+                return map(system.getCompanyJobs(company.getId()), PlacementHttpServer::toJson);
+            case "interviews":
+                return map(system.getCompanyInterviews(company.getId()), PlacementHttpServer::toJson);
+            default:
+                throw new ApiException(404, "Unknown company resource " + path[2]);
+        }
+    }
+
+    private Object jobs(String method, String[] path, Map<String, String> query, HttpExchange exchange)
+            throws IOException {
+        if (path.length == 1) {
+            if (method.equals("POST")) {
+                Map<String, Object> in = readBody(exchange);
+                Company company = system.getCompanyById(text(in, "companyId"));
+                if (company == null) {
+                    throw new ApiException(404, "Unknown company " + in.get("companyId"));
+                }
+                JobPosting job = new JobPosting(text(in, "jobId"), text(in, "title"),
+                    String.valueOf(in.getOrDefault("description", "")), company, number(in, "packageLPA"),
+                    text(in, "location"), number(in, "minCgpa"), new HashSet<>(strings(in, "eligibleDepartments")),
+                    new HashSet<>(strings(in, "requiredSkills")));
+                if (!system.addJobPostingIfAbsent(job)) {
+                    throw new ApiException(409, "Job " + job.getJobId() + " already exists");
+                }
+                return toJson(job);
+            }
+            requireGet(method);
+            return page(system.getJobsView(), query, PlacementHttpServer::toJson);
+        }
+        requireGet(method);
+        JobPosting job = system.getJobById(path[1]);
+        if (job == null) {
+            throw new ApiException(404, "Unknown job " + path[1]);
+        }
+        if (path.length == 2) {
+            return toJson(job);
+        }
+        if (path[2].equals("applications")) {
+            return map(system.getJobApplications(job.getJobId()), PlacementHttpServer::toJson);
+        }
+        if (path[2].equals("qualified-students")) {
+            int year = Integer.parseInt(query.getOrDefault("graduationYear", "0"));
+            return page(system.getQualifiedStudents(job, year), query, PlacementHttpServer::toJson);
+        }
+        throw new ApiException(404, "Unknown job resource " + path[2]);
+    }
+
+    private Object applications(String method, String[] path, Map<String, String> query, HttpExchange exchange)
+            throws IOException {
+        if (path.length == 1 && method.equals("GET")) {
+            LocalDateTime from = time(query, "from");
+            LocalDateTime to = time(query, "to");
+            List<Application> received = query.containsKey("companyId")
+                ? system.getCompanyApplicationsBetween(query.get("companyId"), from, to)
+                : query.containsKey("studentId") ? system.getStudentApplicationsBetween(query.get("studentId"), from, to)
+                : system.getApplicationsBetween(from, to);
+            return page(received, query, PlacementHttpServer::toJson);
+        }
+        if (path.length == 1) {
+            requirePost(method);
+            Map<String, Object> in = readBody(exchange);
+            Student student = system.getStudentById(text(in, "studentId"));
+            if (student == null) {
+                throw new ApiException(404, "Unknown student " + in.get("studentId"));
+            }
+            List<String> jobIds = in.containsKey("jobIds") ? strings(in, "jobIds")
+                : Collections.singletonList(text(in, "jobId"));
+            List<JobPosting> jobs = new ArrayList<>(jobIds.size());
+            for (String jobId : jobIds) {
+                JobPosting job = system.getJobById(jobId);
+                if (job == null) {
+                    throw new ApiException(404, "Unknown job " + jobId);
+                }
+                jobs.add(job);
+            }
+            Map<String, Object> outcomes = new LinkedHashMap<>();
+            for (Map.Entry<String, ApplyOutcome> entry : system.applyForJobs(student, jobs).entrySet()) {
+                outcomes.put(entry.getKey(), entry.getValue().name());
+            }
+            return outcomes;
+        }
+        Application app = system.getApplicationById(path[1]);
+        if (app == null) {
+            throw new ApiException(404, "Unknown application " + path[1]);
+        }
+        if (path.length == 2) {
+            requireGet(method);
+            return toJson(app);
+        }
+        if (path[2].equals("status")) {
+            requirePost(method);
+            String name = text(readBody(exchange), "status");
+            ApplicationStatus status = ApplicationStatus.parse(name);
+            if (status == null) {
+                throw new ApiException(400, "Unknown application status " + name);
+            }
+            if (!system.updateApplicationStatus(app.getApplicationId(), status)) {
+                throw new ApiException(409, "Cannot move application from " + app.getStatus() + " to " + status);
+            }
+            return toJson(app);
+        }
+        throw new ApiException(404, "Unknown application resource " + path[2]);
+    }
+
+    private Object interviews(String method, String[] path, Map<String, String> query, HttpExchange exchange)
+            throws IOException {
+        if (path.length == 1 && method.equals("GET")) {
+            LocalDateTime from = time(query, "from");
+            LocalDateTime to = time(query, "to");
+            List<Interview> found = query.containsKey("companyId")
+                ? system.getCompanyInterviewsBetween(query.get("companyId"), from, to)
+                : query.containsKey("studentId") ? system.getStudentInterviewsBetween(query.get("studentId"), from, to)
+                : system.getInterviewsBetween(from, to);
+            return page(found, query, PlacementHttpServer::toJson);
+        }
+        if (path.length == 2 && path[1].equals("upcoming")) {
+            requireGet(method);
+            LocalDateTime from = query.containsKey("from") ? time(query, "from") : LocalDateTime.now();
+            int limit = Math.min(MAX_LIMIT, Math.max(1, Integer.parseInt(query.getOrDefault("limit", "20"))));
+            List<Interview> next = query.containsKey("companyId")
+                ? system.getUpcomingCompanyInterviews(query.get("companyId"), from, limit)
+                : query.containsKey("studentId") ? system.getUpcomingStudentInterviews(query.get("studentId"), from, limit)
+                : system.getUpcomingInterviews(from, limit);
+            return map(next, PlacementHttpServer::toJson);
+        }
+        if (path.length == 1) {
+            requirePost(method);
+            Map<String, Object> in = readBody(exchange);
+            int duration = in.containsKey("durationMinutes") ? (int) number(in, "durationMinutes")
+                : Interview.DEFAULT_DURATION_MINUTES;
+            ScheduleResult result = system.scheduleInterview(text(in, "applicationId"), text(in, "date"),
+                text(in, "time"), text(in, "location"), text(in, "type"), duration);
+            switch (result.getStatus()) {
+                case SCHEDULED:
+                    return toJson(result.getInterview());
+                case UNKNOWN_APPLICATION:
+                    throw new ApiException(404, result.getReason());
+                case INVALID_TIME:
+                    throw new ApiException(400, result.getReason());
+                case APPLICATION_CLOSED:
+                    throw new ApiException(409, result.getReason());
+                default:
+                    throw new ApiException(409, result.getStatus() + ": " + result.getReason());
+            }
+        }
+        Interview interview = system.getInterviewById(path[1]);
+        if (interview == null) {
+            throw new ApiException(404, "Unknown interview " + path[1]);
+        }
+        if (path.length == 2) {
+            requireGet(method);
+            return toJson(interview);
+        }
+        requirePost(method);
+        InterviewStatus status;
+        switch (path[2]) {
+            case "cancel":
+                status = InterviewStatus.CANCELLED;
+                break;
+            case "complete":
+                status = InterviewStatus.COMPLETED;
+                break;
+            default:
+                throw new ApiException(404, "Unknown interview action " + path[2]);
+        }
+        if (!system.updateInterviewStatus(interview.getInterviewId(), status)) {
+            throw new ApiException(409, "Cannot move interview from " + interview.getStatus() + " to " + status);
+        }
+        return toJson(interview);
+    }
+
+    private Object offers(String method, String[] path, HttpExchange exchange) throws IOException {
+        if (path.length == 1) {
+            requirePost(method);
+            Map<String, Object> in = readBody(exchange);
+            JobOffer offer = system.createJobOffer(text(in, "applicationId"), number(in, "packageLPA"),
+                text(in, "joiningDate"), String.valueOf(in.getOrDefault("details", "")));
+            if (offer == null) {
+                Application app = system.getApplicationById(text(in, "applicationId"));
+                throw app == null ? new ApiException(404, "Unknown application " + in.get("applicationId"))
+                    : new ApiException(409, "Application " + app.getApplicationId() + " is " + app.getStatus());
+            }
+            return toJson(offer);
+        }
+        JobOffer offer = system.getOfferById(path[1]);
+        if (offer == null) {
+            throw new ApiException(404, "Unknown offer " + path[1]);
+        }
+        if (path.length == 2) {
+            requireGet(method);
+            return toJson(offer);
+        }
+        requirePost(method);
+        OfferStatus before = offer.getStatus();
+        boolean moved;
+        switch (path[2]) {
+            case "accept":
+                moved = offer.accept();
+                break;
+            case "reject":
+                moved = offer.reject();
+                break;
+            default:
+                throw new ApiException(404, "Unknown offer action " + path[2]);
+        }
+        if (!moved) {
+            throw new ApiException(409, "Cannot " + path[2] + " an offer that is " + before);
+        }
+        return toJson(offer);
+    }
+
+    // JSON Views
+    static Map<String, Object> toJson(Student student) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("id", student.getId());
+        json.put("name", student.getName());
+        json.put("email", student.getEmail());
+        json.put("department", student.getDepartment());
+        json.put("cgpa", student.getCgpa());
+        json.put("graduationYear", student.getGraduationYear());
+        json.put("skills", student.getSkills());
+        json.put("resume", student.getResume());
+        return json;
+    }
+
+    static Map<String, Object> toJson(Company company) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("id", company.getId());
+        json.put("name", company.getName());
+        json.put("email", company.getEmail());
+        json.put("industry", company.getIndustry());
+        return json;
+    }
+
+    static Map<String, Object> toJson(JobPosting job) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("jobId", job.getJobId());
+        json.put("title", job.getTitle());
+        json.put("description", job.getDescription());
+        json.put("companyId", job.getCompany().getId());
+        json.put("company", job.getCompany().getName());
+        json.put("packageLPA", job.getPackageLPA());
+        json.put("location", job.getLocation());
+        json.put("minCgpa", job.getMinCgpa());
+        json.put("eligibleDepartments", job.getEligibleDepartments());
+        json.put("requiredSkills", job.getRequiredSkills());
+        json.put("postDate", job.getPostDate());
+        return json;
+    }
+
+    static Map<String, Object> toJson(Application app) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("applicationId", app.getApplicationId());
+        json.put("studentId", app.getStudent().getId());
+        json.put("jobId", app.getJob().getJobId());
+        json.put("status", app.getStatus());
+        json.put("appliedDate", app.getAppliedDate().toString());
+        return json;
+    }
+
+    static Map<String, Object> toJson(Interview interview) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("interviewId", interview.getInterviewId());
+        json.put("applicationId", interview.getApplication().getApplicationId());
+        json.put("date", interview.getDate());
+        json.put("time", interview.getTime());
+        json.put("durationMinutes", interview.getDurationMinutes());
+        json.put("location", interview.getLocation());
+        json.put("type", interview.getType());
+        json.put("status", interview.getStatus());
+        return json;
+    }
+
+    static Map<String, Object> toJson(JobOffer offer) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("offerId", offer.getOfferId());
+        json.put("applicationId", offer.getApplication().getApplicationId());
+        json.put("packageLPA", offer.getPackage());
+        json.put("joiningDate", offer.getJoiningDate());
+        json.put("details", offer.getDetails());
+        json.put("status", offer.getStatus());
+        return json;
+    }
+
+    // Helpers
+    private static <T> List<Object> map(Collection<T> items, Function<T, Object> view) {
+        List<Object> out = new ArrayList<>(items.size());
+        for (T item : items) {
+            out.add(view.apply(item));
+        }
+        return out;
+    }
+
+    // Large collections are paged so a listing never serializes the whole campus
+    private static <T> Map<String, Object> page(Collection<T> items, Map<String, String> query,
+                                                Function<T, Object> view) {
+        int offset = Math.max(0, Integer.parseInt(query.getOrDefault("offset", "0")));
+        int limit = Math.min(MAX_LIMIT, Math.max(1, Integer.parseInt(query.getOrDefault("limit",
+            String.valueOf(DEFAULT_LIMIT)))));
+        List<Object> out = new ArrayList<>(Math.min(limit, items.size()));
+        int index = 0;
+        for (T item : items) {
+            if (index++ < offset) {
+                continue;
+            }
+            if (out.size() == limit) {
+                break;
+            }
+            out.add(view.apply(item));
+        }
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("total", items.size());
+        json.put("offset", offset);
+        json.put("items", out);
+        return json;
+    }
+
+    private static Map<String, Object> readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            return Json.parseObject(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    private static String text(Map<String, Object> in, String field) {
+        Object value = in.get(field);
+        if (value == null || value.toString().trim().isEmpty()) {
+            throw new IllegalArgumentException(field + " is required");
+        }
+        return value.toString();
+    }
+
+    private static double number(Map<String, Object> in, String field) {
+        Object value = in.get(field);
+        if (value instanceof Double) {
+            return (Double) value;
+        }
+        try {
+            return Double.parseDouble(text(in, field));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(field + " must be a number");
+        }
+    }
+
+    private static List<String> strings(Map<String, Object> in, String field) {
+        Object value = in.get(field);
+        List<String> out = new ArrayList<>();
+        if (value instanceof List) {
+            for (Object element : (List<?>) value) {
+                out.add(String.valueOf(element));
+            }
+        } else if (value != null) {
+            out.add(value.toString());
+        }
+        return out;
+    }
+
+    private Object search(String[] path, Map<String, String> query) {
+        if (path.length != 2) {
+            throw new ApiException(404, "Unknown search");
+        }
+        String limit = query.getOrDefault("limit", String.valueOf(QueryPage.DEFAULT_LIMIT));
+        switch (path[1]) {
+            case "students": {
+                StudentQuery search = new StudentQuery();
+                if (query.containsKey("department")) {
+                    search.setDepartments(Arrays.asList(query.get("department").split(",")));
+                }
+                search.setCgpaRange(Double.parseDouble(query.getOrDefault("minCgpa", "-Infinity")),
+                    Double.parseDouble(query.getOrDefault("maxCgpa", "Infinity")));
+                search.setGraduationYear(Integer.parseInt(query.getOrDefault("graduationYear", "0")));
+                if (query.containsKey("skills")) {
+                    for (String skill : query.get("skills").split(",")) {
+                        search.requireSkill(skill);
+                    }
+                }
+                if (query.containsKey("placed")) {
+                    search.setPlaced(Boolean.parseBoolean(query.get("placed")));
+                }
+                search.setCompanyId(query.get("companyId"));
+                search.setApplicationStatus(status(query));
+                search.setOrder(StudentQuery.Order.valueOf(query.getOrDefault("order", "ID")));
+                search.setLimit(Integer.parseInt(limit));
+                search.setCursor(query.get("cursor"));
+                return toJson(system.findStudents(search), PlacementHttpServer::toJson);
+            }
+            case "applications": {
+                ApplicationQuery search = new ApplicationQuery();
+                search.setCompanyId(query.get("companyId"));
+                search.setJobId(query.get("jobId"));
+                search.setStudentId(query.get("studentId"));
+                search.setStatus(status(query));
+                search.setDepartment(query.get("department"));
+                search.setAppliedBetween(query.containsKey("from") ? time(query, "from") : null,
+                    query.containsKey("to") ? time(query, "to") : null);
+                search.setOrder(ApplicationQuery.Order.valueOf(query.getOrDefault("order", "ID")));
+                search.setLimit(Integer.parseInt(limit));
+                search.setCursor(query.get("cursor"));
+                return toJson(system.findApplications(search), PlacementHttpServer::toJson);
+            }
+            case "jobs": {
+                List<Object> out = new ArrayList<>();
+                for (SearchHit<JobPosting> hit : system.searchJobs(searchText(query), Integer.parseInt(limit))) {
+                    Map<String, Object> json = toJson(hit.getItem());
+                    json.put("score", hit.getScore());
+                    out.add(json);
+                }
+                return out;
+            }
+            case "resumes": {
+                List<Object> out = new ArrayList<>();
+                for (SearchHit<Student> hit : system.searchResumes(searchText(query), Integer.parseInt(limit))) {
+                    Map<String, Object> json = toJson(hit.getItem());
+                    json.put("score", hit.getScore());
+                    out.add(json);
+                }
+                return out;
+            }
+            default:
+                throw new ApiException(404, "Unknown search " + path[1]);
+        }
+    }
+
+    private static String searchText(Map<String, String> query) {
+        String text = query.get("q");
+        if (text == null || text.trim().isEmpty()) {
+            throw new ApiException(400, "Missing query parameter q");
+        }
+        return text;
+    }
+
+    private static ApplicationStatus status(Map<String, String> query) {
+        String name = query.get("status");
+        if (name == null) {
+            return null;
+        }
+        ApplicationStatus status = ApplicationStatus.parse(name);
+        if (status == null) {
+            throw new ApiException(400, "Unknown application status " + name);
+        }
+        return status;
+    }
+
+    private static <T> Map<String, Object> toJson(QueryPage<T> page, Function<T, Object> view) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("items", map(page.getItems(), view));
+        json.put("nextCursor", page.getNextCursor());
+        json.put("plan", page.getPlan());
+        json.put("examined", page.getExamined());
+        return json;
+    }
+
+    // 2025-03-01T14:30 or a bare date meaning its start
+    private static LocalDateTime time(Map<String, String> query, String name) {
+        String value = query.get(name);
+        if (value == null) {
+            throw new ApiException(400, "Missing query parameter " + name);
+        }
+        try {
+            return value.contains("T") ? LocalDateTime.parse(value) : LocalDate.parse(value).atStartOfDay();
+        } catch (DateTimeParseException e) {
+            throw new ApiException(400, "Bad " + name + " time " + value + " (expected YYYY-MM-DD[THH:MM])");
+        }
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null) {
+            return query;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                query.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                    URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return query;
+    }
+
+    private static void requireGet(String method) {
+        if (!method.equals("GET")) {
+            throw new ApiException(405, "Method " + method + " not allowed");
+        }
+    }
+
+    private static void requirePost(String method) {
+        if (!method.equals("POST")) {
+            throw new ApiException(405, "Method " + method + " not allowed");
+        }
+    }
+
+    private static Map<String, Object> error(String message) {
+        return Collections.singletonMap("error", message);
+    }
+
+    private static void send(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = Json.write(body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static class ApiException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private final int status;
+
+        ApiException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+}
@@ -0,0 +1,803 @@
+// PlacementJournal.java
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+// Append-only mutation log for a PlacementSystem.
+//
+// The directory holds numbered segments (journal-N.log) and compacted MappedSnapshot
+// images (snapshot-N.bin, covering every segment before N). Each record is framed as
+// [length][crc32][payload] so a torn tail left by a crash is detected and dropped.
+// Writers append under a short lock and then wait for fsync; whichever thread syncs
+// first makes every record appended so far durable, so concurrent writers share fsyncs.
+//
+// A checkpoint rotates first and then snapshots the live system while writers carry on, so
+// the snapshot may already hold changes that are also logged in the segment after it. New
+// applications and offers are logged before they become visible; rotation waits until every
+// such record in the sealed segment has its object in the maps, so the snapshot that replaces
+// the segment cannot miss one. Replay
+// is therefore idempotent by id: a record for a student, company, admin or job that is already
+// present with the same identity updates that object in place instead of replacing it, so
+// applications restored from the snapshot keep pointing at the live objects. Applications,
+// interviews and offers already present are skipped, and status and profile records set
+// absolute values, so replaying one twice ends in the same state.
+class PlacementJournal implements Closeable {
+    private static final byte STUDENT = 1;
+    private static final byte COMPANY = 2;
+    private static final byte ADMIN = 3;
+    private static final byte JOB = 4;
+    private static final byte APPLICATION = 5;
+    private static final byte APPLICATION_STATUS = 6;
+    private static final byte INTERVIEW = 7;
+    private static final byte OFFER = 8;
+    private static final byte OFFER_STATUS = 9;
+    private static final byte STUDENT_CGPA = 10;
+    private static final byte STUDENT_SKILL = 11;
+    private static final byte STUDENT_RESUME = 12;
+    private static final byte INTERVIEW_STATUS = 13;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    // Larger lengths can only come from a torn or corrupt frame
+    private static final int MAX_RECORD_SIZE = 16 << 20;
+
+    private Path directory;
+    private PlacementSystem system;
+    private long snapshotInterval;
+
+    private final Object appendLock = new Object();
+    private final Object syncLock = new Object();
+    private final Object checkpointLock = new Object();
+    // Shared from logging a new object until it is in the maps, exclusive while rotating
+    private final ReadWriteLock publishing = new ReentrantReadWriteLock();
+    private FileChannel channel;          // guarded by appendLock
+    private DataOutputStream out;         // guarded by appendLock
+    private long segment;                 // guarded by appendLock
+    private long appended;                // guarded by appendLock
+    private long recordsSinceSnapshot;    // guarded by appendLock
+    private volatile long durable;
+    private long replayedRecords;
+
+    private ExecutorService snapshotter;
+    private AtomicBoolean snapshotPending;
+
+    private PlacementJournal(Path directory, PlacementSystem system, long snapshotInterval) {
+        this.directory = directory;
+        this.system = system;
+        this.snapshotInterval = snapshotInterval;
+        this.snapshotPending = new AtomicBoolean();
+        this.snapshotter = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "placement-journal-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static PlacementJournal open(Path directory, PlacementSystem system) throws IOException {
+        return open(directory, system, 100_000);
+    }
+
+    // Attaches the latest snapshot and replays the segments after it into an empty system,
+    // then attaches the journal so every further mutation is logged
+    public static PlacementJournal open(Path directory, PlacementSystem system, long snapshotInterval)
+            throws IOException {
+        Files.createDirectories(directory);
+        PlacementJournal journal = new PlacementJournal(directory, system, snapshotInterval);
+        long nextSegment = journal.recover();
+        journal.openSegment(nextSegment);
+        system.attachJournal(journal);
+        return journal;
+    }
+
+    public long getReplayedRecords() {
+        return replayedRecords;
+    }
+
+    // Mutations
+    void studentAdded(Student student) {
+        log(encodeStudent(student));
+    }
+
+    void companyAdded(Company company) {
+        log(encodeCompany(company));
+    }
+
+    void adminAdded(Admin admin) {
+        log(encodeAdmin(admin));
+    }
+
+    void jobAdded(JobPosting job) {
+        log(encodeJob(job));
+    }
+
+    void studentsAdded(Collection<Student> students) {
+        long sequence = 0;
+        for (Student student : students) {
+            sequence = append(encodeStudent(student));
+        }
+        commitBatch(sequence);
+    }
+
+    void companiesAdded(Collection<Company> companies) {
+        long sequence = 0;
+        for (Company company : companies) {
+            sequence = append(encodeCompany(company));
+        }
+        commitBatch(sequence);
+    }
+
+    void jobsAdded(Collection<JobPosting> jobs) {
+        long sequence = 0;
+        for (JobPosting job : jobs) {
+            sequence = append(encodeJob(job));
+        }
+        commitBatch(sequence);
+    }
+
+    // Changes to shared records are appended inside the lock that orders them, so the log has them in
+    // the order they were applied, and made durable by sync() once the lock is released
+    void applicationAppended(Application application, Runnable publish) {
+        appendAndPublish(encodeApplication(application), publish);
+    }
+
+    void applicationStatusAppended(Application application) {
+        append(encodeApplicationStatus(application));
+    }
+
+    void interviewAppended(Interview interview) {
+        append(encodeInterview(interview));
+        append(encodeApplicationStatus(interview.getApplication()));
+    }
+
+    void interviewStatusAppended(Interview interview) {
+        Record record = new Record(INTERVIEW_STATUS);
+        record.writeString(interview.getInterviewId());
+        record.writeString(interview.getStatus().name());
+        append(record);
+    }
+
+    // Waits until every record appended so far, by any thread, is durable
+    void sync() {
+        long sequence;
+        synchronized (appendLock) {
+            sequence = appended;
+        }
+        commitBatch(sequence);
+    }
+
+    void offerMade(JobOffer offer, Runnable publish) {
+        commit(appendAndPublish(encodeOffer(offer), publish));
+    }
+
+    void offerStatusAppended(JobOffer offer) {
+        Record record = new Record(OFFER_STATUS);
+        record.writeString(offer.getOfferId());
+        record.writeString(offer.getStatus().name());
+        append(record);
+    }
+
+    void studentCgpaChanged(Student student) {
+        Record record = new Record(STUDENT_CGPA);
+        record.writeString(student.getId());
+        record.writeDouble(student.getCgpa());
+        log(record);
+    }
+
+    void studentSkillAdded(Student student, String skill) {
+        Record record = new Record(STUDENT_SKILL);
+        record.writeString(student.getId());
+        record.writeString(skill);
+        log(record);
+    }
+
+    void studentResumeChanged(Student student) {
+        Record record = new Record(STUDENT_RESUME);
+        record.writeString(student.getId());
+        record.writeString(student.getResume());
+        log(record);
+    }
+
+    // Group Commit
+    private void log(Record record) {
+        commit(append(record));
+    }
+
+    // Logs a record for an object not yet visible, then runs `publish` to make it visible before a
+    // checkpoint can seal the segment; no status record for the object can be logged ahead of it
+    private long appendAndPublish(Record record, Runnable publish) {
+        publishing.readLock().lock();
+        try {
+            long sequence = append(record);
+            publish.run();
+            return sequence;
+        } finally {
+            publishing.readLock().unlock();
+        }
+    }
+
+    // One fsync for a whole batch; 0 means nothing was appended
+    private void commitBatch(long sequence) {
+        if (sequence > 0) {
+            commit(sequence);
+        }
+    }
+
+    private long append(Record record) {
+        boolean snapshotDue;
+        long sequence;
+        synchronized (appendLock) {
+            try {
+                record.writeTo(out);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to append to placement journal", e);
+            }
+            sequence = ++appended;
+            snapshotDue = ++recordsSinceSnapshot >= snapshotInterval;
+        }
+        if (snapshotDue && snapshotPending.compareAndSet(false, true)) {
+            snapshotter.execute(() -> {
+                try {
+                    checkpoint();
+                } catch (IOException e) {
+                    System.err.println("Placement journal snapshot failed: " + e.getMessage());
+                } finally {
+                    snapshotPending.set(false);
+                }
+            });
+        }
+        return sequence;
+    }
+
+    private void commit(long sequence) {
+        if (durable >= sequence) {
+            return;
+        }
+        synchronized (syncLock) {
+            if (durable >= sequence) {
+                return; // another writer's fsync already covered this record
+            }
+            try {
+                FileChannel target;
+                long upTo;
+                synchronized (appendLock) {
+                    out.flush();
+                    target = channel;
+                    upTo = appended;
+                }
+                target.force(false);
+                durable = upTo;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to sync placement journal", e);
+            }
+        }
+    }
+
+    // Snapshots
+    // Writes the whole system to a new snapshot and drops the segments it covers
+    public void checkpoint() throws IOException {
+        synchronized (checkpointLock) {
+            long covered = rotate();
+            Path target = directory.resolve(snapshotName(covered));
+            Path temp = directory.resolve(snapshotName(covered) + ".tmp");
+            MappedSnapshot.write(system, temp);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            for (Path old : list("journal-", ".log")) {
+                if (number(old) < covered) {
+                    Files.deleteIfExists(old);
+                }
+            }
+            for (Path old : list("snapshot-", ".bin")) {
+                if (number(old) < covered) {
+                    Files.deleteIfExists(old);
+                }
+            }
+        }
+    }
+
+    // Seals the current segment and starts the next; returns the new segment number. Waits for
+    // writers between appendAndPublish's log and publish, so everything sealed is in the maps
+    private long rotate() throws IOException {
+        publishing.writeLock().lock();
+        try {
+            synchronized (syncLock) {
+                synchronized (appendLock) {
+                    out.flush();
+                    channel.force(false);
+                    durable = appended;
+                    channel.close();
+                    openSegment(segment + 1);
+                    recordsSinceSnapshot = 0;
+                    return segment;
+                }
+            }
+        } finally {
+            publishing.writeLock().unlock();
+        }
+    }
+
+    private void openSegment(long number) throws IOException {
+        segment = number;
+        channel = FileChannel.open(directory.resolve(segmentName(number)), StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE));
+    }
+
+    @Override
+    public void close() throws IOException {
+        snapshotter.shutdown();
+        try {
+            snapshotter.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (syncLock) {
+            synchronized (appendLock) {
+                out.flush();
+                channel.force(false);
+                durable = appended;
+                channel.close();
+            }
+        }
+    }
+
+    // Recovery
+    private long recover() throws IOException {
+        long snapshot = -1;
+        for (Path file : list("snapshot-", ".bin")) {
+            snapshot = Math.max(snapshot, number(file));
+        }
+        if (snapshot >= 0) {
+            // Faulted in on demand; the system closes the image once it holds every record
+            MappedSnapshot image = MappedSnapshot.open(directory.resolve(snapshotName(snapshot)));
+            replayedRecords += image.getRecordCount();
+            system.attachImage(image);
+        }
+        long last = Math.max(snapshot, 0);
+        List<Path> segments = list("journal-", ".log");
+        segments.sort(Comparator.comparingLong(PlacementJournal::number));
+        for (int i = 0; i < segments.size(); i++) {
+            Path file = segments.get(i);
+            long number = number(file);
+            if (number < snapshot) {
+                Files.deleteIfExists(file);
+                continue;
+            }
+            replay(file, i == segments.size() - 1);
+            last = Math.max(last, number);
+        }
+        return last + 1;
+    }
+
+    private void replay(Path file, boolean truncateTornTail) throws IOException {
+        long size = Files.size(file);
+        long valid = 0;
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE))) {
+            CRC32 crc = new CRC32();
+            byte[] payload = new byte[256];
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+                // Checked before allocating, so a garbage length ends the replay instead of the heap
+                if (length <= 0 || length > MAX_RECORD_SIZE || length > size - valid - 8) {
+                    break;
+                }
+                if (payload.length < length) {
+                    payload = new byte[Math.max(length, payload.length * 2)];
+                }
+                try {
+                    long checksum = in.readInt() & 0xffffffffL;
+                    in.readFully(payload, 0, length);
+                    crc.reset();
+                    crc.update(payload, 0, length);
+                    if (crc.getValue() != checksum) {
+                        break;
+                    }
+                } catch (EOFException e) {
+                    break;
+                }
+                apply(ByteBuffer.wrap(payload, 0, length));
+                valid += 8 + length;
+                replayedRecords++;
+            }
+        }
+        if (truncateTornTail && valid < size) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(valid);
+            }
+        }
+    }
+
+    private void apply(ByteBuffer in) {
+        byte type = in.get();
+        switch (type) {
+            case STUDENT: {
+                Student student = new Student(readString(in), readString(in), readString(in),
+                    readString(in), in.getDouble(), in.getInt());
+                List<String> skills = readStrings(in);
+                String resume = readString(in);
+                Student existing = system.getStudentById(student.getId());
+                if (existing != null && sameStudent(existing, student)) {
+                    existing.setCgpa(student.getCgpa());
+                    student = existing;
+                }
+                for (String skill : skills) {
+                    student.addSkill(skill);
+                }
+                student.setResume(resume);
+                if (student != existing) {
+                    system.addStudent(student);
+                }
+                break;
+            }
+            case COMPANY: {
+                Company company = new Company(readString(in), readString(in), readString(in), readString(in));
+                Company existing = system.getCompanyById(company.getId());
+                if (existing == null || !sameUser(existing, company)
+                        || !Objects.equals(existing.getIndustry(), company.getIndustry())) {
+                    system.addCompany(company);
+                }
+                break;
+            }
+            case ADMIN: {
+                Admin admin = new Admin(readString(in), readString(in), readString(in));
+                Admin existing = system.getAdminById(admin.getId());
+                if (existing == null || !sameUser(existing, admin)) {
+                    system.addAdmin(admin);
+                }
+                break;
+            }
+            case JOB: {
+                String jobId = readString(in);
+                String title = readString(in);
+                String description = readString(in);
+                Company company = system.getCompanyById(readString(in));
+                double packageLPA = in.getDouble();
+                String location = readString(in);
+                double minCgpa = in.getDouble();
+                List<String> departments = readStrings(in);
+                List<String> skills = readStrings(in);
+                String postDate = readString(in);
+                if (company != null) {
+                    JobPosting job = new JobPosting(jobId, title, description, company, packageLPA,
+                        location, minCgpa, new HashSet<>(departments), new HashSet<>(skills), postDate);
+                    JobPosting existing = system.getJobById(jobId);
+                    if (existing == null || !sameJob(existing, job)) {
+                        system.addJobPosting(job);
+                    }
+                }
+                break;
+            }
+            case APPLICATION: {
+                String applicationId = readString(in);
+                Student student = system.getStudentById(readString(in));
+                JobPosting job = system.getJobById(readString(in));
+                LocalDateTime appliedDate = LocalDateTime.parse(readString(in));
+                ApplicationStatus status = ApplicationStatus.parse(readString(in));
+                if (student != null && job != null) {
+                    Application application = new Application(applicationId, student, job, appliedDate);
+                    if (status != null) {
+                        application.restoreStatus(status);
+                    }
+                    system.restoreApplication(application);
+                }
+                break;
+            }
+            case APPLICATION_STATUS: {
+                Application application = system.getApplicationById(readString(in));
+                ApplicationStatus status = ApplicationStatus.parse(readString(in));
+                if (application != null && status != null) {
+                    application.restoreStatus(status);
+                }
+                break;
+            }
+            case INTERVIEW: {
+                String interviewId = readString(in);
+                Application application = system.getApplicationById(readString(in));
+                String date = readString(in);
+                String time = readString(in);
+                String location = readString(in);
+                String interviewType = readString(in);
+                InterviewStatus status = InterviewStatus.parse(readString(in));
+                // Duration was appended later; older records end after the status
+                int duration = in.hasRemaining() ? in.getInt() : Interview.DEFAULT_DURATION_MINUTES;
+                if (application != null) {
+                    Interview interview = new Interview(interviewId, application, date, time, location, interviewType,
+                        duration);
+                    if (status != null) {
+                        interview.restoreStatus(status);
+                    }
+                    system.restoreInterview(interview);
+                }
+                break;
+            }
+            case OFFER: {
+                String offerId = readString(in);
+                Application application = system.getApplicationById(readString(in));
+                double packageLPA = in.getDouble();
+                String joiningDate = readString(in);
+                String details = readString(in);
+                String status = readString(in);
+                if (application != null) {
+                    JobOffer offer = new JobOffer(offerId, application, packageLPA, joiningDate, details);
+                    system.restoreOffer(offer);
+                    applyOfferStatus(system.getOfferById(offerId), status);
+                }
+                break;
+            }
+            case OFFER_STATUS:
+                applyOfferStatus(system.getOfferById(readString(in)), readString(in));
+                break;
+            case INTERVIEW_STATUS: {
+                Interview interview = system.getInterviewById(readString(in));
+                InterviewStatus status = InterviewStatus.parse(readString(in));
+                if (interview != null && status != null) {
+                    interview.restoreStatus(status);
+                }
+                break;
+            }
+            case STUDENT_CGPA: {
+                Student student = system.getStudentById(readString(in));
+                double cgpa = in.getDouble();
+                if (student != null) {
+                    student.setCgpa(cgpa);
+                }
+                break;
+            }
+            case STUDENT_SKILL: {
+                Student student = system.getStudentById(readString(in));
+                String skill = readString(in);
+                if (student != null) {
+                    student.addSkill(skill);
+                }
+                break;
+            }
+            case STUDENT_RESUME: {
+                Student student = system.getStudentById(readString(in));
+                String resume = readString(in);
+                if (student != null) {
+                    student.setResume(resume);
+                }
+                break;
+            }
+            default:
+                throw new IllegalStateException("Unknown placement journal record type " + type);
+        }
+    }
+
+    // Identity fields only; CGPA, skills and resume are brought up to date in place
+    private static boolean sameStudent(Student a, Student b) {
+        return sameUser(a, b) && Objects.equals(a.getDepartment(), b.getDepartment())
+            && a.getGraduationYear() == b.getGraduationYear();
+    }
+
+    private static boolean sameUser(User a, User b) {
+        return Objects.equals(a.getName(), b.getName()) && Objects.equals(a.getEmail(), b.getEmail());
+    }
+
+    private static boolean sameJob(JobPosting a, JobPosting b) {
+        return a.getCompany() == b.getCompany() && Objects.equals(a.getTitle(), b.getTitle())
+            && Objects.equals(a.getDescription(), b.getDescription())
+            && a.getPackageLPA() == b.getPackageLPA() && Objects.equals(a.getLocation(), b.getLocation())
+            && a.getMinCgpa() == b.getMinCgpa() && a.getEligibleDepartments().equals(b.getEligibleDepartments())
+            && a.getRequiredSkills().equals(b.getRequiredSkills())
+            && Objects.equals(a.getPostDate(), b.getPostDate());
+    }
+
+    private static void applyOfferStatus(JobOffer offer, String name) {
+        OfferStatus status = OfferStatus.parse(name);
+        if (offer != null && status != null) {
+            offer.restoreStatus(status);
+        }
+    }
+
+    // Encoding
+    private static Record encodeStudent(Student student) {
+        Record record = new Record(STUDENT);
+        record.writeString(student.getId());
+        record.writeString(student.getName());
+        record.writeString(student.getEmail());
+        record.writeString(student.getDepartment());
+        record.writeDouble(student.getCgpa());
+        record.writeInt(student.getGraduationYear());
+        record.writeStrings(student.getSkills());
+        record.writeString(student.getResume());
+        return record;
+    }
+
+    private static Record encodeCompany(Company company) {
+        Record record = new Record(COMPANY);
+        record.writeString(company.getId());
+        record.writeString(company.getName());
+        record.writeString(company.getEmail());
+        record.writeString(company.getIndustry());
+        return record;
+    }
+
+    private static Record encodeAdmin(Admin admin) {
+        Record record = new Record(ADMIN);
+        record.writeString(admin.getId());
+        record.writeString(admin.getName());
+        record.writeString(admin.getEmail());
+        return record;
+    }
+
+    private static Record encodeJob(JobPosting job) {
+        Record record = new Record(JOB);
+        record.writeString(job.getJobId());
+        record.writeString(job.getTitle());
+        record.writeString(job.getDescription());
+        record.writeString(job.getCompany().getId());
+        record.writeDouble(job.getPackageLPA());
+        record.writeString(job.getLocation());
+        record.writeDouble(job.getMinCgpa());
+        record.writeStrings(job.getEligibleDepartments());
+        record.writeStrings(job.getRequiredSkills());
+        record.writeString(job.getPostDate());
+        return record;
+    }
+
+    private static Record encodeApplication(Application application) {
+        Record record = new Record(APPLICATION);
+        record.writeString(application.getApplicationId());
+        record.writeString(application.getStudent().getId());
+        record.writeString(application.getJob().getJobId());
+        record.writeString(application.getAppliedDate().toString());
+        record.writeString(application.getStatus().name());
+        return record;
+    }
+
+    private static Record encodeApplicationStatus(Application application) {
+        Record record = new Record(APPLICATION_STATUS);
+        record.writeString(application.getApplicationId());
+        record.writeString(application.getStatus().name());
+        return record;
+    }
+
+    private static Record encodeInterview(Interview interview) {
+        Record record = new Record(INTERVIEW);
+        record.writeString(interview.getInterviewId());
+        record.writeString(interview.getApplication().getApplicationId());
+        record.writeString(interview.getDate());
+        record.writeString(interview.getTime());
+        record.writeString(interview.getLocation());
+        record.writeString(interview.getType());
+        record.writeString(interview.getStatus().name());
+        record.writeInt(interview.getDurationMinutes());
+        return record;
+    }
+
+    private static Record encodeOffer(JobOffer offer) {
+        Record record = new Record(OFFER);
+        record.writeString(offer.getOfferId());
+        record.writeString(offer.getApplication().getApplicationId());
+        record.writeDouble(offer.getPackage());
+        record.writeString(offer.getJoiningDate());
+        record.writeString(offer.getDetails());
+        record.writeString(offer.getStatus().name());
+        return record;
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        String value = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+        in.position(in.position() + length);
+        return value;
+    }
+
+    private static List<String> readStrings(ByteBuffer in) {
+        int count = in.getInt();
+        List<String> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(readString(in));
+        }
+        return values;
+    }
+
+    // Files
+    private List<Path> list(String prefix, String suffix) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (Stream<Path> entries = Files.list(directory)) {
+            entries.filter(path -> {
+                String name = path.getFileName().toString();
+                return name.startsWith(prefix) && name.endsWith(suffix);
+            }).forEach(files::add);
+        }
+        return files;
+    }
+
+    private static long number(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(name.indexOf('-') + 1, name.lastIndexOf('.')));
+    }
+
+    private static String segmentName(long number) {
+        return String.format("journal-%016d.log", number);
+    }
+
+    private static String snapshotName(long number) {
+        return String.format("snapshot-%016d.bin", number);
+    }
+
+    // One encoded record; strings are length-prefixed UTF-8 with -1 for null
+    private static class Record {
+        private ByteArrayOutputStream bytes;
+        private DataOutputStream data;
+
+        Record(byte type) {
+            this.bytes = new ByteArrayOutputStream(128);
+            this.data = new DataOutputStream(bytes);
+            write(() -> data.writeByte(type));
+        }
+
+        void writeString(String value) {
+            write(() -> {
+                if (value == null) {
+                    data.writeInt(-1);
+                } else {
+                    byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+                    data.writeInt(encoded.length);
+                    data.write(encoded);
+                }
+            });
+        }
+
+        void writeStrings(Collection<String> values) {
+            write(() -> data.writeInt(values.size()));
+            for (String value : values) {
+                writeString(value);
+            }
+        }
+
+        void writeDouble(double value) {
+            write(() -> data.writeDouble(value));
+        }
+
+        void writeInt(int value) {
+            write(() -> data.writeInt(value));
+        }
+
+        void writeTo(DataOutputStream out) throws IOException {
+            CRC32 crc = new CRC32();
+            byte[] payload = bytes.toByteArray();
+            if (payload.length > MAX_RECORD_SIZE) {
+                throw new IOException("Journal record of " + payload.length + " bytes exceeds " + MAX_RECORD_SIZE);
+            }
+            crc.update(payload, 0, payload.length);
+            out.writeInt(payload.length);
+            out.writeInt((int) crc.getValue());
+            out.write(payload);
+        }
+
+        private static void write(IoAction action) {
+            try {
+                action.run();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e); // ByteArrayOutputStream never throws
+            }
+        }
+    }
+
+    private interface IoAction {
+        void run() throws IOException;
+    }
+}
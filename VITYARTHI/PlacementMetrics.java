@@ -0,0 +1,259 @@
+// PlacementMetrics.java
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+// Call counts, error counts, result sizes and latency histograms for PlacementSystem operations.
+// Every call is counted, but only a random 1-in-N sample is timed: a nanoTime pair costs ~90 ns,
+// which would dominate sub-microsecond lookups. Sampled latencies give unbiased means and
+// percentiles once a few thousand calls have been seen. setEnabled(false) reduces recording to
+// a single volatile read.
+class PlacementMetrics implements PlacementMetricsMBean {
+    enum Operation {
+        APPLY_FOR_JOB, APPLY_FOR_JOBS, GET_ELIGIBLE_JOBS, GET_ELIGIBLE_STUDENTS, GET_QUALIFIED_STUDENTS,
+        RECOMMEND_JOBS, GET_STUDENT_APPLICATIONS, GET_JOB_APPLICATIONS, UPDATE_APPLICATION_STATUS,
+        SCHEDULE_INTERVIEW, SCHEDULE_INTERVIEWS, MAKE_JOB_OFFER, GET_PLACEMENT_STATISTICS, GET_UNPLACED_STUDENTS,
+        FIND_STUDENTS, FIND_APPLICATIONS, SEARCH_JOBS, SEARCH_RESUMES
+    }
+
+    static final String OBJECT_NAME = "placement:type=PlacementMetrics";
+    private static final long UNTIMED = -1;
+
+    private PlacementSystem system;
+    private OperationMetrics[] operations;
+    private volatile boolean enabled = true;
+    private volatile int latencySampleRate = 16;
+    private ScheduledExecutorService reporter;
+
+    public PlacementMetrics(PlacementSystem system) {
+        this.system = system;
+        this.operations = new OperationMetrics[Operation.values().length];
+        for (int i = 0; i < operations.length; i++) {
+            operations[i] = new OperationMetrics();
+        }
+    }
+
+    // Recording
+    // 0 when disabled, UNTIMED when this call is not sampled, otherwise the start time
+    long start() {
+        if (!enabled) {
+            return 0;
+        }
+        int rate = latencySampleRate;
+        return rate <= 1 || ThreadLocalRandom.current().nextInt(rate) == 0 ? System.nanoTime() : UNTIMED;
+    }
+
+    void record(Operation operation, long start, int resultSize) {
+        if (start != 0) {
+            operations[operation.ordinal()].record(start, resultSize, false);
+        }
+    }
+
+    void recordError(Operation operation, long start) {
+        if (start != 0) {
+            operations[operation.ordinal()].record(start, 0, true);
+        }
+    }
+
+    // Registration and Reporting
+    public void registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+            server.registerMBean(this, name);
+        } catch (JMException e) {
+            System.err.println("Could not register placement metrics MBean: " + e.getMessage());
+        }
+    }
+
+    public synchronized void startReporter(long periodSeconds, PrintStream out) {
+        stopReporter();
+        reporter = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "placement-metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reporter.scheduleAtFixedRate(() -> out.print(getSummary()), periodSeconds, periodSeconds, TimeUnit.SECONDS);
+    }
+
+    public synchronized void stopReporter() {
+        if (reporter != null) {
+            reporter.shutdownNow();
+            reporter = null;
+        }
+    }
+
+    // MBean
+    @Override
+    public String[] getOperationNames() {
+        Operation[] values = Operation.values();
+        String[] names = new String[values.length];
+        for (int i = 0; i < values.length; i++) {
+            names[i] = values[i].name();
+        }
+        return names;
+    }
+
+    @Override public long getStudentCount() { return system.getStudentsView().size(); }
+    @Override public long getJobCount() { return system.getJobsView().size(); }
+    @Override public long getApplicationCount() { return system.getApplicationsView().size(); }
+    @Override public long getInterviewCount() { return system.getInterviewsView().size(); }
+    @Override public long getOfferCount() { return system.getOffersView().size(); }
+
+    @Override public boolean isEnabled() { return enabled; }
+    @Override public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    @Override public int getLatencySampleRate() { return latencySampleRate; }
+    @Override public void setLatencySampleRate(int rate) { this.latencySampleRate = Math.max(1, rate); }
+
+    @Override
+    public long getCalls(String operation) {
+        return metrics(operation).calls.sum();
+    }
+
+    @Override
+    public long getErrors(String operation) {
+        return metrics(operation).errors.sum();
+    }
+
+    @Override
+    public double getMeanResultSize(String operation) {
+        OperationMetrics metrics = metrics(operation);
+        long calls = metrics.calls.sum();
+        return calls == 0 ? 0 : (double) metrics.resultSizes.sum() / calls;
+    }
+
+    @Override
+    public double getMeanMicros(String operation) {
+        OperationMetrics metrics = metrics(operation);
+        long timed = metrics.timedCalls.sum();
+        return timed == 0 ? 0 : metrics.totalNanos.sum() / 1e3 / timed;
+    }
+
+    @Override
+    public double getPercentileMicros(String operation, double percentile) {
+        return metrics(operation).latencies.percentile(percentile) / 1e3;
+    }
+
+    @Override
+    public String getSummary() {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format(Locale.ROOT, "=== Placement metrics: %d students, %d jobs, %d applications, "
+                + "%d interviews, %d offers ===%n", getStudentCount(), getJobCount(), getApplicationCount(),
+            getInterviewCount(), getOfferCount()));
+        out.append(String.format(Locale.ROOT, "%-26s %10s %7s %10s %10s %10s %10s %9s%n", "operation", "calls",
+            "errors", "mean us", "p50 us", "p99 us", "p999 us", "avg size"));
+        for (Operation operation : Operation.values()) {
+            String name = operation.name();
+            if (getCalls(name) == 0) {
+                continue;
+            }
+            out.append(String.format(Locale.ROOT, "%-26s %10d %7d %10.2f %10.2f %10.2f %10.2f %9.1f%n", name,
+                getCalls(name), getErrors(name), getMeanMicros(name), getPercentileMicros(name, 0.50),
+                getPercentileMicros(name, 0.99), getPercentileMicros(name, 0.999), getMeanResultSize(name)));
+        }
+        return out.toString();
+    }
+
+    @Override
+    public void reset() {
+        for (int i = 0; i < operations.length; i++) {
+            operations[i] = new OperationMetrics();
+        }
+    }
+
+    private OperationMetrics metrics(String operation) {
+        return operations[Operation.valueOf(operation).ordinal()];
+    }
+
+    private static class OperationMetrics {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder resultSizes = new LongAdder();
+        private final LongAdder timedCalls = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LatencyHistogram latencies = new LatencyHistogram();
+
+        void record(long start, int resultSize, boolean error) {
+            calls.increment();
+            if (error) {
+                errors.increment();
+            }
+            resultSizes.add(resultSize);
+            if (start != UNTIMED) {
+                long nanos = System.nanoTime() - start;
+                timedCalls.increment();
+                totalNanos.add(nanos);
+                latencies.record(nanos);
+            }
+        }
+    }
+}
+
+// LatencyHistogram.java
+// Log-linear buckets: 16 linear sub-buckets per power of two, so any recorded value is
+// reported within 6.25% of its true value, from 1 ns up to Long.MAX_VALUE in 960 counters.
+class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private final AtomicLongArray counts = new AtomicLongArray((64 - SUB_BUCKET_BITS) * SUB_BUCKETS);
+
+    public void record(long value) {
+        counts.getAndIncrement(bucketOf(Math.max(0, value)));
+    }
+
+    public long getCount() {
+        long total = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    // Midpoint of the bucket holding the given quantile (0..1), or 0 if nothing was recorded
+    public double percentile(double quantile) {
+        long total = getCount();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return (lowerBound(i) + lowerBound(i + 1)) / 2.0;
+            }
+        }
+        return lowerBound(counts.length() - 1);
+    }
+
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static double lowerBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        int subBucket = bucket % SUB_BUCKETS;
+        return (double) (SUB_BUCKETS + subBucket) * Math.pow(2, exponent - SUB_BUCKET_BITS);
+    }
+}
@@ -0,0 +1,26 @@
+// PlacementMetricsMBean.java
+// Management interface for PlacementMetrics, registered as placement:type=PlacementMetrics.
+// Latencies are reported in microseconds; operation names are PlacementMetrics.Operation constants.
+public interface PlacementMetricsMBean {
+    String[] getOperationNames();
+
+    long getStudentCount();
+    long getJobCount();
+    long getApplicationCount();
+    long getInterviewCount();
+    long getOfferCount();
+
+    boolean isEnabled();
+    void setEnabled(boolean enabled);
+    int getLatencySampleRate(); // 1 times every call, N times a random 1-in-N sample
+    void setLatencySampleRate(int rate);
+
+    long getCalls(String operation);
+    long getErrors(String operation);
+    double getMeanResultSize(String operation);
+    double getMeanMicros(String operation);
+    double getPercentileMicros(String operation, double percentile);
+
+    String getSummary();
+    void reset();
+}
@@ -0,0 +1,125 @@
+// PlacementStatistics.java
+import java.util.*;
+
+class PlacementStatistics {
+    // Students get a dense ordinal on registration so placement can be tracked in a bitmap
+    private List<Student> studentsByOrdinal;
+    private Map<String, Integer> ordinals;
+    private BitSet placed;
+    private int[] acceptedPerStudent;
+
+    private Map<String, Integer> departmentPlacements;
+    private Map<String, Long> companyHiring;
+    private TreeMap<Double, Integer> acceptedPackages; // package -> number of accepted offers
+    private long acceptedOffers;
+    private double packageSum;
+
+    public PlacementStatistics() {
+        this.studentsByOrdinal = new ArrayList<>();
+        this.ordinals = new HashMap<>();
+        this.placed = new BitSet();
+        this.acceptedPerStudent = new int[16];
+        this.departmentPlacements = new HashMap<>();
+        this.companyHiring = new HashMap<>();
+        this.acceptedPackages = new TreeMap<>();
+    }
+
+    public synchronized void studentAdded(Student student) {
+        Integer ordinal = ordinals.get(student.getId());
+        if (ordinal != null) {
+            studentsByOrdinal.set(ordinal, student);
+        } else {
+            ordinalOf(student);
+        }
+    }
+
+    public synchronized void offerAccepted(JobOffer offer) {
+        Application app = offer.getApplication();
+        int ordinal = ordinalOf(app.getStudent());
+        if (acceptedPerStudent[ordinal]++ == 0) {
+            placed.set(ordinal);
+        }
+        departmentPlacements.merge(app.getStudent().getDepartment(), 1, Integer::sum);
+        companyHiring.merge(app.getJob().getCompany().getName(), 1L, Long::sum);
+        acceptedPackages.merge(offer.getPackage(), 1, Integer::sum);
+        acceptedOffers++;
+        packageSum += offer.getPackage();
+    }
+
+    public synchronized void offerWithdrawn(JobOffer offer) {
+        Application app = offer.getApplication();
+        int ordinal = ordinalOf(app.getStudent());
+        if (--acceptedPerStudent[ordinal] == 0) {
+            placed.clear(ordinal);
+        }
+        decrement(departmentPlacements, app.getStudent().getDepartment());
+        companyHiring.computeIfPresent(app.getJob().getCompany().getName(),
+            (name, count) -> count > 1 ? count - 1 : null);
+        decrement(acceptedPackages, offer.getPackage());
+        acceptedOffers--;
+        packageSum -= offer.getPackage();
+    }
+
+    public synchronized long getPlacedStudents() {
+        return placed.cardinality();
+    }
+
+    public synchronized long getAcceptedOffers() {
+        return acceptedOffers;
+    }
+
+    public synchronized double getAveragePackage() {
+        return acceptedOffers > 0 ? packageSum / acceptedOffers : 0;
+    }
+
+    public synchronized double getHighestPackage() {
+        return acceptedPackages.isEmpty() ? 0 : acceptedPackages.lastKey();
+    }
+
+    public synchronized int getAcceptedOffers(Student student) {
+        Integer ordinal = ordinals.get(student.getId());
+        return ordinal == null ? 0 : acceptedPerStudent[ordinal];
+    }
+
+    public synchronized Map<String, Integer> getDepartmentWisePlacement() {
+        return new HashMap<>(departmentPlacements);
+    }
+
+    public synchronized Map<String, Long> getCompanyWiseHiring() {
+        return new HashMap<>(companyHiring);
+    }
+
+    public synchronized List<Student> getPlacedStudentList() {
+        List<Student> result = new ArrayList<>(placed.cardinality());
+        for (int i = placed.nextSetBit(0); i >= 0; i = placed.nextSetBit(i + 1)) {
+            result.add(studentsByOrdinal.get(i));
+        }
+        return result;
+    }
+
+    public synchronized List<Student> getUnplacedStudents() {
+        List<Student> unplaced = new ArrayList<>();
+        int count = studentsByOrdinal.size();
+        for (int i = placed.nextClearBit(0); i < count; i = placed.nextClearBit(i + 1)) {
+            unplaced.add(studentsByOrdinal.get(i));
+        }
+        return unplaced;
+    }
+
+    private int ordinalOf(Student student) {
+        Integer ordinal = ordinals.get(student.getId());
+        if (ordinal == null) {
+            ordinal = studentsByOrdinal.size();
+            studentsByOrdinal.add(student);
+            ordinals.put(student.getId(), ordinal);
+            if (ordinal == acceptedPerStudent.length) {
+                acceptedPerStudent = Arrays.copyOf(acceptedPerStudent, ordinal * 2);
+            }
+        }
+        return ordinal;
+    }
+
+    private static <K> void decrement(Map<K, Integer> counts, K key) {
+        counts.computeIfPresent(key, (k, count) -> count > 1 ? count - 1 : null);
+    }
+}
@@ -1,269 +1,1624 @@
 // PlacementSystem.java
+import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 class PlacementSystem {
     private Map<String, Student> students;
     private Map<String, Company> companies;
     private Map<String, Admin> admins;
     private Map<String, JobPosting> jobPostings;
-    private Map<String, Application> applications;
-    private Map<String, Interview> interviews;
-    private Map<String, JobOffer> jobOffers;
+    // Keyed by id number; string ids are parsed on lookup
+    private Map<Long, Application> applications;
+    private Map<Long, Interview> interviews;
+    private Map<Long, JobOffer> jobOffers;
+
+    // Read-only views over the maps above, created once so listings allocate nothing per call
+    private Collection<Student> studentsView;
+    private Collection<Company> companiesView;
+    private Collection<JobPosting> jobsView;
+    private Collection<Application> applicationsView;
+    private Collection<JobOffer> offersView;
+    private Collection<Admin> adminsView;
+    private Collection<Interview> interviewsView;
+
+    // Secondary indexes, kept in step with the maps above on every insert
+    private Map<String, Queue<JobPosting>> jobsByCompany;
+    private Map<String, TimeIndex<Application>> applicationsByStudent;
+    private Map<String, Queue<Application>> applicationsByJob;
+    private Map<String, TimeIndex<Interview>> interviewsByStudent;
+    private Map<String, TimeIndex<Interview>> interviewsByCompany;
+    // Time-ordered: applications by applied date, interviews by start; per student and company above
+    private TimeIndex<Application> applicationTimeline;
+    private Map<String, TimeIndex<Application>> applicationsByCompany;
+    private TimeIndex<Interview> interviewTimeline;
+    private static final TimeIndex.Timing<Application> BY_APPLIED_DATE =
+        TimeIndex.timing(Application::getAppliedDate, Application::getNumber);
+    private static final TimeIndex.Timing<Interview> BY_START =
+        TimeIndex.timing(Interview::getStart, Interview::getNumber);
+    private Map<String, Queue<JobOffer>> offersByStudent;
+    private Map<Long, Queue<JobOffer>> offersByApplication;
+    private Set<String> appliedPairs; // studentId + jobId of every application
+    // Per-status indexes and counters, moved by the entities' status listeners
+    private Map<String, StatusIndex<ApplicationStatus, Application>> applicationsByJobStatus;
+    private EnumMap<ApplicationStatus, LongAdder> applicationCounts;
+    private StatusIndex<InterviewStatus, Interview> interviewsByStatus;
+    private StatusIndex<OfferStatus, JobOffer> offersByStatus;
+    // Shared by every entity rather than a method reference allocated per insert
+    private final StatusListener<Application, ApplicationStatus> applicationListener = this::applicationStatusChanged;
+    private final StatusListener<Interview, InterviewStatus> interviewListener = this::interviewStatusChanged;
+    private final StatusListener<JobOffer, OfferStatus> offerListener = new OfferChanges();
+    // Interview calendars by student id, company id (one per parallel panel) and normalized location,
+    // guarded by scheduleLock
+    private Map<String, InterviewCalendar> studentCalendars;
+    private Map<String, List<InterviewCalendar>> companyCalendars;
+    private Map<String, InterviewCalendar> locationCalendars;
+    private final Object scheduleLock = new Object();
+    private PlacementStatistics statistics;
+    private EligibilityIndex eligibility;
+    private StudentColumns studentColumns; // columnar copy for full scans, kept in step by registerStudent
+    private TextIndex<JobPosting> jobText;
+    private TextIndex<Student> resumeText;
+    private StudentListener studentChanges;
+    private volatile PlacementJournal journal; // null until a journal is attached
+    // Recovered snapshot whose records are not all in the maps yet; null once they are. See attachImage
+    private volatile MappedSnapshot image;
+    private final Object imageLock = new Object();
+    private Object[] applyLocks; // striped by student id around duplicate-check-and-insert
+    private PlacementMetrics metrics;
     
-    private int applicationCounter;
-    private int interviewCounter;
-    private int offerCounter;
+    private IdAllocator applicationIds;
+    private IdAllocator interviewIds;
+    private IdAllocator offerIds;
 
     public PlacementSystem() {
-        this.students = new HashMap<>();
-        this.companies = new HashMap<>();
-        this.admins = new HashMap<>();
-        this.jobPostings = new HashMap<>();
-        this.applications = new HashMap<>();
-        this.interviews = new HashMap<>();
-        this.jobOffers = new HashMap<>();
-        this.applicationCounter = 1;
-        this.interviewCounter = 1;
-        this.offerCounter = 1;
+        this.students = new ConcurrentHashMap<>();
+        this.companies = new ConcurrentHashMap<>();
+        this.admins = new ConcurrentHashMap<>();
+        this.jobPostings = new ConcurrentHashMap<>();
+        this.applications = new ConcurrentHashMap<>();
+        this.interviews = new ConcurrentHashMap<>();
+        this.jobOffers = new ConcurrentHashMap<>();
+        this.studentsView = Collections.unmodifiableCollection(students.values());
+        this.companiesView = Collections.unmodifiableCollection(companies.values());
+        this.jobsView = Collections.unmodifiableCollection(jobPostings.values());
+        this.applicationsView = Collections.unmodifiableCollection(applications.values());
+        this.offersView = Collections.unmodifiableCollection(jobOffers.values());
+        this.adminsView = Collections.unmodifiableCollection(admins.values());
+        this.interviewsView = Collections.unmodifiableCollection(interviews.values());
+        this.jobsByCompany = new ConcurrentHashMap<>();
+        this.applicationsByStudent = new ConcurrentHashMap<>();
+        this.applicationsByJob = new ConcurrentHashMap<>();
+        this.interviewsByStudent = new ConcurrentHashMap<>();
+        this.interviewsByCompany = new ConcurrentHashMap<>();
+        this.applicationTimeline = new TimeIndex<>(BY_APPLIED_DATE);
+        this.applicationsByCompany = new ConcurrentHashMap<>();
+        this.interviewTimeline = new TimeIndex<>(BY_START);
+        this.offersByStudent = new ConcurrentHashMap<>();
+        this.offersByApplication = new ConcurrentHashMap<>();
+        this.appliedPairs = ConcurrentHashMap.newKeySet();
+        this.applicationsByJobStatus = new ConcurrentHashMap<>();
+        this.applicationCounts = new EnumMap<>(ApplicationStatus.class);
+        for (ApplicationStatus status : ApplicationStatus.values()) {
+            applicationCounts.put(status, new LongAdder());
+        }
+        this.interviewsByStatus = new StatusIndex<>(InterviewStatus.class);
+        this.offersByStatus = new StatusIndex<>(OfferStatus.class);
+        this.studentCalendars = new HashMap<>();
+        this.companyCalendars = new HashMap<>();
+        this.locationCalendars = new HashMap<>();
+        this.statistics = new PlacementStatistics();
+        this.eligibility = new EligibilityIndex();
+        this.studentColumns = new StudentColumns();
+        this.jobText = new TextIndex<>(JobPosting::getJobId, PlacementSystem::searchableText);
+        this.resumeText = new TextIndex<>(Student::getId, Student::getResume);
+        this.studentChanges = new StudentChanges();
+        this.metrics = new PlacementMetrics(this);
+        this.applyLocks = new Object[64];
+        for (int i = 0; i < applyLocks.length; i++) {
+            applyLocks[i] = new Object();
+        }
+        this.applicationIds = new IdAllocator(Application.ID_PREFIX);
+        this.interviewIds = new IdAllocator(Interview.ID_PREFIX);
+        this.offerIds = new IdAllocator(JobOffer.ID_PREFIX);
     }
 
     // Student Management
     public void addStudent(Student student) {
-        students.put(student.getId(), student);
+        registerStudent(student);
+        if (journal != null) {
+            journal.studentAdded(student);
+        }
+    }
+
+    // False, changing nothing, if a student with this id is already registered; the check and the insert
+    // are one step, so of two concurrent callers only one gets true
+    public boolean addStudentIfAbsent(Student student) {
+        // A record still only in the snapshot counts as registered
+        if ((image != null && getStudentById(student.getId()) != null)
+                || students.putIfAbsent(student.getId(), student) != null) {
+            return false;
+        }
+        indexStudent(student, null);
+        if (journal != null) {
+            journal.studentAdded(student);
+        }
+        return true;
+    }
+
+    // Bulk insert with a single journal commit for the whole batch
+    public void addStudents(Collection<Student> batch) {
+        for (Student student : batch) {
+            registerStudent(student);
+        }
+        if (journal != null && !batch.isEmpty()) {
+            journal.studentsAdded(batch);
+        }
+    }
+
+    private void registerStudent(Student student) {
+        indexStudent(student, students.put(student.getId(), student));
+    }
+
+    private void indexStudent(Student student, Student previous) {
+        if (previous != null) {
+            // The replaced object may still be held and edited; its changes must not reach the indexes
+            previous.setListener(null);
+            eligibility.removeStudent(previous);
+        }
+        eligibility.addStudent(student);
+        studentColumns.put(student);
+        resumeText.put(student);
+        student.setListener(studentChanges);
+        statistics.studentAdded(student);
     }
 
     public Student getStudentById(String id) {
-        return students.get(id);
+        MappedSnapshot snapshot = image; // read first: once it is null, every record is in the maps
+        Student student = students.get(id);
+        return student != null || snapshot == null ? student : fault(snapshot.findStudent(id), this::faultIn);
     }
 
     public List<Student> getAllStudents() {
+        loadImage();
         return new ArrayList<>(students.values());
     }
 
+    public Collection<Student> getStudentsView() {
+        loadImage();
+        return studentsView;
+    }
+
+    public void forEachStudent(Consumer<? super Student> action) {
+        loadImage();
+        students.values().forEach(action);
+    }
+
     // Company Management
     public void addCompany(Company company) {
         companies.put(company.getId(), company);
+        if (journal != null) {
+            journal.companyAdded(company);
+        }
+    }
+
+    public boolean addCompanyIfAbsent(Company company) {
+        // A record still only in the snapshot counts as registered
+        if ((image != null && getCompanyById(company.getId()) != null)
+                || companies.putIfAbsent(company.getId(), company) != null) {
+            return false;
+        }
+        if (journal != null) {
+            journal.companyAdded(company);
+        }
+        return true;
+    }
+
+    public void addCompanies(Collection<Company> batch) {
+        for (Company company : batch) {
+            companies.put(company.getId(), company);
+        }
+        if (journal != null && !batch.isEmpty()) {
+            journal.companiesAdded(batch);
+        }
     }
 
     public Company getCompanyById(String id) {
-        return companies.get(id);
+        MappedSnapshot snapshot = image;
+        Company company = companies.get(id);
+        return company != null || snapshot == null ? company : fault(snapshot.findCompany(id), this::faultIn);
     }
 
     public List<Company> getAllCompanies() {
+        loadImage();
         return new ArrayList<>(companies.values());
     }
 
+    public Collection<Company> getCompaniesView() {
+        loadImage();
+        return companiesView;
+    }
+
     // Admin Management
     public void addAdmin(Admin admin) {
         admins.put(admin.getId(), admin);
+        if (journal != null) {
+            journal.adminAdded(admin);
+        }
     }
 
     public Admin getAdminById(String id) {
-        return admins.get(id);
+        MappedSnapshot snapshot = image;
+        Admin admin = admins.get(id);
+        return admin != null || snapshot == null ? admin : fault(snapshot.findAdmin(id), this::faultIn);
+    }
+
+    public Collection<Admin> getAdminsView() {
+        loadImage();
+        return adminsView;
     }
 
     // Job Posting Management
     public void addJobPosting(JobPosting job) {
-        jobPostings.put(job.getJobId(), job);
+        registerJob(job);
+        if (journal != null) {
+            journal.jobAdded(job);
+        }
+    }
+
+    public boolean addJobPostingIfAbsent(JobPosting job) {
+        // A record still only in the snapshot counts as registered
+        if ((image != null && getJobById(job.getJobId()) != null)
+                || jobPostings.putIfAbsent(job.getJobId(), job) != null) {
+            return false;
+        }
+        indexJob(job, null);
+        if (journal != null) {
+            journal.jobAdded(job);
+        }
+        return true;
+    }
+
+    public void addJobPostings(Collection<JobPosting> batch) {
+        for (JobPosting job : batch) {
+            registerJob(job);
+        }
+        if (journal != null && !batch.isEmpty()) {
+            journal.jobsAdded(batch);
+        }
+    }
+
+    private void registerJob(JobPosting job) {
+        indexJob(job, jobPostings.put(job.getJobId(), job));
+    }
+
+    private void indexJob(JobPosting job, JobPosting previous) {
+        if (previous != null) {
+            unindex(jobsByCompany, previous.getCompany().getId(), previous);
+            eligibility.removeJob(previous);
+        }
+        index(jobsByCompany, job.getCompany().getId(), job);
+        eligibility.addJob(job);
+        jobText.put(job);
     }
 
     public JobPosting getJobById(String jobId) {
-        return jobPostings.get(jobId);
+        MappedSnapshot snapshot = image;
+        JobPosting job = jobPostings.get(jobId);
+        return job != null || snapshot == null ? job : fault(snapshot.findJob(jobId), this::faultIn);
     }
 
     public List<JobPosting> getAllJobs() {
+        loadImage();
         return new ArrayList<>(jobPostings.values());
     }
 
+    public Collection<JobPosting> getJobsView() {
+        loadImage();
+        return jobsView;
+    }
+
+    public void forEachJob(Consumer<? super JobPosting> action) {
+        loadImage();
+        jobPostings.values().forEach(action);
+    }
+
     public List<JobPosting> getCompanyJobs(String companyId) {
-        return jobPostings.values().stream()
-            .filter(job -> job.getCompany().getId().equals(companyId))
-            .collect(Collectors.toList());
+        loadImage();
+        return lookup(jobsByCompany, companyId);
     }
 
     public List<JobPosting> getEligibleJobs(Student student) {
-        return jobPostings.values().stream()
-            .filter(job -> job.isEligible(student))
-            .collect(Collectors.toList());
+        loadImage();
+        long start = metrics.start();
+        List<JobPosting> jobs = eligibility.eligibleJobs(student);
+        metrics.record(PlacementMetrics.Operation.GET_ELIGIBLE_JOBS, start, jobs.size());
+        return jobs;
+    }
+
+    public List<Student> getEligibleStudents(JobPosting job) {
+        loadImage();
+        long start = metrics.start();
+        List<Student> eligible = eligibility.eligibleStudents(job);
+        metrics.record(PlacementMetrics.Operation.GET_ELIGIBLE_STUDENTS, start, eligible.size());
+        return eligible;
+    }
+
+    // Eligible for the job and holding every skill it requires, optionally only one graduating batch
+    // (0 for all); a columnar scan, in registration order
+    public List<Student> getQualifiedStudents(JobPosting job, int graduationYear) {
+        loadImage();
+        long start = metrics.start();
+        List<Student> qualified = studentColumns.select(job.getEligibleDepartments(), job.getMinCgpa(),
+            Double.POSITIVE_INFINITY, graduationYear, job.getRequiredSkillSet());
+        metrics.record(PlacementMetrics.Operation.GET_QUALIFIED_STUDENTS, start, qualified.size());
+        return qualified;
+    }
+
+    public int countEligibleStudents(JobPosting job) {
+        loadImage();
+        return studentColumns.countEligible(job);
+    }
+
+    public EligibilityMatrix buildEligibilityMatrix(double minSkillMatchPercentage) {
+        loadImage();
+        return new EligibilityMatrix(students.values(), jobPostings.values(),
+            eligibility::eligibleStudents, minSkillMatchPercentage);
+    }
+
+    // Recommendations
+    public List<JobRecommendation> recommendJobs(Student student, int k) {
+        loadImage();
+        long start = metrics.start();
+        List<JobRecommendation> result = topRecommendations(student, k);
+        metrics.record(PlacementMetrics.Operation.RECOMMEND_JOBS, start, result.size());
+        return result;
+    }
+
+    private List<JobRecommendation> topRecommendations(Student student, int k) {
+        if (k <= 0) {
+            return new ArrayList<>();
+        }
+        // Min-heap holding the best k seen so far; its head is the weakest kept candidate
+        PriorityQueue<JobRecommendation> best = new PriorityQueue<>(k + 1, JobRecommendation.RANKING.reversed());
+        SkillSet skills = student.getSkillSet();
+        for (JobPosting job : eligibility.eligibleJobs(student)) {
+            if (appliedPairs.contains(applicationKey(student.getId(), job.getJobId()))) {
+                continue;
+            }
+            double match = job.getRequiredSkillSet().matchPercentage(skills);
+            double margin = student.getCgpa() - job.getMinCgpa();
+            if (best.size() == k) {
+                JobRecommendation weakest = best.peek();
+                if (JobRecommendation.compare(match, job.getPackageLPA(), margin,
+                        weakest.getMatchPercentage(), weakest.getJob().getPackageLPA(),
+                        weakest.getCgpaMargin()) <= 0) {
+                    continue;
+                }
+                best.poll();
+            }
+            best.add(new JobRecommendation(job, match, margin));
+        }
+        List<JobRecommendation> result = new ArrayList<>(best);
+        result.sort(JobRecommendation.RANKING);
+        return result;
+    }
+
+    public Map<String, List<JobRecommendation>> recommendJobsForAll(int k) {
+        return recommendJobsForAll(k, ForkJoinPool.commonPool());
+    }
+
+    public Map<String, List<JobRecommendation>> recommendJobsForAll(int k, ForkJoinPool pool) {
+        loadImage();
+        // A parallel stream started from inside the pool runs its tasks on that pool
+        return pool.submit(() -> students.values().parallelStream()
+            .collect(Collectors.toConcurrentMap(Student::getId, student -> recommendJobs(student, k))))
+            .join();
     }
 
     // Application Management
     public boolean applyForJob(Student student, JobPosting job) {
-        // Check if already applied
-        for (Application app : applications.values()) {
-            if (app.getStudent().getId().equals(student.getId()) &&
-                app.getJob().getJobId().equals(job.getJobId())) {
-                return false; // Already applied
+        loadImage();
+        long start = metrics.start();
+        List<Application> created = new ArrayList<>(1);
+        ApplyOutcome outcome;
+        synchronized (applyLock(student.getId())) {
+            outcome = apply(student, job, created, null);
+        }
+        if (journal != null && !created.isEmpty()) {
+            journal.sync();
+        }
+        if (outcome == ApplyOutcome.APPLIED) {
+            metrics.record(PlacementMetrics.Operation.APPLY_FOR_JOB, start, 1);
+        } else {
+            metrics.recordError(PlacementMetrics.Operation.APPLY_FOR_JOB, start);
+        }
+        return outcome == ApplyOutcome.APPLIED;
+    }
+
+    public Map<String, ApplyOutcome> applyForJobs(Student student, Collection<JobPosting> jobs) {
+        loadImage();
+        long start = metrics.start();
+        Map<String, ApplyOutcome> outcomes = new LinkedHashMap<>();
+        List<Application> created = new ArrayList<>();
+        synchronized (applyLock(student.getId())) {
+            // One reservation numbers the whole batch; whatever it did not use goes back
+            IdBlock ids = jobs.isEmpty() ? null : applicationIds.reserve(jobs.size());
+            for (JobPosting job : jobs) {
+                outcomes.putIfAbsent(job.getJobId(), apply(student, job, created, ids));
+            }
+            if (ids != null) {
+                applicationIds.release(ids);
             }
         }
+        // Synced outside the stripe so one fsync can cover many students' batches
+        if (journal != null && !created.isEmpty()) {
+            journal.sync();
+        }
+        metrics.record(PlacementMetrics.Operation.APPLY_FOR_JOBS, start, created.size());
+        return outcomes;
+    }
+
+    private Object applyLock(String studentId) {
+        return applyLocks[(studentId.hashCode() & 0x7fffffff) % applyLocks.length];
+    }
+
+    private ApplyOutcome apply(Student student, JobPosting job, List<Application> created, IdBlock ids) {
+        String key = applicationKey(student.getId(), job.getJobId());
+        if (appliedPairs.contains(key)) {
+            return ApplyOutcome.ALREADY_APPLIED;
+        }
 
-        // Check eligibility
         if (!job.isEligible(student)) {
-            return false;
+            return ApplyOutcome.NOT_ELIGIBLE;
         }
 
-        String appId = "APP" + String.format("%04d", applicationCounter++);
-        Application application = new Application(appId, student, job);
-        applications.put(appId, application);
-        return true;
+        long number = ids != null && ids.hasNext() ? ids.next() : applicationIds.allocate();
+        Application application = new Application(number, student, job);
+        // Logged before it is visible, so no status record for it can come first
+        PlacementJournal log = journal;
+        if (log != null) {
+            log.applicationAppended(application, () -> insertApplication(application));
+        } else {
+            insertApplication(application);
+        }
+        created.add(application);
+        return ApplyOutcome.APPLIED;
+    }
+
+    private void insertApplication(Application application) {
+        synchronized (application) {
+            application.setStatusListener(applicationListener);
+            applicationsByJobStatus.computeIfAbsent(application.getJob().getJobId(),
+                k -> new StatusIndex<>(ApplicationStatus.class)).add(application, application.getStatus());
+            applicationCounts.get(application.getStatus()).increment();
+        }
+        applications.put(application.getNumber(), application);
+        appliedPairs.add(applicationKey(application.getStudent().getId(), application.getJob().getJobId()));
+        applicationTimeline.add(application);
+        timeline(applicationsByStudent, application.getStudent().getId(), BY_APPLIED_DATE).add(application);
+        timeline(applicationsByCompany, application.getJob().getCompany().getId(), BY_APPLIED_DATE).add(application);
+        index(applicationsByJob, application.getJob().getJobId(), application);
+    }
+
+    private static String applicationKey(String studentId, String jobId) {
+        return studentId + '\u0000' + jobId;
     }
 
     public Application getApplicationById(String applicationId) {
-        return applications.get(applicationId);
+        long number = applicationIds.parse(applicationId);
+        if (number < 0) {
+            return null;
+        }
+        MappedSnapshot snapshot = image;
+        Application app = applications.get(number);
+        return app != null || snapshot == null ? app : fault(snapshot.findApplication(applicationId), this::faultIn);
     }
 
     public List<Application> getAllApplications() {
+        loadImage();
         return new ArrayList<>(applications.values());
     }
 
+    public Collection<Application> getApplicationsView() {
+        loadImage();
+        return applicationsView;
+    }
+
+    public void forEachApplication(Consumer<? super Application> action) {
+        loadImage();
+        applications.values().forEach(action);
+    }
+
     public List<Application> getStudentApplications(String studentId) {
-        return applications.values().stream()
-            .filter(app -> app.getStudent().getId().equals(studentId))
-            .collect(Collectors.toList());
+        loadImage();
+        long start = metrics.start();
+        List<Application> result = lookup(applicationsByStudent, studentId, null, null);
+        metrics.record(PlacementMetrics.Operation.GET_STUDENT_APPLICATIONS, start, result.size());
+        return result;
     }
 
     public List<Application> getJobApplications(String jobId) {
-        return applications.values().stream()
-            .filter(app -> app.getJob().getJobId().equals(jobId))
-            .collect(Collectors.toList());
+        loadImage();
+        long start = metrics.start();
+        List<Application> result = lookup(applicationsByJob, jobId);
+        metrics.record(PlacementMetrics.Operation.GET_JOB_APPLICATIONS, start, result.size());
+        return result;
+    }
+
+    // Applications received in [from, to), oldest first, either end open when null; the company and student variants seek their
+    // own timelines, so cost follows the result rather than the campus size
+    public List<Application> getApplicationsBetween(LocalDateTime from, LocalDateTime to) {
+        loadImage();
+        return new ArrayList<>(applicationTimeline.between(from, to));
+    }
+
+    public List<Application> getCompanyApplicationsBetween(String companyId, LocalDateTime from, LocalDateTime to) {
+        loadImage();
+        return lookup(applicationsByCompany, companyId, from, to);
+    }
+
+    public List<Application> getStudentApplicationsBetween(String studentId, LocalDateTime from, LocalDateTime to) {
+        loadImage();
+        return lookup(applicationsByStudent, studentId, from, to);
+    }
+
+    // A job's applications in one status, e.g. its SHORTLISTED pipeline
+    public List<Application> getJobApplications(String jobId, ApplicationStatus status) {
+        loadImage();
+        StatusIndex<ApplicationStatus, Application> pipeline = applicationsByJobStatus.get(jobId);
+        return pipeline == null ? new ArrayList<>() : new ArrayList<>(pipeline.get(status));
+    }
+
+    public EnumMap<ApplicationStatus, Integer> getJobPipeline(String jobId) {
+        loadImage();
+        StatusIndex<ApplicationStatus, Application> pipeline = applicationsByJobStatus.get(jobId);
+        return (pipeline == null ? new StatusIndex<>(ApplicationStatus.class) : pipeline).counts();
+    }
+
+    public EnumMap<ApplicationStatus, Long> getApplicationCounts() {
+        loadImage();
+        EnumMap<ApplicationStatus, Long> counts = new EnumMap<>(ApplicationStatus.class);
+        for (Map.Entry<ApplicationStatus, LongAdder> count : applicationCounts.entrySet()) {
+            counts.put(count.getKey(), count.getValue().sum());
+        }
+        return counts;
     }
 
-    public boolean updateApplicationStatus(String applicationId, String status) {
-        Application app = applications.get(applicationId);
+    // False for an unknown application or a transition the state machine does not allow
+    public boolean updateApplicationStatus(String applicationId, ApplicationStatus status) {
+        long start = metrics.start();
+        Application app = getApplicationById(applicationId);
+        boolean moved = false;
         if (app != null) {
-            app.setStatus(status);
+            PlacementJournal log = journal;
+            synchronized (app) {
+                ApplicationStatus before = app.getStatus();
+                moved = app.moveTo(status);
+                if (moved && log != null && before != status) {
+                    log.applicationStatusAppended(app);
+                }
+            }
+            if (moved && log != null) {
+                log.sync();
+            }
+        }
+        if (moved) {
+            metrics.record(PlacementMetrics.Operation.UPDATE_APPLICATION_STATUS, start, 1);
             return true;
         }
+        metrics.recordError(PlacementMetrics.Operation.UPDATE_APPLICATION_STATUS, start);
         return false;
     }
 
+    private void applicationStatusChanged(Application app, ApplicationStatus oldStatus, ApplicationStatus newStatus) {
+        applicationsByJobStatus.get(app.getJob().getJobId()).move(app, oldStatus, newStatus);
+        applicationCounts.get(oldStatus).decrement();
+        applicationCounts.get(newStatus).increment();
+    }
+
     // Interview Management
-    public boolean scheduleInterview(String applicationId, String date, String time,
-                                    String location, String type) {
-        Application app = applications.get(applicationId);
+    public ScheduleResult scheduleInterview(String applicationId, String date, String time,
+                                            String location, String type) {
+        return scheduleInterview(applicationId, date, time, location, type, Interview.DEFAULT_DURATION_MINUTES);
+    }
+
+    // Books the slot only if the student, the company's panel and the location are all free
+    public ScheduleResult scheduleInterview(String applicationId, String date, String time,
+                                            String location, String type, int durationMinutes) {
+        loadImage();
+        long start = metrics.start();
+        ScheduleResult result = book(applicationId, date, time, location, type, durationMinutes);
+        if (result.isScheduled()) {
+            if (journal != null) {
+                journal.sync();
+            }
+            metrics.record(PlacementMetrics.Operation.SCHEDULE_INTERVIEW, start, 1);
+        } else {
+            metrics.recordError(PlacementMetrics.Operation.SCHEDULE_INTERVIEW, start);
+        }
+        return result;
+    }
+
+    // Schedules a whole interview drive for one company; see InterviewSlotScheduler
+    public SlotSchedule scheduleInterviews(InterviewSlotScheduler scheduler, Collection<Application> batch) {
+        loadImage();
+        long start = metrics.start();
+        SlotSchedule schedule = scheduler.schedule(this, batch);
+        // One fsync for the whole drive
+        if (journal != null && !schedule.getInterviews().isEmpty()) {
+            journal.sync();
+        }
+        metrics.record(PlacementMetrics.Operation.SCHEDULE_INTERVIEWS, start, schedule.getInterviews().size());
+        return schedule;
+    }
+
+    private ScheduleResult book(String applicationId, String date, String time,
+                                String location, String type, int durationMinutes) {
+        Application app = getApplicationById(applicationId);
         if (app == null) {
-            return false;
+            return ScheduleResult.rejected(ScheduleResult.Status.UNKNOWN_APPLICATION,
+                "No application with ID " + applicationId);
+        }
+        LocalDateTime begin = Interview.parseStart(date, time);
+        if (begin == null) {
+            return ScheduleResult.rejected(ScheduleResult.Status.INVALID_TIME,
+                "Could not read date '" + date + "' and time '" + time + "' (expected YYYY-MM-DD and HH:MM)");
         }
+        if (durationMinutes <= 0 || durationMinutes > 24 * 60) {
+            return ScheduleResult.rejected(ScheduleResult.Status.INVALID_TIME,
+                "Duration must be between 1 and 1440 minutes");
+        }
+        return book(app, date, time, begin, durationMinutes, location, type, 1);
+    }
 
-        String interviewId = "INT" + String.format("%04d", interviewCounter++);
-        Interview interview = new Interview(interviewId, app, date, time, location, type);
-        interviews.put(interviewId, interview);
-        
-        // Update application status
-        app.setStatus("SHORTLISTED");
+    // Checks, books and logs atomically; the caller syncs the journal. The company may run up to `panels`
+    // interviews at once
+    ScheduleResult book(Application app, String date, String time, LocalDateTime begin, int durationMinutes,
+                        String location, String type, int panels) {
+        LocalDateTime end = begin.plusMinutes(durationMinutes);
+        Company company = app.getJob().getCompany();
+
+        // Lock order is application, then calendars
+        synchronized (app) {
+            if (!app.getStatus().canMoveTo(ApplicationStatus.SHORTLISTED)) {
+                return ScheduleResult.rejected(ScheduleResult.Status.APPLICATION_CLOSED,
+                    "Application " + app.getApplicationId() + " is " + app.getStatus());
+            }
+            synchronized (scheduleLock) {
+                return book(app, company, date, time, begin, end, durationMinutes, location, type, panels);
+            }
+        }
+    }
+
+    private ScheduleResult book(Application app, Company company, String date, String time, LocalDateTime begin,
+                                LocalDateTime end, int durationMinutes, String location, String type, int panels) {
+        Interview clash = findConflict(studentCalendars, app.getStudent().getId(), begin, end);
+        if (clash != null) {
+            return ScheduleResult.conflict(ScheduleResult.Status.STUDENT_CONFLICT, clash,
+                "Student " + app.getStudent().getId());
+        }
+        List<InterviewCalendar> companyPanels = companyCalendars.get(company.getId());
+        int panel = freePanel(companyPanels, panels, begin, end);
+        if (panel < 0) {
+            return ScheduleResult.conflict(ScheduleResult.Status.COMPANY_CONFLICT,
+                companyPanels.get(0).findConflict(begin, end), "Company " + company.getName());
+        }
+        clash = findConflict(locationCalendars, locationKey(location), begin, end);
+        if (clash != null) {
+            return ScheduleResult.conflict(ScheduleResult.Status.LOCATION_CONFLICT, clash,
+                "Location " + location);
+        }
+
+        Interview interview = new Interview(interviewIds.allocate(), app, date, time, location, type, durationMinutes);
+        index(interview);
+        calendar(studentCalendars, app.getStudent().getId()).add(interview);
+        panel(company.getId(), panel).add(interview);
+        book(locationCalendars, locationKey(location), interview);
+        app.moveTo(ApplicationStatus.SHORTLISTED);
+        PlacementJournal log = journal;
+        if (log != null) {
+            log.interviewAppended(interview); // with the application's new status
+        }
+        return ScheduleResult.scheduled(interview);
+    }
+
+    private static Interview findConflict(Map<String, InterviewCalendar> calendars, String key,
+                                          LocalDateTime start, LocalDateTime end) {
+        InterviewCalendar calendar = key == null ? null : calendars.get(key);
+        return calendar == null ? null : calendar.findConflict(start, end);
+    }
+
+    // First of the company's panels free over [start, end), or -1 if all are busy
+    private static int freePanel(List<InterviewCalendar> companyPanels, int panels, LocalDateTime start,
+                                 LocalDateTime end) {
+        for (int i = 0; i < panels; i++) {
+            if (companyPanels == null || i >= companyPanels.size()
+                    || companyPanels.get(i).findConflict(start, end) == null) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private InterviewCalendar panel(String companyId, int panel) {
+        List<InterviewCalendar> companyPanels = companyCalendars.computeIfAbsent(companyId, k -> new ArrayList<>());
+        while (companyPanels.size() <= panel) {
+            companyPanels.add(new InterviewCalendar());
+        }
+        return companyPanels.get(panel);
+    }
+
+    // Online links and room names compare case-insensitively; blank locations are not tracked
+    private static String locationKey(String location) {
+        if (location == null || location.trim().isEmpty()) {
+            return null;
+        }
+        return location.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Restored interviews take the first company panel they fit, opening a new one if needed
+    private void insertInterview(Interview interview) {
+        index(interview);
+        if (interview.getStart() != null && interview.getStatus() != InterviewStatus.CANCELLED) {
+            Application app = interview.getApplication();
+            String companyId = app.getJob().getCompany().getId();
+            synchronized (scheduleLock) {
+                book(studentCalendars, app.getStudent().getId(), interview);
+                List<InterviewCalendar> companyPanels = companyCalendars.get(companyId);
+                int size = companyPanels == null ? 0 : companyPanels.size();
+                panel(companyId, freePanel(companyPanels, size + 1, interview.getStart(), interview.getEnd()))
+                    .add(interview);
+                book(locationCalendars, locationKey(interview.getLocation()), interview);
+            }
+        }
+    }
+
+    private void index(Interview interview) {
+        Application app = interview.getApplication();
+        interview.setStatusListener(interviewListener);
+        interviewsByStatus.add(interview, interview.getStatus());
+        interviews.put(interview.getNumber(), interview);
+        interviewTimeline.add(interview);
+        timeline(interviewsByStudent, app.getStudent().getId(), BY_START).add(interview);
+        timeline(interviewsByCompany, app.getJob().getCompany().getId(), BY_START).add(interview);
+    }
+
+    private static void book(Map<String, InterviewCalendar> calendars, String key, Interview interview) {
+        if (key != null) {
+            calendar(calendars, key).add(interview);
+        }
+    }
+
+    private static InterviewCalendar calendar(Map<String, InterviewCalendar> calendars, String key) {
+        return calendars.computeIfAbsent(key, k -> new InterviewCalendar());
+    }
+
+    public Collection<Interview> getInterviewsView() {
+        loadImage();
+        return interviewsView;
+    }
+
+    public List<Interview> getInterviews(InterviewStatus status) {
+        loadImage();
+        return new ArrayList<>(interviewsByStatus.get(status));
+    }
+
+    public EnumMap<InterviewStatus, Integer> getInterviewCounts() {
+        loadImage();
+        return interviewsByStatus.counts();
+    }
+
+    // False for an unknown interview or a transition the state machine does not allow
+    public boolean updateInterviewStatus(String interviewId, InterviewStatus status) {
+        Interview interview = getInterviewById(interviewId);
+        if (interview == null) {
+            return false;
+        }
+        PlacementJournal log = journal;
+        synchronized (interview) {
+            InterviewStatus before = interview.getStatus();
+            if (!interview.moveTo(status)) {
+                return false;
+            }
+            if (log != null && before != status) {
+                log.interviewStatusAppended(interview);
+            }
+        }
+        if (log != null) {
+            log.sync();
+        }
         return true;
     }
 
+    // Frees the slot in the student's, company's and room's calendars
+    public boolean cancelInterview(String interviewId) {
+        return updateInterviewStatus(interviewId, InterviewStatus.CANCELLED);
+    }
+
+    public boolean completeInterview(String interviewId) {
+        return updateInterviewStatus(interviewId, InterviewStatus.COMPLETED);
+    }
+
+    private void interviewStatusChanged(Interview interview, InterviewStatus oldStatus, InterviewStatus newStatus) {
+        interviewsByStatus.move(interview, oldStatus, newStatus);
+        if (newStatus == InterviewStatus.CANCELLED && interview.getStart() != null) {
+            Application app = interview.getApplication();
+            synchronized (scheduleLock) {
+                unbook(studentCalendars, app.getStudent().getId(), interview);
+                List<InterviewCalendar> companyPanels = companyCalendars.get(app.getJob().getCompany().getId());
+                if (companyPanels != null) {
+                    for (InterviewCalendar panel : companyPanels) {
+                        panel.remove(interview);
+                    }
+                }
+                unbook(locationCalendars, locationKey(interview.getLocation()), interview);
+            }
+        }
+    }
+
+    private static void unbook(Map<String, InterviewCalendar> calendars, String key, Interview interview) {
+        InterviewCalendar calendar = key == null ? null : calendars.get(key);
+        if (calendar != null) {
+            calendar.remove(interview);
+        }
+    }
+
+    // Earliest first; interviews whose date could not be parsed come before the rest
     public List<Interview> getStudentInterviews(String studentId) {
-        return interviews.values().stream()
-            .filter(interview -> interview.getApplication().getStudent().getId().equals(studentId))
-            .collect(Collectors.toList());
+        loadImage();
+        return lookup(interviewsByStudent, studentId, null, null);
     }
 
     public List<Interview> getCompanyInterviews(String companyId) {
-        return interviews.values().stream()
-            .filter(interview -> interview.getApplication().getJob()
-                .getCompany().getId().equals(companyId))
-            .collect(Collectors.toList());
+        loadImage();
+        return lookup(interviewsByCompany, companyId, null, null);
+    }
+
+    // Interviews starting in [from, to) in any status, earliest first, either end open when null
+    public List<Interview> getInterviewsBetween(LocalDateTime from, LocalDateTime to) {
+        loadImage();
+        return new ArrayList<>(interviewTimeline.between(from, to));
+    }
+
+    public List<Interview> getStudentInterviewsBetween(String studentId, LocalDateTime from, LocalDateTime to) {
+        loadImage();
+        return lookup(interviewsByStudent, studentId, from, to);
+    }
+
+    public List<Interview> getCompanyInterviewsBetween(String companyId, LocalDateTime from, LocalDateTime to) {
+        loadImage();
+        return lookup(interviewsByCompany, companyId, from, to);
+    }
+
+    // The next `limit` still-SCHEDULED interviews starting at or after `from`, for reminders and
+    // dashboards; walks the timeline lazily and stops as soon as enough are found
+    public List<Interview> getUpcomingInterviews(LocalDateTime from, int limit) {
+        loadImage();
+        return upcoming(interviewTimeline, from, limit);
+    }
+
+    public List<Interview> getUpcomingStudentInterviews(String studentId, LocalDateTime from, int limit) {
+        loadImage();
+        return upcoming(interviewsByStudent.get(studentId), from, limit);
+    }
+
+    public List<Interview> getUpcomingCompanyInterviews(String companyId, LocalDateTime from, int limit) {
+        loadImage();
+        return upcoming(interviewsByCompany.get(companyId), from, limit);
+    }
+
+    private static List<Interview> upcoming(TimeIndex<Interview> timeline, LocalDateTime from, int limit) {
+        List<Interview> result = new ArrayList<>(Math.min(Math.max(limit, 0), 64));
+        if (timeline == null) {
+            return result;
+        }
+        for (Interview interview : timeline.from(from)) {
+            if (result.size() >= limit) {
+                break;
+            }
+            if (interview.getStatus() == InterviewStatus.SCHEDULED) {
+                result.add(interview);
+            }
+        }
+        return result;
     }
 
     // Job Offer Management
     public boolean makeJobOffer(String applicationId, double packageLPA,
                                String joiningDate, String details) {
-        Application app = applications.get(applicationId);
-        if (app == null) {
-            return false;
+        return createJobOffer(applicationId, packageLPA, joiningDate, details) != null;
+    }
+
+    public JobOffer createJobOffer(String applicationId, double packageLPA,
+                                   String joiningDate, String details) {
+        long start = metrics.start();
+        Application app = getApplicationById(applicationId);
+        if (app == null || app.getStatus() == ApplicationStatus.REJECTED) {
+            metrics.recordError(PlacementMetrics.Operation.MAKE_JOB_OFFER, start);
+            return null;
         }
 
-        String offerId = "OFF" + String.format("%04d", offerCounter++);
-        JobOffer offer = new JobOffer(offerId, app, packageLPA, joiningDate, details);
-        jobOffers.put(offerId, offer);
-        return true;
+        JobOffer offer = new JobOffer(offerIds.allocate(), app, packageLPA, joiningDate, details);
+        // Logged before it is visible, so no status record for it can come first
+        PlacementJournal log = journal;
+        if (log != null) {
+            log.offerMade(offer, () -> insertOffer(offer));
+        } else {
+            insertOffer(offer);
+        }
+        metrics.record(PlacementMetrics.Operation.MAKE_JOB_OFFER, start, 1);
+        return offer;
+    }
+
+    private void insertOffer(JobOffer offer) {
+        Application app = offer.getApplication();
+        offer.setStatusListener(offerListener);
+        offersByStatus.add(offer, offer.getStatus());
+        jobOffers.put(offer.getNumber(), offer);
+        index(offersByStudent, app.getStudent().getId(), offer);
+        index(offersByApplication, app.getNumber(), offer);
     }
 
     public List<JobOffer> getStudentOffers(String studentId) {
-        return jobOffers.values().stream()
-            .filter(offer -> offer.getApplication().getStudent().getId().equals(studentId))
-            .collect(Collectors.toList());
+        loadImage();
+        return lookup(offersByStudent, studentId);
     }
 
     public List<JobOffer> getApplicationOffers(String applicationId) {
-        return jobOffers.values().stream()
-            .filter(offer -> offer.getApplication().getApplicationId().equals(applicationId))
-            .collect(Collectors.toList());
+        loadImage();
+        return lookup(offersByApplication, applicationIds.parse(applicationId));
     }
 
     public List<JobOffer> getAllOffers() {
+        loadImage();
         return new ArrayList<>(jobOffers.values());
     }
 
+    public Collection<JobOffer> getOffersView() {
+        loadImage();
+        return offersView;
+    }
+
+    public void forEachOffer(Consumer<? super JobOffer> action) {
+        loadImage();
+        jobOffers.values().forEach(action);
+    }
+
+    public List<JobOffer> getOffers(OfferStatus status) {
+        loadImage();
+        return new ArrayList<>(offersByStatus.get(status));
+    }
+
+    public EnumMap<OfferStatus, Integer> getOfferCounts() {
+        loadImage();
+        return offersByStatus.counts();
+    }
+
+    private void offerStatusChanged(JobOffer offer, OfferStatus oldStatus, OfferStatus newStatus) {
+        offersByStatus.move(offer, oldStatus, newStatus);
+        if (newStatus == OfferStatus.ACCEPTED) {
+            statistics.offerAccepted(offer);
+        } else if (oldStatus == OfferStatus.ACCEPTED) {
+            statistics.offerWithdrawn(offer);
+        }
+        PlacementJournal log = journal;
+        if (log != null) {
+            log.offerStatusAppended(offer); // synced once the offer is unlocked
+        }
+    }
+
     // Statistics and Reports
     public Map<String, Object> getPlacementStatistics() {
-        Map<String, Object> stats = new HashMap<>();
+        loadImage();
+        long start = metrics.start();
+        Map<String, Object> stats = new ConcurrentHashMap<>();
         
         long totalStudents = students.size();
-        long placedStudents = jobOffers.values().stream()
-            .filter(offer -> offer.getStatus().equals("ACCEPTED"))
-            .map(offer -> offer.getApplication().getStudent().getId())
-            .distinct()
-            .count();
+        long placedStudents = statistics.getPlacedStudents();
         
         double placementPercentage = totalStudents > 0 ? 
             (placedStudents * 100.0 / totalStudents) : 0;
         
-        OptionalDouble avgPackage = jobOffers.values().stream()
-            .filter(offer -> offer.getStatus().equals("ACCEPTED"))
-            .mapToDouble(JobOffer::getPackage)
-            .average();
-        
-        OptionalDouble maxPackage = jobOffers.values().stream()
-            .filter(offer -> offer.getStatus().equals("ACCEPTED"))
-            .mapToDouble(JobOffer::getPackage)
-            .max();
-        
         stats.put("totalStudents", totalStudents);
         stats.put("placedStudents", placedStudents);
         stats.put("placementPercentage", placementPercentage);
-        stats.put("averagePackage", avgPackage.orElse(0));
-        stats.put("highestPackage", maxPackage.orElse(0));
+        stats.put("averagePackage", statistics.getAveragePackage());
+        stats.put("highestPackage", statistics.getHighestPackage());
         stats.put("totalJobs", jobPostings.size());
         stats.put("totalApplications", applications.size());
         stats.put("totalOffers", jobOffers.size());
+        stats.put("acceptedOffers", statistics.getAcceptedOffers());
+        stats.put("pendingOffers", (long) offersByStatus.count(OfferStatus.PENDING));
+        stats.put("shortlistedApplications", applicationCounts.get(ApplicationStatus.SHORTLISTED).sum());
+        stats.put("scheduledInterviews", (long) interviewsByStatus.count(InterviewStatus.SCHEDULED));
         
+        metrics.record(PlacementMetrics.Operation.GET_PLACEMENT_STATISTICS, start, stats.size());
         return stats;
     }
 
     public Map<String, Integer> getDepartmentWisePlacement() {
-        Map<String, Integer> deptStats = new HashMap<>();
-        
-        for (JobOffer offer : jobOffers.values()) {
-            if (offer.getStatus().equals("ACCEPTED")) {
-                String dept = offer.getApplication().getStudent().getDepartment();
-                deptStats.put(dept, deptStats.getOrDefault(dept, 0) + 1);
+        loadImage();
+        return statistics.getDepartmentWisePlacement();
+    }
+
+    public int getAcceptedOfferCount(Student student) {
+        loadImage();
+        return statistics.getAcceptedOffers(student);
+    }
+
+    public List<Student> getUnplacedStudents() {
+        loadImage();
+        long start = metrics.start();
+        List<Student> unplaced = statistics.getUnplacedStudents();
+        metrics.record(PlacementMetrics.Operation.GET_UNPLACED_STUDENTS, start, unplaced.size());
+        return unplaced;
+    }
+
+    // Queries
+    // The most selective index the criteria allow produces the candidates, the other criteria are checked
+    // on those lazily, and only one sorted page is kept. For students the columnar scan is the fallback;
+    // a set lookup wins when it is smaller than what the scan costs in lookup terms.
+    private static final int SCAN_ROWS_PER_LOOKUP = 16;
+
+    public QueryPage<Student> findStudents(StudentQuery query) {
+        loadImage();
+        long start = metrics.start();
+        Predicate<Student> afterCursor = query.afterCursor();
+        SkillSet skills = knownSkills(query.getSkills());
+        String companyId = query.getCompanyId();
+        ApplicationStatus status = query.getApplicationStatus();
+
+        Iterable<Student> candidates;
+        String plan;
+        boolean byColumns = false;
+        boolean byPlaced = false;
+        boolean byApplications = false;
+        // Without column criteria the fallback walks every Student object instead
+        long best = query.filtersColumns() ? studentColumns.size() / SCAN_ROWS_PER_LOOKUP : students.size();
+        long placed = query.getPlaced() == Boolean.TRUE ? statistics.getPlacedStudents() : Long.MAX_VALUE;
+        long applied = query.filtersApplications() ? countApplications(companyId, status) : Long.MAX_VALUE;
+        if (skills == null) {
+            candidates = Collections.emptyList(); // a skill no one has ever listed
+            plan = "unknown skill";
+        } else if (placed <= Math.min(best, applied)) {
+            candidates = statistics.getPlacedStudentList();
+            plan = "placed students (" + placed + ")";
+            byPlaced = true;
+        } else if (applied <= best) {
+            candidates = applicants(companyId, status);
+            plan = "applicants" + (companyId == null ? "" : " to " + companyId)
+                + (status == null ? "" : " in " + status) + " (" + applied + " applications)";
+            byApplications = true;
+        } else if (query.filtersColumns()) {
+            candidates = studentColumns.select(query.getDepartments(), query.getMinCgpa(), query.getMaxCgpa(),
+                query.getGraduationYear(), skills);
+            plan = "column scan";
+            byColumns = true;
+        } else {
+            candidates = studentsView;
+            plan = "all students";
+        }
+
+        // Cheapest checks first
+        List<Predicate<Student>> checks = new ArrayList<>();
+        if (!byColumns) {
+            if (query.getGraduationYear() != 0) {
+                checks.add(s -> s.getGraduationYear() == query.getGraduationYear());
+            }
+            if (query.getMinCgpa() > Double.NEGATIVE_INFINITY || query.getMaxCgpa() < Double.POSITIVE_INFINITY) {
+                checks.add(s -> s.getCgpa() >= query.getMinCgpa() && s.getCgpa() <= query.getMaxCgpa());
+            }
+            if (query.getDepartments() != null) {
+                checks.add(s -> query.getDepartments().contains(s.getDepartment()));
+            }
+            if (skills != null && !skills.isEmpty()) {
+                checks.add(s -> s.getSkillSet().containsAll(skills));
             }
         }
-        
-        return deptStats;
+        if (query.getPlaced() != null && !byPlaced) {
+            boolean wanted = query.getPlaced();
+            checks.add(s -> (statistics.getAcceptedOffers(s) > 0) == wanted);
+        }
+        if (query.filtersApplications() && !byApplications) {
+            checks.add(s -> hasApplication(s, companyId, status));
+        }
+
+        QueryPage<Student> page = QueryPage.select(candidates, false, QueryPage.all(checks),
+            query.getOrder().comparator(), afterCursor, query.getLimit(), query::cursorOf, plan);
+        metrics.record(PlacementMetrics.Operation.FIND_STUDENTS, start, page.getItems().size());
+        return page;
     }
 
-    public List<Student> getUnplacedStudents() {
-        Set<String> placedStudentIds = jobOffers.values().stream()
-            .filter(offer -> offer.getStatus().equals("ACCEPTED"))
-            .map(offer -> offer.getApplication().getStudent().getId())
-            .collect(Collectors.toSet());
-        
-        return students.values().stream()
-            .filter(student -> !placedStudentIds.contains(student.getId()))
-            .collect(Collectors.toList());
+    public QueryPage<Application> findApplications(ApplicationQuery query) {
+        loadImage();
+        long start = metrics.start();
+        Predicate<Application> afterCursor = query.afterCursor();
+        String jobId = query.getJobId();
+        String companyId = query.getCompanyId();
+        ApplicationStatus status = query.getStatus();
+        // Timelines are walked in the requested time order, resuming at the cursor, and stop once the
+        // page is full; ID order walks the id range instead
+        boolean byTime = query.getOrder() != ApplicationQuery.Order.ID;
+        boolean latestFirst = query.getOrder() == ApplicationQuery.Order.NEWEST;
+        LocalDateTime from = query.getFrom();
+        LocalDateTime to = query.getTo();
+        LocalDateTime resumeAt = query.cursorTime();
+        if (resumeAt != null && latestFirst) {
+            to = to == null || resumeAt.isBefore(to) ? resumeAt.plusNanos(1) : to;
+        } else if (resumeAt != null) {
+            from = from == null || resumeAt.isAfter(from) ? resumeAt : from;
+        }
+
+        Iterable<Application> candidates;
+        String plan;
+        boolean inOrder = true;
+        if (byTime) {
+            candidates = applicationTimeline.range(from, to, latestFirst);
+            plan = query.filtersDates() ? "applied-date range" : "application timeline";
+        } else {
+            long after = query.cursorNumber();
+            candidates = () -> LongStream.range(after + 1, applicationIds.peekNext())
+                .mapToObj(applications::get).filter(Objects::nonNull).iterator();
+            plan = "id range";
+        }
+        // Exact counts first, then timelines counted only as far as the best choice so far; the full
+        // timeline stays the choice when nothing is smaller, as it can stop early
+        long best = applications.size();
+        if (jobId != null) {
+            StatusIndex<ApplicationStatus, Application> pipeline = applicationsByJobStatus.get(jobId);
+            best = pipeline == null ? 0 : status != null ? pipeline.count(status) : pipeline.size();
+            candidates = pipeline == null ? Collections.emptyList() : status != null ? pipeline.get(status)
+                : applicationsByJob.getOrDefault(jobId, new ConcurrentLinkedQueue<>());
+            plan = "job " + jobId + (status == null ? "" : " " + status) + " (" + best + ")";
+            inOrder = false;
+        }
+        if (status != null && best > 0) {
+            long count = countApplications(companyId, status);
+            if (count < best) {
+                best = count;
+                candidates = inStatus(companyId, status);
+                plan = status + " applications" + (companyId == null ? "" : " of " + companyId) + " (" + count + ")";
+                inOrder = false;
+            }
+        }
+        if (query.getStudentId() != null && best > 0) {
+            Collection<Application> timeline = range(applicationsByStudent.get(query.getStudentId()), from, to,
+                latestFirst);
+            long count = countUpTo(timeline, best);
+            if (count < best) {
+                best = count;
+                candidates = timeline;
+                plan = "student " + query.getStudentId() + " timeline (" + count + ")";
+                inOrder = byTime;
+            }
+        }
+        if (companyId != null && best > 0) {
+            Collection<Application> timeline = range(applicationsByCompany.get(companyId), from, to, latestFirst);
+            long count = countUpTo(timeline, best);
+            if (count < best) {
+                candidates = timeline;
+                plan = "company " + companyId + " timeline (" + count + ")";
+                inOrder = byTime;
+            }
+        }
+
+        QueryPage<Application> page = QueryPage.select(candidates, inOrder, query.matches(),
+            query.getOrder().comparator(), afterCursor, query.getLimit(), query::cursorOf, plan);
+        metrics.record(PlacementMetrics.Operation.FIND_APPLICATIONS, start, page.getItems().size());
+        return page;
+    }
+
+    // Null if any skill is unknown, so nobody can hold it; looking it up must not intern it
+    private static SkillSet knownSkills(Collection<String> skills) {
+        for (String skill : skills) {
+            if (SkillDictionary.idOf(skill) < 0) {
+                return null;
+            }
+        }
+        return SkillSet.of(skills);
+    }
+
+    // Applications to the company's jobs (all jobs if null) in the status (any if null), from the
+    // per-job status counts
+    private long countApplications(String companyId, ApplicationStatus status) {
+        if (companyId == null) {
+            return status == null ? applications.size() : applicationCounts.get(status).sum();
+        }
+        long count = 0;
+        for (JobPosting job : lookup(jobsByCompany, companyId)) {
+            StatusIndex<ApplicationStatus, Application> pipeline = applicationsByJobStatus.get(job.getJobId());
+            if (pipeline != null) {
+                count += status == null ? pipeline.size() : pipeline.count(status);
+            }
+        }
+        return count;
+    }
+
+    private Iterable<Application> inStatus(String companyId, ApplicationStatus status) {
+        Collection<JobPosting> jobs = companyId == null ? jobsView : lookup(jobsByCompany, companyId);
+        List<Collection<Application>> buckets = new ArrayList<>();
+        for (JobPosting job : jobs) {
+            StatusIndex<ApplicationStatus, Application> pipeline = applicationsByJobStatus.get(job.getJobId());
+            if (pipeline != null) {
+                buckets.add(pipeline.get(status));
+            }
+        }
+        return () -> buckets.stream().flatMap(Collection::stream).iterator();
+    }
+
+    private Set<Student> applicants(String companyId, ApplicationStatus status) {
+        Set<Student> applicants = new HashSet<>();
+        if (status != null) {
+            for (Application app : inStatus(companyId, status)) {
+                applicants.add(app.getStudent());
+            }
+        } else {
+            for (Application app : range(applicationsByCompany.get(companyId), null, null, false)) {
+                applicants.add(app.getStudent());
+            }
+        }
+        return applicants;
+    }
+
+    private boolean hasApplication(Student student, String companyId, ApplicationStatus status) {
+        TimeIndex<Application> timeline = applicationsByStudent.get(student.getId());
+        if (timeline != null) {
+            for (Application app : timeline.all()) {
+                if ((status == null || app.getStatus() == status)
+                        && (companyId == null || app.getJob().getCompany().getId().equals(companyId))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static <T> Collection<T> range(TimeIndex<T> timeline, LocalDateTime from, LocalDateTime to,
+                                           boolean latestFirst) {
+        return timeline == null ? Collections.emptyList() : timeline.range(from, to, latestFirst);
+    }
+
+    // Walks at most cap items, so sizing a large timeline costs no more than the best choice already found
+    private static long countUpTo(Iterable<?> items, long cap) {
+        long count = 0;
+        Iterator<?> it = items.iterator();
+        while (count < cap && it.hasNext()) {
+            it.next();
+            count++;
+        }
+        return count;
+    }
+
+    // Full-text Search
+    // BM25-ranked, best first. Job titles count twice and the required skills are indexed with the
+    // description; students are found by their resume text.
+    public List<SearchHit<JobPosting>> searchJobs(String text, int limit) {
+        return searchJobs(text, limit, null);
+    }
+
+    public List<SearchHit<JobPosting>> searchJobs(String text, int limit, Predicate<? super JobPosting> filter) {
+        loadImage();
+        long start = metrics.start();
+        List<SearchHit<JobPosting>> hits = jobText.search(text, QueryPage.clampLimit(limit), filter);
+        metrics.record(PlacementMetrics.Operation.SEARCH_JOBS, start, hits.size());
+        return hits;
+    }
+
+    public List<SearchHit<Student>> searchResumes(String text, int limit) {
+        return searchResumes(text, limit, null);
+    }
+
+    public List<SearchHit<Student>> searchResumes(String text, int limit, Predicate<? super Student> filter) {
+        loadImage();
+        long start = metrics.start();
+        List<SearchHit<Student>> hits = resumeText.search(text, QueryPage.clampLimit(limit), filter);
+        metrics.record(PlacementMetrics.Operation.SEARCH_RESUMES, start, hits.size());
+        return hits;
+    }
+
+    private static String searchableText(JobPosting job) {
+        String description = job.getDescription() == null ? "" : job.getDescription();
+        return job.getTitle() + " " + job.getTitle() + " " + description + " "
+            + String.join(" ", job.getRequiredSkills());
+    }
+
+    // Monitoring
+    public PlacementMetrics getMetrics() {
+        return metrics;
     }
 
     public Map<String, Long> getCompanyWiseHiring() {
-        return jobOffers.values().stream()
-            .filter(offer -> offer.getStatus().equals("ACCEPTED"))
-            .collect(Collectors.groupingBy(
-                offer -> offer.getApplication().getJob().getCompany().getName(),
-                Collectors.counting()
-            ));
+        loadImage();
+        return statistics.getCompanyWiseHiring();
+    }
+
+    // Journal Support
+    void attachJournal(PlacementJournal journal) {
+        this.journal = journal;
+    }
+
+    // Replay re-inserts records under their original ids; records already present, in the maps or
+    // still in the image, are skipped
+    void restoreApplication(Application application) {
+        if (getApplicationById(application.getApplicationId()) == null) {
+            registerApplication(application);
+        }
+    }
+
+    void restoreInterview(Interview interview) {
+        if (getInterviewById(interview.getInterviewId()) == null) {
+            registerInterview(interview);
+        }
+    }
+
+    void restoreOffer(JobOffer offer) {
+        if (getOfferById(offer.getOfferId()) == null) {
+            registerOffer(offer);
+        }
+    }
+
+    private void registerApplication(Application application) {
+        insertApplication(application);
+        applicationIds.advancePast(application.getNumber());
+    }
+
+    private void registerInterview(Interview interview) {
+        insertInterview(interview);
+        interviewIds.advancePast(interview.getNumber());
+    }
+
+    private void registerOffer(JobOffer offer) {
+        insertOffer(offer);
+        if (offer.getStatus() == OfferStatus.ACCEPTED) {
+            statistics.offerAccepted(offer); // materialized already accepted, so no listener fired
+        }
+        offerIds.advancePast(offer.getNumber());
+    }
+
+    Interview getInterviewById(String interviewId) {
+        long number = interviewIds.parse(interviewId);
+        if (number < 0) {
+            return null;
+        }
+        MappedSnapshot snapshot = image;
+        Interview interview = interviews.get(number);
+        return interview != null || snapshot == null ? interview
+            : fault(snapshot.findInterview(interviewId), this::faultIn);
+    }
+
+    JobOffer getOfferById(String offerId) {
+        long number = offerIds.parse(offerId);
+        if (number < 0) {
+            return null;
+        }
+        MappedSnapshot snapshot = image;
+        JobOffer offer = jobOffers.get(number);
+        return offer != null || snapshot == null ? offer : fault(snapshot.findOffer(offerId), this::faultIn);
+    }
+
+    // Snapshot Support
+    // Recovery hands the latest snapshot over instead of loading it. Lookups by id fault single records
+    // in, with whatever they refer to; the first call that reads whole indexes or collections loads the
+    // rest. Images without next ids (before version 3) are loaded straight away, as ids could collide
+    void attachImage(MappedSnapshot snapshot) {
+        image = snapshot;
+        if (snapshot.getNextApplicationNumber() < 0) {
+            loadImage();
+            return;
+        }
+        applicationIds.advancePast(snapshot.getNextApplicationNumber() - 1);
+        interviewIds.advancePast(snapshot.getNextInterviewNumber() - 1);
+        offerIds.advancePast(snapshot.getNextOfferNumber() - 1);
+    }
+
+    boolean isImageLoaded() {
+        return image == null;
+    }
+
+    private void loadImage() {
+        if (image == null) {
+            return;
+        }
+        synchronized (imageLock) {
+            MappedSnapshot snapshot = image;
+            if (snapshot == null) {
+                return;
+            }
+            for (int i = 0; i < snapshot.getStudentCount(); i++) {
+                faultIn(snapshot.getStudent(i));
+            }
+            for (int i = 0; i < snapshot.getCompanyCount(); i++) {
+                faultIn(snapshot.getCompany(i));
+            }
+            for (int i = 0; i < snapshot.getAdminCount(); i++) {
+                faultIn(snapshot.getAdmin(i));
+            }
+            for (int i = 0; i < snapshot.getJobCount(); i++) {
+                faultIn(snapshot.getJob(i));
+            }
+            for (int i = 0; i < snapshot.getApplicationCount(); i++) {
+                faultIn(snapshot.getApplication(i));
+            }
+            for (int i = 0; i < snapshot.getInterviewCount(); i++) {
+                faultIn(snapshot.getInterview(i));
+            }
+            for (int i = 0; i < snapshot.getOfferCount(); i++) {
+                faultIn(snapshot.getOffer(i));
+            }
+            image = null;
+            try {
+                snapshot.close();
+            } catch (IOException e) {
+                // Read-only; nothing is lost
+            }
+        }
+    }
+
+    // Null when the image does not hold the record either
+    private <T> T fault(T found, UnaryOperator<T> faultIn) {
+        if (found == null) {
+            return null;
+        }
+        synchronized (imageLock) {
+            return faultIn.apply(found);
+        }
+    }
+
+    // Registers an image record unless one with its id is in already, which then wins; under imageLock
+    private Student faultIn(Student student) {
+        Student present = students.putIfAbsent(student.getId(), student);
+        if (present != null) {
+            return present;
+        }
+        indexStudent(student, null);
+        return student;
+    }
+
+    private Company faultIn(Company company) {
+        Company present = companies.putIfAbsent(company.getId(), company);
+        return present != null ? present : company;
+    }
+
+    private Admin faultIn(Admin admin) {
+        Admin present = admins.putIfAbsent(admin.getId(), admin);
+        return present != null ? present : admin;
+    }
+
+    private JobPosting faultIn(JobPosting job) {
+        faultIn(job.getCompany());
+        JobPosting present = jobPostings.putIfAbsent(job.getJobId(), job);
+        if (present != null) {
+            return present;
+        }
+        indexJob(job, null);
+        return job;
+    }
+
+    private Application faultIn(Application application) {
+        Application present = applications.get(application.getNumber());
+        if (present != null) {
+            return present;
+        }
+        faultIn(application.getStudent());
+        faultIn(application.getJob());
+        registerApplication(application);
+        return application;
+    }
+
+    private Interview faultIn(Interview interview) {
+        Interview present = interviews.get(interview.getNumber());
+        if (present != null) {
+            return present;
+        }
+        faultIn(interview.getApplication());
+        registerInterview(interview);
+        return interview;
+    }
+
+    private JobOffer faultIn(JobOffer offer) {
+        JobOffer present = jobOffers.get(offer.getNumber());
+        if (present != null) {
+            return present;
+        }
+        faultIn(offer.getApplication());
+        registerOffer(offer);
+        return offer;
+    }
+
+    // Offers are moved through JobOffer itself, so the fsync for their status records happens here
+    private class OfferChanges implements StatusListener<JobOffer, OfferStatus> {
+        @Override
+        public void statusChanged(JobOffer offer, OfferStatus oldStatus, OfferStatus newStatus) {
+            offerStatusChanged(offer, oldStatus, newStatus);
+        }
+
+        @Override
+        public void statusSettled(JobOffer offer) {
+            PlacementJournal log = journal;
+            if (log != null) {
+                log.sync();
+            }
+        }
     }
+
+    private class StudentChanges implements StudentListener {
+        @Override
+        public void cgpaChanged(Student student, double oldCgpa) {
+            eligibility.cgpaChanged(student, oldCgpa);
+            studentColumns.cgpaChanged(student);
+            if (journal != null) {
+                journal.studentCgpaChanged(student);
+            }
+        }
+
+        @Override
+        public void skillAdded(Student student, String skill) {
+            studentColumns.skillsChanged(student);
+            if (journal != null) {
+                journal.studentSkillAdded(student, skill);
+            }
+        }
+
+        @Override
+        public void resumeChanged(Student student) {
+            resumeText.put(student);
+            if (journal != null) {
+                journal.studentResumeChanged(student);
+            }
+        }
+    }
+
+    // Index Maintenance
+    private static <K, T> void index(Map<K, Queue<T>> index, K key, T value) {
+        index.compute(key, (k, values) -> {
+            if (values == null) {
+                values = new ConcurrentLinkedQueue<>();
+            }
+            values.add(value);
+            return values;
+        });
+    }
+
+    private static <T> void unindex(Map<String, Queue<T>> index, String key, T value) {
+        index.computeIfPresent(key, (k, values) -> {
+            values.remove(value);
+            return values.isEmpty() ? null : values;
+        });
+    }
+
+    private static <T> TimeIndex<T> timeline(Map<String, TimeIndex<T>> index, String key, TimeIndex.Timing<T> timing) {
+        return index.computeIfAbsent(key, k -> new TimeIndex<>(timing));
+    }
+
+    // Whole timeline when from and to are null, otherwise [from, to) with either end open when null
+    private static <T> List<T> lookup(Map<String, TimeIndex<T>> index, String key, LocalDateTime from,
+                                      LocalDateTime to) {
+        TimeIndex<T> values = index.get(key);
+        if (values == null) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(values.between(from, to));
+    }
+
+    private static <K, T> List<T> lookup(Map<K, Queue<T>> index, K key) {
+        Queue<T> values = index.get(key);
+        return values == null ? new ArrayList<>() : new ArrayList<>(values);
+    }
+}
+
+// ApplyOutcome.java
+enum ApplyOutcome {
+    APPLIED,
+    ALREADY_APPLIED,
+    NOT_ELIGIBLE
 }
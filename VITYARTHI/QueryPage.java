@@ -0,0 +1,109 @@
+// QueryPage.java
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+// One page of a StudentQuery or ApplicationQuery result, the cursor for the page after it, and how the
+// rows were found. Cursors carry the last row's sort key and id, so paging stays stable while rows are
+// added and never re-reads the pages before it.
+class QueryPage<T> {
+    static final int DEFAULT_LIMIT = 20;
+    static final int MAX_LIMIT = 1000;
+
+    private final List<T> items;
+    private final String nextCursor;
+    private final String plan;
+    private final int examined;
+
+    private QueryPage(List<T> items, String nextCursor, String plan, int examined) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.plan = plan;
+        this.examined = examined;
+    }
+
+    public List<T> getItems() { return items; }
+    // Null on the last page
+    public String getNextCursor() { return nextCursor; }
+    public boolean hasMore() { return nextCursor != null; }
+    public String getPlan() { return plan; }
+    // Candidates the chosen index produced, before the remaining filters
+    public int getExamined() { return examined; }
+
+    // The first limit matches after the cursor in order. A bounded heap keeps only limit + 1 rows, so a
+    // page costs O(candidates log limit) and the full result is never sorted or even held. Candidates
+    // that already arrive in order (inOrder) stop the walk as soon as the page is full.
+    static <T> QueryPage<T> select(Iterable<T> candidates, boolean inOrder, Predicate<T> filter,
+                                   Comparator<T> order, Predicate<T> afterCursor, int limit,
+                                   Function<T, String> cursorOf, String plan) {
+        PriorityQueue<T> best = new PriorityQueue<>(limit + 2, order.reversed());
+        int examined = 0;
+        for (T candidate : candidates) {
+            examined++;
+            if (afterCursor != null && !afterCursor.test(candidate)) {
+                continue;
+            }
+            // Cheap heap check first: a row sorting after the current last kept one cannot make the page
+            if (best.size() > limit && order.compare(candidate, best.peek()) >= 0) {
+                continue;
+            }
+            if (!filter.test(candidate)) {
+                continue;
+            }
+            best.add(candidate);
+            if (best.size() > limit + 1) {
+                best.poll();
+            } else if (inOrder && best.size() == limit + 1) {
+                break;
+            }
+        }
+        List<T> items = new ArrayList<>(best);
+        items.sort(order);
+        String next = null;
+        if (items.size() > limit) {
+            items.remove(limit);
+            next = cursorOf.apply(items.get(limit - 1));
+        }
+        return new QueryPage<>(items, next, plan, examined);
+    }
+
+    // Cursors
+    static String cursor(String key, String id) {
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString((key + '\u0000' + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    // {key, id}; IllegalArgumentException for anything cursor() did not produce
+    static String[] parseCursor(String cursor) {
+        String text = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        int split = text.indexOf('\u0000');
+        if (split < 0) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return new String[] { text.substring(0, split), text.substring(split + 1) };
+    }
+
+    // All of the checks, in the order given so callers can put the cheap ones first
+    static <T> Predicate<T> all(List<Predicate<T>> checks) {
+        List<Predicate<T>> copy = new ArrayList<>(checks); // indexed, so a test allocates no iterator
+        return item -> {
+            for (int i = 0, n = copy.size(); i < n; i++) {
+                if (!copy.get(i).test(item)) {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+
+    static int clampLimit(int limit) {
+        return Math.max(1, Math.min(MAX_LIMIT, limit));
+    }
+
+    @Override
+    public String toString() {
+        return items.size() + " rows" + (nextCursor == null ? "" : ", more") + " (" + plan + ", examined "
+            + examined + ")";
+    }
+}
@@ -0,0 +1,240 @@
+// ReportExporter.java
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+// Streams reports to CSV or JSON files. Rows are written one at a time straight from the
+// PlacementSystem traversals into a fixed-size channel buffer, so memory use does not grow
+// with the number of rows exported.
+class ReportExporter {
+    enum Format { CSV, JSON }
+
+    private static final String[] STUDENT_COLUMNS = {
+        "studentId", "name", "department", "cgpa", "graduationYear", "placed", "acceptedOffers"
+    };
+    private static final String[] APPLICATION_COLUMNS = {
+        "applicationId", "studentId", "studentName", "jobId", "jobTitle", "company", "status", "appliedDate"
+    };
+    private static final String[] OFFER_COLUMNS = {
+        "offerId", "applicationId", "studentId", "studentName", "company", "jobTitle", "packageLPA",
+        "joiningDate", "status"
+    };
+
+    private PlacementSystem system;
+
+    public ReportExporter(PlacementSystem system) {
+        this.system = system;
+    }
+
+    // Per-student placement rows; the JSON form also carries the summary figures
+    public long exportPlacementReport(Path file, Format format) throws IOException {
+        try (RowWriter out = new RowWriter(file, format, STUDENT_COLUMNS)) {
+            if (format == Format.JSON) {
+                Map<String, Object> summary = new TreeMap<>(system.getPlacementStatistics());
+                out.raw("{\"summary\":");
+                out.raw(Json.write(summary));
+                out.raw(",\"departmentWise\":");
+                out.raw(Json.write(new TreeMap<>(system.getDepartmentWisePlacement())));
+                out.raw(",\"companyWise\":");
+                out.raw(Json.write(new TreeMap<>(system.getCompanyWiseHiring())));
+                out.raw(",\"students\":");
+            }
+            out.begin();
+            system.forEachStudent(student -> {
+                int accepted = system.getAcceptedOfferCount(student);
+                out.row(student.getId(), student.getName(), student.getDepartment(), student.getCgpa(),
+                    student.getGraduationYear(), accepted > 0, accepted);
+            });
+            out.end();
+            if (format == Format.JSON) {
+                out.raw("}\n");
+            }
+            return out.getRows();
+        }
+    }
+
+    public long exportApplications(Path file, Format format) throws IOException {
+        try (RowWriter out = new RowWriter(file, format, APPLICATION_COLUMNS)) {
+            out.begin();
+            system.forEachApplication(app -> out.row(app.getApplicationId(), app.getStudent().getId(),
+                app.getStudent().getName(), app.getJob().getJobId(), app.getJob().getTitle(),
+                app.getJob().getCompany().getName(), app.getStatus(), app.getAppliedDate().toString()));
+            out.end();
+            return out.getRows();
+        }
+    }
+
+    public long exportOffers(Path file, Format format) throws IOException {
+        try (RowWriter out = new RowWriter(file, format, OFFER_COLUMNS)) {
+            out.begin();
+            system.forEachOffer(offer -> {
+                Application app = offer.getApplication();
+                out.row(offer.getOfferId(), app.getApplicationId(), app.getStudent().getId(),
+                    app.getStudent().getName(), app.getJob().getCompany().getName(), app.getJob().getTitle(),
+                    offer.getPackage(), offer.getJoiningDate(), offer.getStatus());
+            });
+            out.end();
+            return out.getRows();
+        }
+    }
+
+    // Encodes rows into a reused StringBuilder and a 64 KB buffer drained to the file channel
+    private static class RowWriter implements Closeable {
+        private static final int BUFFER_SIZE = 64 * 1024;
+
+        private FileChannel channel;
+        private Format format;
+        private String[] columns;
+        private ByteBuffer buffer;
+        private CharsetEncoder encoder;
+        private StringBuilder line;
+        private long rows;
+
+        RowWriter(Path file, Format format, String[] columns) throws IOException {
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+            this.format = format;
+            this.columns = columns;
+            this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            this.encoder = StandardCharsets.UTF_8.newEncoder();
+            this.line = new StringBuilder(256);
+        }
+
+        long getRows() {
+            return rows;
+        }
+
+        void begin() {
+            line.setLength(0);
+            if (format == Format.CSV) {
+                for (int i = 0; i < columns.length; i++) {
+                    if (i > 0) {
+                        line.append(',');
+                    }
+                    line.append(columns[i]);
+                }
+                line.append('\n');
+            } else {
+                line.append("[\n");
+            }
+            emit();
+        }
+
+        // Called from forEach traversals, which cannot throw checked exceptions
+        void row(Object... values) {
+            line.setLength(0);
+            if (format == Format.CSV) {
+                for (int i = 0; i < values.length; i++) {
+                    if (i > 0) {
+                        line.append(',');
+                    }
+                    appendCsv(values[i]);
+                }
+                line.append('\n');
+            } else {
+                if (rows > 0) {
+                    line.append(",\n");
+                }
+                line.append('{');
+                for (int i = 0; i < values.length; i++) {
+                    if (i > 0) {
+                        line.append(',');
+                    }
+                    Json.appendQuoted(line, columns[i]);
+                    line.append(':');
+                    Json.appendValue(line, values[i]);
+                }
+                line.append('}');
+            }
+            rows++;
+            emit();
+        }
+
+        void end() {
+            if (format == Format.JSON) {
+                line.setLength(0);
+                line.append("\n]");
+                emit();
+            }
+        }
+
+        void raw(String text) {
+            line.setLength(0);
+            line.append(text);
+            emit();
+        }
+
+        private void appendCsv(Object value) {
+            if (value == null) {
+                return;
+            }
+            String text = value.toString();
+            boolean quote = false;
+            for (int i = 0; i < text.length() && !quote; i++) {
+                char c = text.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!quote) {
+                line.append(text);
+                return;
+            }
+            line.append('"');
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c == '"') {
+                    line.append('"');
+                }
+                line.append(c);
+            }
+            line.append('"');
+        }
+
+        private void emit() {
+            CharBuffer chars = CharBuffer.wrap(line);
+            while (true) {
+                CoderResult result = encoder.encode(chars, buffer, false);
+                if (result.isOverflow()) {
+                    drain();
+                } else if (result.isUnderflow()) {
+                    return;
+                } else {
+                    throw new IllegalStateException("Cannot encode export row: " + result);
+                }
+            }
+        }
+
+        private void drain() {
+            buffer.flip();
+            try {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write export", e);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                encoder.encode(CharBuffer.allocate(0), buffer, true);
+                encoder.flush(buffer);
+                drain();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+// SkillDictionary.java
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Interns skill names to small dense ids shared by every SkillSet
+final class SkillDictionary {
+    private static final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private static volatile String[] names = new String[64];
+    private static int size;
+
+    private SkillDictionary() {}
+
+    public static int intern(String skill) {
+        Integer id = ids.get(skill);
+        if (id != null) {
+            return id;
+        }
+        synchronized (SkillDictionary.class) {
+            id = ids.get(skill);
+            if (id == null) {
+                id = size;
+                String[] current = names;
+                if (id == current.length) {
+                    current = Arrays.copyOf(current, id * 2);
+                }
+                current[id] = skill;
+                names = current;
+                size++;
+                ids.put(skill, id);
+            }
+            return id;
+        }
+    }
+
+    // Returns -1 for skills nobody has mentioned yet
+    public static int idOf(String skill) {
+        Integer id = ids.get(skill);
+        return id == null ? -1 : id;
+    }
+
+    public static String name(int id) {
+        return names[id];
+    }
+
+    public static int size() {
+        return ids.size();
+    }
+}
@@ -0,0 +1,166 @@
+// SkillSet.java
+import java.util.*;
+import java.util.function.Consumer;
+
+// Immutable set of skills stored as a bitset over SkillDictionary ids.
+// Matching uses word-wise AND/ANDNOT with popcount, so scoring allocates nothing.
+final class SkillSet extends AbstractSet<String> {
+    public static final SkillSet EMPTY = new SkillSet(new long[0]);
+
+    private final long[] words;
+    private final int size;
+
+    private SkillSet(long[] words) {
+        int length = words.length;
+        while (length > 0 && words[length - 1] == 0) {
+            length--;
+        }
+        this.words = length == words.length ? words : Arrays.copyOf(words, length);
+        int count = 0;
+        for (long word : this.words) {
+            count += Long.bitCount(word);
+        }
+        this.size = count;
+    }
+
+    public static SkillSet of(Collection<String> skills) {
+        if (skills instanceof SkillSet) {
+            return (SkillSet) skills;
+        }
+        long[] words = new long[0];
+        for (String skill : skills) {
+            words = setBit(words, SkillDictionary.intern(skill));
+        }
+        return new SkillSet(words);
+    }
+
+    public SkillSet with(String skill) {
+        int id = SkillDictionary.intern(skill);
+        return containsId(id) ? this : new SkillSet(setBit(words.clone(), id));
+    }
+
+    // Raw bitset access for columnar copies
+    int wordCount() {
+        return words.length;
+    }
+
+    long word(int index) {
+        return words[index];
+    }
+
+    public boolean containsId(int id) {
+        int word = id >>> 6;
+        return word < words.length && (words[word] & (1L << id)) != 0;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (!(o instanceof String)) {
+            return false;
+        }
+        int id = SkillDictionary.idOf((String) o);
+        return id >= 0 && containsId(id);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    // Number of skills present in both sets
+    public int countMatching(SkillSet other) {
+        int length = Math.min(words.length, other.words.length);
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            count += Long.bitCount(words[i] & other.words[i]);
+        }
+        return count;
+    }
+
+    // Number of skills in this set that are absent from other
+    public int countMissing(SkillSet other) {
+        return size - countMatching(other);
+    }
+
+    public boolean containsAll(SkillSet other) {
+        return countMatching(other) == other.size;
+    }
+
+    // Share of this (required) set covered by the given skills; an empty requirement is fully met
+    public double matchPercentage(SkillSet owned) {
+        return size == 0 ? 100.0 : countMatching(owned) * 100.0 / size;
+    }
+
+    public SkillSet and(SkillSet other) {
+        long[] result = new long[Math.min(words.length, other.words.length)];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = words[i] & other.words[i];
+        }
+        return new SkillSet(result);
+    }
+
+    public SkillSet andNot(SkillSet other) {
+        long[] result = words.clone();
+        int length = Math.min(result.length, other.words.length);
+        for (int i = 0; i < length; i++) {
+            result[i] &= ~other.words[i];
+        }
+        return new SkillSet(result);
+    }
+
+    public void forEachMissing(SkillSet owned, Consumer<String> action) {
+        for (int i = 0; i < words.length; i++) {
+            long word = words[i] & ~(i < owned.words.length ? owned.words[i] : 0L);
+            while (word != 0) {
+                action.accept(SkillDictionary.name((i << 6) + Long.numberOfTrailingZeros(word)));
+                word &= word - 1;
+            }
+        }
+    }
+
+    @Override
+    public void forEach(Consumer<? super String> action) {
+        for (int i = 0; i < words.length; i++) {
+            long word = words[i];
+            while (word != 0) {
+                action.accept(SkillDictionary.name((i << 6) + Long.numberOfTrailingZeros(word)));
+                word &= word - 1;
+            }
+        }
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        return new Iterator<String>() {
+            private int wordIndex = 0;
+            private long word = words.length > 0 ? words[0] : 0;
+
+            @Override
+            public boolean hasNext() {
+                while (word == 0 && wordIndex + 1 < words.length) {
+                    word = words[++wordIndex];
+                }
+                return word != 0;
+            }
+
+            @Override
+            public String next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                int id = (wordIndex << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+                return SkillDictionary.name(id);
+            }
+        };
+    }
+
+    private static long[] setBit(long[] words, int id) {
+        int word = id >>> 6;
+        if (word >= words.length) {
+            words = Arrays.copyOf(words, word + 1);
+        }
+        words[word] |= 1L << id;
+        return words;
+    }
+}
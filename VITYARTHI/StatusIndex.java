@@ -0,0 +1,52 @@
+// StatusIndex.java
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Items bucketed by their current status, so "all PENDING offers" or a job's SHORTLISTED pipeline
+// costs O(result) and a per-status count is O(1). Callers move items from the entity's status
+// listener, which runs under the entity's lock, so an item is never in two buckets for long.
+class StatusIndex<S extends Enum<S>, T> {
+    private final Class<S> type;
+    private final EnumMap<S, Set<T>> buckets;
+
+    public StatusIndex(Class<S> type) {
+        this.type = type;
+        this.buckets = new EnumMap<>(type);
+        for (S status : type.getEnumConstants()) {
+            buckets.put(status, ConcurrentHashMap.newKeySet());
+        }
+    }
+
+    public void add(T item, S status) {
+        buckets.get(status).add(item);
+    }
+
+    public void move(T item, S from, S to) {
+        buckets.get(to).add(item);
+        buckets.get(from).remove(item);
+    }
+
+    public Collection<T> get(S status) {
+        return Collections.unmodifiableSet(buckets.get(status));
+    }
+
+    public int count(S status) {
+        return buckets.get(status).size();
+    }
+
+    public int size() {
+        int size = 0;
+        for (Set<T> bucket : buckets.values()) {
+            size += bucket.size();
+        }
+        return size;
+    }
+
+    public EnumMap<S, Integer> counts() {
+        EnumMap<S, Integer> counts = new EnumMap<>(type);
+        for (Map.Entry<S, Set<T>> bucket : buckets.entrySet()) {
+            counts.put(bucket.getKey(), bucket.getValue().size());
+        }
+        return counts;
+    }
+}
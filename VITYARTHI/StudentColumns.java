@@ -0,0 +1,256 @@
+// StudentColumns.java
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Struct-of-arrays copy of the fields eligibility filters read: CGPA, graduation year, a dictionary code
+// per department and the skill bitset, one row per student in registration order. A scan walks a few
+// dense primitive arrays front to back instead of dereferencing a Student per row, and the inner loop is
+// a branch-free compare-and-compact over fixed-size chunks that the JIT can unroll and vectorize.
+// Writers are serialized; scans take no lock and see a weakly consistent picture, like the maps' views.
+class StudentColumns {
+    private static final int CHUNK = 1024;
+
+    private volatile Columns columns;
+    private volatile int size;
+    private final Map<String, Integer> rows;
+    private final Map<String, Integer> departmentCodes;
+
+    public StudentColumns() {
+        this.columns = new Columns(1024, 1);
+        this.rows = new ConcurrentHashMap<>();
+        this.departmentCodes = new ConcurrentHashMap<>();
+    }
+
+    // Updates
+    // A student registered again under the same id gets a new row; the old one is left as a tombstone
+    // whose NaN CGPA fails every comparison
+    public synchronized void put(Student student) {
+        int row = size;
+        if (row == columns.students.length) {
+            columns = columns.resize(row * 2, columns.skillWords);
+        }
+        Columns c = columns;
+        c.students[row] = student;
+        c.cgpa[row] = student.getCgpa();
+        c.graduationYear[row] = student.getGraduationYear();
+        c.department[row] = departmentCode(student.getDepartment());
+        writeSkills(row, student.getSkillSet());
+        Integer previous = rows.put(student.getId(), row);
+        size = row + 1; // publishes the row, and any new department code, to scans
+        if (previous != null) {
+            columns.cgpa[previous] = Double.NaN;
+            columns.students[previous] = null;
+        }
+    }
+
+    public synchronized void cgpaChanged(Student student) {
+        Integer row = rows.get(student.getId());
+        if (row != null) {
+            columns.cgpa[row] = student.getCgpa();
+        }
+    }
+
+    public synchronized void skillsChanged(Student student) {
+        Integer row = rows.get(student.getId());
+        if (row != null) {
+            writeSkills(row, student.getSkillSet());
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private int departmentCode(String department) {
+        return departmentCodes.computeIfAbsent(department, d -> departmentCodes.size());
+    }
+
+    private void writeSkills(int row, SkillSet skills) {
+        int words = skills.wordCount();
+        if (words > columns.skillWords) {
+            columns = columns.resize(columns.students.length, words);
+        }
+        Columns c = columns;
+        int base = row * c.skillWords;
+        for (int i = 0; i < c.skillWords; i++) {
+            c.skills[base + i] = i < words ? skills.word(i) : 0L;
+        }
+    }
+
+    // Scans
+    // Students in any of the departments (null for all) with a CGPA in [minCgpa, maxCgpa], graduating in
+    // the given year (0 for any) and holding every required skill (null or empty for no requirement)
+    public int count(Collection<String> departments, double minCgpa, double maxCgpa, int graduationYear,
+                     SkillSet required) {
+        int[] total = new int[1];
+        scan(departments, minCgpa, maxCgpa, graduationYear, required, (c, rows, count) -> total[0] += count);
+        return total[0];
+    }
+
+    public List<Student> select(Collection<String> departments, double minCgpa, double maxCgpa,
+                                int graduationYear, SkillSet required) {
+        List<Student> result = new ArrayList<>();
+        scan(departments, minCgpa, maxCgpa, graduationYear, required, (c, rows, count) -> {
+            for (int i = 0; i < count; i++) {
+                Student student = c.students[rows[i]];
+                if (student != null) { // replaced since the filter ran
+                    result.add(student);
+                }
+            }
+        });
+        return result;
+    }
+
+    // Same rule as JobPosting.isEligible, in registration order
+    public List<Student> eligible(JobPosting job) {
+        return select(job.getEligibleDepartments(), job.getMinCgpa(), Double.POSITIVE_INFINITY, 0, null);
+    }
+
+    public int countEligible(JobPosting job) {
+        return count(job.getEligibleDepartments(), job.getMinCgpa(), Double.POSITIVE_INFINITY, 0, null);
+    }
+
+    private interface ChunkSink {
+        void accept(Columns columns, int[] rows, int count);
+    }
+
+    private void scan(Collection<String> departments, double minCgpa, double maxCgpa, int graduationYear,
+                      SkillSet required, ChunkSink sink) {
+        int n = size; // read before columns, so every row below n is in the arrays read next
+        Columns c = columns;
+        int[] wanted = departmentMask(departments);
+        if (wanted == null) {
+            return;
+        }
+        long[] skills = required == null || required.isEmpty() ? null : skillMask(required, c.skillWords);
+        if (required != null && !required.isEmpty() && skills == null) {
+            return; // a required skill nobody has been registered with
+        }
+        int[] rows = new int[CHUNK];
+        for (int from = 0; from < n; from += CHUNK) {
+            int to = Math.min(n, from + CHUNK);
+            int count = graduationYear == 0
+                ? filter(c.cgpa, c.department, from, to, minCgpa, maxCgpa, wanted, rows)
+                : filter(c.cgpa, c.department, c.graduationYear, from, to, minCgpa, maxCgpa, wanted, graduationYear,
+                    rows);
+            if (skills != null) {
+                count = filterSkills(c.skills, c.skillWords, skills, rows, count);
+            }
+            if (count > 0) {
+                sink.accept(c, rows, count);
+            }
+        }
+    }
+
+    // Scan kernels: every row is written to out, only matches advance the cursor, so there is no
+    // data-dependent branch in the loop
+    private static int filter(double[] cgpa, int[] department, int from, int to, double minCgpa, double maxCgpa,
+                              int[] wanted, int[] out) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            double value = cgpa[i];
+            out[count] = i;
+            count += (value >= minCgpa & value <= maxCgpa ? 1 : 0) & wanted[department[i]];
+        }
+        return count;
+    }
+
+    private static int filter(double[] cgpa, int[] department, int[] year, int from, int to, double minCgpa,
+                              double maxCgpa, int[] wanted, int graduationYear, int[] out) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            double value = cgpa[i];
+            out[count] = i;
+            count += (value >= minCgpa & value <= maxCgpa ? 1 : 0) & wanted[department[i]]
+                & (year[i] == graduationYear ? 1 : 0);
+        }
+        return count;
+    }
+
+    private static int filterSkills(long[] skills, int stride, long[] required, int[] rows, int count) {
+        int kept = 0;
+        for (int k = 0; k < count; k++) {
+            int row = rows[k];
+            int base = row * stride;
+            long missing = 0;
+            for (int w = 0; w < required.length; w++) {
+                missing |= required[w] & ~skills[base + w];
+            }
+            rows[kept] = row;
+            kept += missing == 0 ? 1 : 0;
+        }
+        return kept;
+    }
+
+    // 1 per wanted department code, indexed by code; null when none of them has a student
+    private int[] departmentMask(Collection<String> departments) {
+        int codes = departmentCodes.size();
+        int[] wanted = new int[codes]; // codes of rows below the scanned size were assigned before it
+        if (departments == null) {
+            Arrays.fill(wanted, 1);
+            return wanted;
+        }
+        boolean any = false;
+        for (String department : departments) {
+            Integer code = departmentCodes.get(department);
+            if (code != null && code < codes) {
+                wanted[code] = 1;
+                any = true;
+            }
+        }
+        return any ? wanted : null;
+    }
+
+    // Required skills as words of the given stride; null if some bit lies beyond every student's skills
+    private static long[] skillMask(SkillSet required, int stride) {
+        int words = required.wordCount();
+        for (int i = stride; i < words; i++) {
+            if (required.word(i) != 0) {
+                return null;
+            }
+        }
+        long[] mask = new long[Math.min(words, stride)];
+        for (int i = 0; i < mask.length; i++) {
+            mask[i] = required.word(i);
+        }
+        return mask;
+    }
+
+    // One generation of the arrays; replaced wholesale when rows or skill words run out
+    private static final class Columns {
+        final Student[] students;
+        final double[] cgpa;
+        final int[] graduationYear;
+        final int[] department;
+        final int skillWords;
+        final long[] skills; // skillWords per row
+
+        Columns(int capacity, int skillWords) {
+            this.students = new Student[capacity];
+            this.cgpa = new double[capacity];
+            this.graduationYear = new int[capacity];
+            // Rows past size keep code 0 but are never scanned
+            this.department = new int[capacity];
+            this.skillWords = skillWords;
+            this.skills = new long[capacity * skillWords];
+        }
+
+        Columns resize(int capacity, int skillWords) {
+            Columns next = new Columns(capacity, skillWords);
+            int rows = Math.min(students.length, capacity);
+            System.arraycopy(students, 0, next.students, 0, rows);
+            System.arraycopy(cgpa, 0, next.cgpa, 0, rows);
+            System.arraycopy(graduationYear, 0, next.graduationYear, 0, rows);
+            System.arraycopy(department, 0, next.department, 0, rows);
+            if (skillWords == this.skillWords) {
+                System.arraycopy(skills, 0, next.skills, 0, rows * skillWords);
+            } else {
+                for (int row = 0; row < rows; row++) {
+                    System.arraycopy(skills, row * this.skillWords, next.skills, row * skillWords,
+                        Math.min(this.skillWords, skillWords));
+                }
+            }
+            return next;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+// StudentQuery.java
+import java.util.*;
+import java.util.function.Predicate;
+
+// Filters for PlacementSystem.findStudents. Every criterion is optional and they all have to hold;
+// an unset query pages through every student.
+class StudentQuery {
+    enum Order {
+        ID, NAME, CGPA, GRADUATION_YEAR; // CGPA is highest first
+
+        Comparator<Student> comparator() {
+            switch (this) {
+                case NAME:
+                    return Comparator.comparing(Student::getName).thenComparing(Student::getId);
+                case CGPA:
+                    return Comparator.comparingDouble(Student::getCgpa).reversed().thenComparing(Student::getId);
+                case GRADUATION_YEAR:
+                    return Comparator.comparingInt(Student::getGraduationYear).thenComparing(Student::getId);
+                default:
+                    return Comparator.comparing(Student::getId);
+            }
+        }
+
+        String key(Student student) {
+            switch (this) {
+                case NAME:
+                    return student.getName();
+                case CGPA:
+                    return Double.toString(student.getCgpa());
+                case GRADUATION_YEAR:
+                    return Integer.toString(student.getGraduationYear());
+                default:
+                    return "";
+            }
+        }
+
+        // Students sorting strictly after the row the cursor was taken from
+        Predicate<Student> after(String key, String id) {
+            switch (this) {
+                case NAME:
+                    return s -> {
+                        int c = s.getName().compareTo(key);
+                        return c > 0 || c == 0 && s.getId().compareTo(id) > 0;
+                    };
+                case CGPA: {
+                    double cgpa = Double.parseDouble(key);
+                    return s -> s.getCgpa() < cgpa || s.getCgpa() == cgpa && s.getId().compareTo(id) > 0;
+                }
+                case GRADUATION_YEAR: {
+                    int year = Integer.parseInt(key);
+                    return s -> s.getGraduationYear() > year
+                        || s.getGraduationYear() == year && s.getId().compareTo(id) > 0;
+                }
+                default:
+                    return s -> s.getId().compareTo(id) > 0;
+            }
+        }
+    }
+
+    private Set<String> departments;
+    private double minCgpa = Double.NEGATIVE_INFINITY;
+    private double maxCgpa = Double.POSITIVE_INFINITY;
+    private int graduationYear;
+    private Set<String> skills = new LinkedHashSet<>();
+    private Boolean placed;
+    private String companyId;
+    private ApplicationStatus applicationStatus;
+    private Order order = Order.ID;
+    private int limit = QueryPage.DEFAULT_LIMIT;
+    private String cursor;
+
+    // Criteria
+    public void setDepartments(Collection<String> departments) {
+        this.departments = departments == null ? null : new HashSet<>(departments);
+    }
+
+    public void setCgpaRange(double min, double max) {
+        this.minCgpa = min;
+        this.maxCgpa = max;
+    }
+
+    // 0 for any year
+    public void setGraduationYear(int graduationYear) {
+        this.graduationYear = graduationYear;
+    }
+
+    public void requireSkill(String skill) {
+        skills.add(skill);
+    }
+
+    // True for students holding an accepted offer, false for the rest, null for both
+    public void setPlaced(Boolean placed) {
+        this.placed = placed;
+    }
+
+    // Students with at least one application to the company, in the given status if one is set too
+    public void setCompanyId(String companyId) {
+        this.companyId = companyId;
+    }
+
+    public void setApplicationStatus(ApplicationStatus applicationStatus) {
+        this.applicationStatus = applicationStatus;
+    }
+
+    // Paging
+    public void setOrder(Order order) {
+        this.order = order;
+    }
+
+    public void setLimit(int limit) {
+        this.limit = QueryPage.clampLimit(limit);
+    }
+
+    // The nextCursor of the previous page, or null for the first page
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    public Set<String> getDepartments() { return departments; }
+    public double getMinCgpa() { return minCgpa; }
+    public double getMaxCgpa() { return maxCgpa; }
+    public int getGraduationYear() { return graduationYear; }
+    public Set<String> getSkills() { return skills; }
+    public Boolean getPlaced() { return placed; }
+    public String getCompanyId() { return companyId; }
+    public ApplicationStatus getApplicationStatus() { return applicationStatus; }
+    public Order getOrder() { return order; }
+    public int getLimit() { return limit; }
+    public String getCursor() { return cursor; }
+
+    boolean filtersApplications() {
+        return companyId != null || applicationStatus != null;
+    }
+
+    boolean filtersColumns() {
+        return departments != null || minCgpa > Double.NEGATIVE_INFINITY || maxCgpa < Double.POSITIVE_INFINITY
+            || graduationYear != 0 || !skills.isEmpty();
+    }
+
+    Predicate<Student> afterCursor() {
+        if (cursor == null) {
+            return null;
+        }
+        String[] position = QueryPage.parseCursor(cursor);
+        return order.after(position[0], position[1]);
+    }
+
+    String cursorOf(Student student) {
+        return QueryPage.cursor(order.key(student), student.getId());
+    }
+}
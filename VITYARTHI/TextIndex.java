@@ -0,0 +1,423 @@
+// TextIndex.java
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+// Inverted index over one text per document with BM25 ranking. Every document gets a row number in
+// insertion order and each term a postings list of (row, term frequency) in row order, so a query
+// merges its terms' lists front to back. Re-indexing a document appends a new row and tombstones the
+// old one; a term's list is rebuilt without dead rows once they make up half of it, and once dead rows
+// outnumber live ones the live rows are renumbered from 0 and every list rebuilt to match.
+// Writers are serialized; searches take no lock and see a weakly consistent picture.
+class TextIndex<T> {
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int MAX_FREQUENCY = 255; // frequencies saturate in BM25 long before this
+    private static final int MAX_TERM_LENGTH = 40;
+    private static final int MIN_ROWS = 1024;
+    private static final Set<String> STOP_WORDS = new HashSet<>(Arrays.asList(
+        "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it", "of", "on", "or",
+        "the", "to", "with"));
+
+    private final Function<T, String> keyOf;
+    private final Function<T, String> textOf;
+    private final Map<String, Integer> rows; // key -> live row
+    private volatile Generation generation;
+    private int size; // rows used, live or dead; guarded by this
+    private volatile int documents; // live rows
+    private volatile long totalLength; // tokens over live rows
+
+    // textOf may return null for a document with nothing to index
+    public TextIndex(Function<T, String> keyOf, Function<T, String> textOf) {
+        this.keyOf = keyOf;
+        this.textOf = textOf;
+        this.rows = new ConcurrentHashMap<>();
+        this.generation = new Generation(new ConcurrentHashMap<>(), new Rows(MIN_ROWS));
+    }
+
+    // Updates
+    // Indexes the document's current text, replacing whatever was indexed under its key
+    public synchronized void put(T document) {
+        remove(keyOf.apply(document));
+        String text = textOf.apply(document);
+        if (text == null) {
+            return;
+        }
+        Map<String, int[]> frequencies = new HashMap<>();
+        int length = tokenize(text, term -> frequencies.computeIfAbsent(term, t -> new int[1])[0]++);
+        if (length == 0) {
+            return;
+        }
+        Generation g = generation;
+        int row = size;
+        if (row == g.table.documents.length) {
+            g.table = g.table.resize(row * 2);
+        }
+        Rows t = g.table;
+        t.documents[row] = document;
+        t.texts[row] = text;
+        t.lengths[row] = length;
+        size = row + 1;
+        // Rows are written before any postings list points at them
+        for (Map.Entry<String, int[]> entry : frequencies.entrySet()) {
+            g.terms.computeIfAbsent(entry.getKey(), k -> new Postings()).add(row, entry.getValue()[0]);
+        }
+        rows.put(keyOf.apply(document), row);
+        totalLength += length;
+        documents++;
+    }
+
+    public synchronized void remove(String key) {
+        Integer row = rows.remove(key);
+        if (row == null) {
+            return;
+        }
+        Generation g = generation;
+        Rows t = g.table;
+        Set<String> seen = new HashSet<>();
+        tokenize(t.texts[row], term -> {
+            if (seen.add(term)) {
+                Postings postings = g.terms.get(term);
+                if (--postings.live == 0) {
+                    g.terms.remove(term);
+                } else if (postings.live * 2 < postings.size) {
+                    g.terms.put(term, postings.compact(t.documents, row));
+                }
+            }
+        });
+        totalLength -= t.lengths[row];
+        documents--;
+        t.documents[row] = null;
+        t.texts[row] = null;
+        if (size > MIN_ROWS && size - documents > documents) {
+            compactRows();
+        }
+    }
+
+    // Renumbers the live rows from 0, keeping their order, and rebuilds every postings list to match.
+    // Run once dead rows outnumber live ones, so its cost is spread over the removals that caused it.
+    // The result is published as a new generation, so searches see one numbering or the other.
+    private void compactRows() {
+        Generation g = generation;
+        Rows old = g.table;
+        int[] renumbered = new int[size];
+        Rows table = new Rows(Math.max(MIN_ROWS, documents * 2));
+        int next = 0;
+        for (int row = 0; row < size; row++) {
+            Object document = old.documents[row];
+            if (document == null) {
+                renumbered[row] = -1;
+                continue;
+            }
+            @SuppressWarnings("unchecked")
+            String key = keyOf.apply((T) document);
+            table.documents[next] = document;
+            table.texts[next] = old.texts[row];
+            table.lengths[next] = old.lengths[row];
+            rows.put(key, next);
+            renumbered[row] = next++;
+        }
+        Map<String, Postings> terms = new ConcurrentHashMap<>(g.terms.size());
+        for (Map.Entry<String, Postings> entry : g.terms.entrySet()) {
+            Postings postings = entry.getValue().renumber(renumbered);
+            if (postings.size > 0) {
+                terms.put(entry.getKey(), postings);
+            }
+        }
+        size = next;
+        generation = new Generation(terms, table);
+    }
+
+    public int size() {
+        return documents;
+    }
+
+    // Rows taken, live or dead
+    synchronized int rowsInUse() {
+        return size;
+    }
+
+    // Searches
+    // The limit best documents for the query text that pass the filter (null for all), best first; equal
+    // scores keep insertion order. Document-at-a-time with MaxScore pruning: terms are ordered by the
+    // most they can add to a score, and once the page's lowest score beats what the weakest terms can
+    // add together, those terms only score documents the others found instead of proposing their own.
+    public List<SearchHit<T>> search(String query, int limit, Predicate<? super T> filter) {
+        int n = documents;
+        if (n == 0 || limit <= 0) {
+            return new ArrayList<>();
+        }
+        double averageLength = Math.max(1.0, (double) totalLength / n);
+        Set<String> queryTerms = new LinkedHashSet<>();
+        tokenize(query, queryTerms::add);
+        Generation g = generation;
+        List<Cursor> list = new ArrayList<>();
+        for (String term : queryTerms) {
+            Postings postings = g.terms.get(term);
+            if (postings != null) {
+                list.add(new Cursor(postings, n, averageLength));
+            }
+        }
+        Rows t = g.table; // read after the postings, so it holds every row they point at
+        Cursor[] cursors = list.toArray(new Cursor[0]);
+        Arrays.sort(cursors, Comparator.comparingDouble(c -> c.bound));
+        double[] bounds = new double[cursors.length]; // bounds[i]: most cursors 0..i add together
+        double sum = 0;
+        for (int i = 0; i < cursors.length; i++) {
+            sum += cursors[i].bound;
+            bounds[i] = sum;
+        }
+
+        // Lowest score on top; among equal scores the latest row, which sorts last
+        Comparator<SearchHit<T>> worstFirst = Comparator.<SearchHit<T>>comparingDouble(SearchHit::getScore)
+            .thenComparingInt(h -> -h.row);
+        PriorityQueue<SearchHit<T>> best = new PriorityQueue<>(limit + 1, worstFirst);
+        // Each term's share of the row's score. Summed in cursor order whichever terms were essential, so
+        // equal scores come out bit for bit equal and ties really do fall back to insertion order
+        double[] parts = new double[cursors.length];
+        double threshold = 0;
+        int essential = 0; // cursors below this index only score rows found by the rest
+        while (essential < cursors.length) {
+            int row = Integer.MAX_VALUE;
+            for (int i = essential; i < cursors.length; i++) {
+                row = Math.min(row, cursors[i].row());
+            }
+            if (row == Integer.MAX_VALUE) {
+                break;
+            }
+            double score = 0;
+            for (int i = essential; i < cursors.length; i++) {
+                Cursor c = cursors[i];
+                parts[i] = 0;
+                if (c.row() == row) {
+                    parts[i] = c.score(t.lengths[row]);
+                    score += parts[i];
+                    c.next();
+                }
+            }
+            int rest = essential - 1;
+            for (; rest >= 0 && score + bounds[rest] > threshold; rest--) {
+                parts[rest] = cursors[rest].advanceTo(row) == row ? cursors[rest].score(t.lengths[row]) : 0;
+                score += parts[rest];
+            }
+            if (rest >= 0) {
+                continue; // even the unscored terms together cannot lift it past the page's lowest score
+            }
+            score = 0;
+            for (double part : parts) {
+                score += part;
+            }
+            if (best.size() == limit && score <= threshold) {
+                continue; // cannot make the page, so the filter is not worth running
+            }
+            @SuppressWarnings("unchecked")
+            T document = (T) t.documents[row];
+            if (document == null || filter != null && !filter.test(document)) {
+                continue;
+            }
+            best.add(new SearchHit<>(document, score, row));
+            if (best.size() > limit) {
+                best.poll();
+            }
+            if (best.size() == limit) {
+                threshold = best.peek().getScore();
+                while (essential < cursors.length && bounds[essential] <= threshold) {
+                    essential++;
+                }
+            }
+        }
+        List<SearchHit<T>> hits = new ArrayList<>(best);
+        hits.sort(worstFirst.reversed());
+        return hits;
+    }
+
+    // Tokenizer: lower-cased runs of letters and digits, keeping a trailing + or # so C++ and C# survive;
+    // stop words and overlong runs are dropped. Returns the number of terms passed to the sink.
+    static int tokenize(String text, Consumer<String> sink) {
+        int count = 0;
+        int i = 0;
+        int n = text.length();
+        while (i < n) {
+            while (i < n && !Character.isLetterOrDigit(text.charAt(i))) {
+                i++;
+            }
+            int start = i;
+            while (i < n && Character.isLetterOrDigit(text.charAt(i))) {
+                i++;
+            }
+            while (i > start && i < n && (text.charAt(i) == '+' || text.charAt(i) == '#')) {
+                i++;
+            }
+            if (i > start && i - start <= MAX_TERM_LENGTH) {
+                String term = text.substring(start, i).toLowerCase(Locale.ROOT);
+                if (!STOP_WORDS.contains(term)) {
+                    sink.accept(term);
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    // One term's rows in ascending order with their frequencies. Appends publish through size, which
+    // searches read before the arrays; a compacted list is a new Postings swapped into the map.
+    private static final class Postings {
+        volatile int[] rows = new int[4];
+        volatile byte[] frequencies = new byte[4];
+        volatile int size;
+        volatile int live; // rows not yet tombstoned
+        volatile int maxFrequency;
+
+        void add(int row, int frequency) {
+            int at = size;
+            if (at == rows.length) {
+                rows = Arrays.copyOf(rows, at * 2);
+                frequencies = Arrays.copyOf(frequencies, at * 2);
+            }
+            int f = Math.min(frequency, MAX_FREQUENCY);
+            rows[at] = row;
+            frequencies[at] = (byte) f;
+            maxFrequency = Math.max(maxFrequency, f);
+            live++;
+            size = at + 1;
+        }
+
+        // Live rows only, leaving out the one being removed
+        Postings compact(Object[] documents, int removed) {
+            Postings copy = new Postings();
+            int[] r = rows;
+            byte[] f = frequencies;
+            for (int i = 0, n = size; i < n; i++) {
+                if (r[i] != removed && documents[r[i]] != null) {
+                    copy.add(r[i], f[i] & 0xFF);
+                }
+            }
+            return copy;
+        }
+
+        // Live rows under their new numbers; renumbered holds -1 for dead rows
+        Postings renumber(int[] renumbered) {
+            Postings copy = new Postings();
+            int[] r = rows;
+            byte[] f = frequencies;
+            for (int i = 0, n = size; i < n; i++) {
+                if (renumbered[r[i]] >= 0) {
+                    copy.add(renumbered[r[i]], f[i] & 0xFF);
+                }
+            }
+            return copy;
+        }
+    }
+
+    // A query term's position in its postings, with its IDF and the most it can add to any score
+    private static final class Cursor {
+        private final int[] rows;
+        private final byte[] frequencies;
+        private final int size;
+        private final double idf;
+        private final double averageLength;
+        private final double bound;
+        private int at;
+
+        Cursor(Postings postings, int documents, double averageLength) {
+            this.size = postings.size;
+            this.rows = postings.rows;
+            this.frequencies = postings.frequencies;
+            int df = Math.max(1, Math.min(postings.live, documents));
+            this.idf = Math.log(1 + (documents - df + 0.5) / (df + 0.5));
+            this.averageLength = averageLength;
+            // The term-frequency factor grows with frequency and falls with length, so the list's
+            // highest frequency in an empty document bounds it
+            int f = postings.maxFrequency;
+            this.bound = idf * f * (K1 + 1) / (f + K1 * (1 - B));
+        }
+
+        int row() {
+            return at < size ? rows[at] : Integer.MAX_VALUE;
+        }
+
+        void next() {
+            at++;
+        }
+
+        // First row at or after target; galloping then binary search, as skipped stretches can be long
+        int advanceTo(int target) {
+            if (at >= size || rows[at] >= target) {
+                return row();
+            }
+            int step = 1;
+            int low = at;
+            int high = at + 1;
+            while (high < size && rows[high] < target) {
+                low = high;
+                step <<= 1;
+                high = at + step;
+            }
+            high = Math.min(high, size);
+            int index = Arrays.binarySearch(rows, low + 1, high, target);
+            at = index >= 0 ? index : -index - 1;
+            return row();
+        }
+
+        double score(int length) {
+            int f = frequencies[at] & 0xFF;
+            return idf * f * (K1 + 1) / (f + K1 * (1 - B + B * length / averageLength));
+        }
+    }
+
+    // The postings lists and the rows they point at. Appends grow the table in place; renumbering the
+    // rows swaps in a whole new generation, so a search never mixes two numberings
+    private static final class Generation {
+        final Map<String, Postings> terms;
+        volatile Rows table;
+
+        Generation(Map<String, Postings> terms, Rows table) {
+            this.terms = terms;
+            this.table = table;
+        }
+    }
+
+    // The row arrays; replaced wholesale when rows run out
+    private static final class Rows {
+        final Object[] documents; // null once tombstoned
+        final String[] texts; // as indexed, to find the old terms when the row is tombstoned
+        final int[] lengths;
+
+        Rows(int capacity) {
+            this.documents = new Object[capacity];
+            this.texts = new String[capacity];
+            this.lengths = new int[capacity];
+        }
+
+        Rows resize(int capacity) {
+            Rows next = new Rows(capacity);
+            System.arraycopy(documents, 0, next.documents, 0, documents.length);
+            System.arraycopy(texts, 0, next.texts, 0, texts.length);
+            System.arraycopy(lengths, 0, next.lengths, 0, lengths.length);
+            return next;
+        }
+    }
+}
+
+// SearchHit.java
+class SearchHit<T> {
+    private final T item;
+    private final double score;
+    final int row; // breaks score ties by insertion order
+
+    SearchHit(T item, double score, int row) {
+        this.item = item;
+        this.score = score;
+        this.row = row;
+    }
+
+    public T getItem() { return item; }
+    public double getScore() { return score; }
+
+    @Override
+    public String toString() {
+        return item + " (" + String.format("%.3f", score) + ")";
+    }
+}
@@ -0,0 +1,106 @@
+// TimeIndex.java
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+// Items ordered by a timestamp, ties broken by id, so "everything this week" or "the next 20 from now"
+// is an O(log n) seek plus O(result) walk. Views are live and weakly consistent: they never throw on
+// concurrent inserts and are cheap to iterate lazily. Items without a time (unparseable legacy
+// interview dates) sort before everything and fall outside every range.
+class TimeIndex<T> {
+    // Items are stored directly, without a key object each; range bounds are Bound markers
+    private final ConcurrentSkipListSet<Object> items;
+    private final Timing<T> timing;
+
+    public TimeIndex(Timing<T> timing) {
+        this.timing = timing;
+        this.items = new ConcurrentSkipListSet<>(timing);
+    }
+
+    public void add(T item) {
+        items.add(item);
+    }
+
+    public int size() {
+        return items.size();
+    }
+
+    public Collection<T> all() {
+        return view(items);
+    }
+
+    // [from, to) with either end open when null; with both open, everything, untimed items included
+    public Collection<T> between(LocalDateTime from, LocalDateTime to) {
+        return from == null && to == null ? all() : range(from, to, false);
+    }
+
+    // [from, to) with either end open when null, latest first if asked, so a walk that only needs the
+    // first few rows in time order can stop there
+    public Collection<T> range(LocalDateTime from, LocalDateTime to, boolean latestFirst) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            return Collections.emptyList();
+        }
+        Bound low = new Bound(from == null ? LocalDateTime.MIN : from);
+        NavigableSet<Object> range = to == null ? items.tailSet(low) : items.subSet(low, new Bound(to));
+        return view(latestFirst ? range.descendingSet() : range);
+    }
+
+    // Everything at or after the given time, earliest first
+    public Collection<T> from(LocalDateTime from) {
+        return view(items.tailSet(new Bound(from)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Collection<T> view(Set<Object> items) {
+        return Collections.unmodifiableCollection((Set<T>) (Set<?>) items);
+    }
+
+    // Where an item sits on the timeline; one shared instance per item type
+    static <T> Timing<T> timing(Function<T, LocalDateTime> time, ToLongFunction<T> id) {
+        return new Timing<>(time, id);
+    }
+
+    static final class Timing<T> implements Comparator<Object> {
+        private final Function<T, LocalDateTime> time;
+        private final ToLongFunction<T> id;
+
+        private Timing(Function<T, LocalDateTime> time, ToLongFunction<T> id) {
+            this.time = time;
+            this.id = id;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public int compare(Object a, Object b) {
+            LocalDateTime timeA = a instanceof Bound ? ((Bound) a).time : time.apply((T) a);
+            LocalDateTime timeB = b instanceof Bound ? ((Bound) b).time : time.apply((T) b);
+            if (timeA != timeB) {
+                if (timeA == null) {
+                    return -1;
+                }
+                if (timeB == null) {
+                    return 1;
+                }
+                int order = timeA.compareTo(timeB);
+                if (order != 0) {
+                    return order;
+                }
+            }
+            // A bound sorts before every item at its time
+            if (a instanceof Bound || b instanceof Bound) {
+                return (b instanceof Bound ? 1 : 0) - (a instanceof Bound ? 1 : 0);
+            }
+            return Long.compare(id.applyAsLong((T) a), id.applyAsLong((T) b));
+        }
+    }
+
+    private static final class Bound {
+        private final LocalDateTime time;
+
+        Bound(LocalDateTime time) {
+            this.time = time;
+        }
+    }
+}
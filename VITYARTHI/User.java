@@ -1,6 +1,8 @@
 // User.java
 import java.util.*;
 import java.time.*;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 
 abstract class User {
     protected String id;
@@ -23,28 +25,49 @@ abstract class User {
 
 class Student extends User {
     private String department;
-    private double cgpa;
+    private volatile double cgpa;
     private int graduationYear;
-    private Set<String> skills;
-    private String resume;
+    private volatile SkillSet skills;
+    private volatile String resume;
+    private StudentListener listener;
 
     public Student(String id, String name, String email, String department, double cgpa, int graduationYear) {
         super(id, name, email);
         this.department = department;
         this.cgpa = cgpa;
         this.graduationYear = graduationYear;
-        this.skills = new HashSet<>();
+        this.skills = SkillSet.EMPTY;
         this.resume = null;
     }
 
     public String getDepartment() { return department; }
     public double getCgpa() { return cgpa; }
-    public void setCgpa(double cgpa) { this.cgpa = cgpa; }
+    public synchronized void setCgpa(double cgpa) {
+        double oldCgpa = this.cgpa;
+        this.cgpa = cgpa;
+        if (listener != null && oldCgpa != cgpa) {
+            listener.cgpaChanged(this, oldCgpa);
+        }
+    }
     public int getGraduationYear() { return graduationYear; }
-    public Set<String> getSkills() { return new HashSet<>(skills); }
-    public void addSkill(String skill) { skills.add(skill); }
+    public Set<String> getSkills() { return skills; }
+    public SkillSet getSkillSet() { return skills; }
+    public synchronized void addSkill(String skill) {
+        SkillSet oldSkills = skills;
+        skills = oldSkills.with(skill);
+        if (listener != null && skills != oldSkills) {
+            listener.skillAdded(this, skill);
+        }
+    }
     public String getResume() { return resume; }
-    public void setResume(String resume) { this.resume = resume; }
+    public synchronized void setResume(String resume) {
+        this.resume = resume;
+        if (listener != null) {
+            listener.resumeChanged(this);
+        }
+    }
+
+    synchronized void setListener(StudentListener listener) { this.listener = listener; }
 }
 
 // Company.java
@@ -77,7 +100,7 @@ class JobPosting {
     private String location;
     private double minCgpa;
     private Set<String> eligibleDepartments;
-    private Set<String> requiredSkills;
+    private SkillSet requiredSkills;
     private String postDate;
 
     public JobPosting(String jobId, String title, String description, Company company,
@@ -90,11 +113,19 @@ class JobPosting {
         this.packageLPA = packageLPA;
         this.location = location;
         this.minCgpa = minCgpa;
-        this.eligibleDepartments = new HashSet<>(eligibleDepartments);
-        this.requiredSkills = new HashSet<>(requiredSkills);
+        this.eligibleDepartments = Collections.unmodifiableSet(new HashSet<>(eligibleDepartments));
+        this.requiredSkills = SkillSet.of(requiredSkills);
         this.postDate = java.time.LocalDate.now().toString();
     }
 
+    JobPosting(String jobId, String title, String description, Company company,
+               double packageLPA, String location, double minCgpa,
+               Set<String> eligibleDepartments, Set<String> requiredSkills, String postDate) {
+        this(jobId, title, description, company, packageLPA, location, minCgpa,
+             eligibleDepartments, requiredSkills);
+        this.postDate = postDate;
+    }
+
     public String getJobId() { return jobId; }
     public String getTitle() { return title; }
     public String getDescription() { return description; }
@@ -102,8 +133,10 @@ class JobPosting {
     public double getPackageLPA() { return packageLPA; }
     public String getLocation() { return location; }
     public double getMinCgpa() { return minCgpa; }
-    public Set<String> getEligibleDepartments() { return new HashSet<>(eligibleDepartments); }
-    public Set<String> getRequiredSkills() { return new HashSet<>(requiredSkills); }
+    public String getPostDate() { return postDate; }
+    public Set<String> getEligibleDepartments() { return eligibleDepartments; }
+    public Set<String> getRequiredSkills() { return requiredSkills; }
+    public SkillSet getRequiredSkillSet() { return requiredSkills; }
 
     public boolean isEligible(Student student) {
         if (student.getCgpa() < minCgpa) return false;
@@ -128,30 +161,76 @@ class JobPosting {
 // Application.java
 
 class Application {
-    private String applicationId;
+    static final String ID_PREFIX = "APP";
+
+    private final long number;
+    private String applicationId; // rendered from number on first use
     private Student student;
     private JobPosting job;
-    private String status; // APPLIED, SHORTLISTED, REJECTED, ON_HOLD
+    private volatile ApplicationStatus status;
     private LocalDateTime appliedDate;
+    private StatusListener<Application, ApplicationStatus> listener;
 
     public Application(String applicationId, Student student, JobPosting job) {
+        this(IdAllocator.require(ID_PREFIX, applicationId), student, job);
         this.applicationId = applicationId;
+    }
+
+    Application(String applicationId, Student student, JobPosting job, LocalDateTime appliedDate) {
+        this(applicationId, student, job);
+        this.appliedDate = appliedDate;
+    }
+
+    Application(long number, Student student, JobPosting job) {
+        this.number = number;
         this.student = student;
         this.job = job;
-        this.status = "APPLIED";
+        this.status = ApplicationStatus.APPLIED;
         this.appliedDate = LocalDateTime.now();
     }
 
-    public String getApplicationId() { return applicationId; }
+    public long getNumber() { return number; }
+
+    // Racy but safe: every thread renders the same immutable string
+    public String getApplicationId() {
+        String id = applicationId;
+        if (id == null) {
+            applicationId = id = IdAllocator.format(ID_PREFIX, number);
+        }
+        return id;
+    }
+
     public Student getStudent() { return student; }
     public JobPosting getJob() { return job; }
-    public String getStatus() { return status; }
-    public void setStatus(String status) { this.status = status; }
+    public ApplicationStatus getStatus() { return status; }
     public LocalDateTime getAppliedDate() { return appliedDate; }
 
+    // False if the current status cannot move to the given one. Changes go through
+    // PlacementSystem.updateApplicationStatus, which journals them
+    synchronized boolean moveTo(ApplicationStatus next) {
+        if (!status.canMoveTo(next)) {
+            return false;
+        }
+        changeStatus(next);
+        return true;
+    }
+
+    // Replay applies recorded history as is, without transition checks
+    synchronized void restoreStatus(ApplicationStatus status) { changeStatus(status); }
+
+    void setStatusListener(StatusListener<Application, ApplicationStatus> listener) { this.listener = listener; }
+
+    private void changeStatus(ApplicationStatus newStatus) {
+        ApplicationStatus oldStatus = this.status;
+        this.status = newStatus;
+        if (listener != null && oldStatus != newStatus) {
+            listener.statusChanged(this, oldStatus, newStatus);
+        }
+    }
+
     @Override
     public String toString() {
-        return "Application ID: " + applicationId + "\n" +
+        return "Application ID: " + getApplicationId() + "\n" +
                "Student: " + student.getName() + " (" + student.getId() + ")\n" +
                "Job: " + job.getTitle() + " at " + job.getCompany().getName() + "\n" +
                "Status: " + status + "\n" +
@@ -161,42 +240,123 @@ class Application {
 
 // Interview.java
 class Interview {
-    private String interviewId;
+    static final int DEFAULT_DURATION_MINUTES = 60;
+    private static final DateTimeFormatter[] TIME_FORMATS = {
+        DateTimeFormatter.ofPattern("H:mm"),
+        DateTimeFormatter.ofPattern("H:mm:ss"),
+        DateTimeFormatter.ofPattern("h:mm a", Locale.ENGLISH),
+        DateTimeFormatter.ofPattern("h a", Locale.ENGLISH)
+    };
+
+    static final String ID_PREFIX = "INT";
+
+    private final long number;
+    private String interviewId; // rendered from number on first use
     private Application application;
     private String date;
     private String time;
     private String location;
     private String type; // TECHNICAL, HR, GROUP
-    private String status; // SCHEDULED, COMPLETED, CANCELLED
+    private volatile InterviewStatus status;
+    private StatusListener<Interview, InterviewStatus> listener;
+    private LocalDateTime start; // null when date/time could not be parsed (old free-text entries)
+    private int durationMinutes;
 
     public Interview(String interviewId, Application application, String date,
                     String time, String location, String type) {
+        this(interviewId, application, date, time, location, type, DEFAULT_DURATION_MINUTES);
+    }
+
+    public Interview(String interviewId, Application application, String date,
+                    String time, String location, String type, int durationMinutes) {
+        this(IdAllocator.require(ID_PREFIX, interviewId), application, date, time, location, type, durationMinutes);
         this.interviewId = interviewId;
+    }
+
+    Interview(long number, Application application, String date,
+              String time, String location, String type, int durationMinutes) {
+        this.number = number;
         this.application = application;
         this.date = date;
         this.time = time;
         this.location = location;
         this.type = type;
-        this.status = "SCHEDULED";
+        this.status = InterviewStatus.SCHEDULED;
+        this.start = parseStart(date, time);
+        this.durationMinutes = durationMinutes;
+    }
+
+    // Accepts 2024-03-15 with 14:30, 9:00, 14:30:00, 2:30 PM or 2 PM
+    static LocalDateTime parseStart(String date, String time) {
+        if (date == null || time == null) {
+            return null;
+        }
+        LocalDate day;
+        try {
+            day = LocalDate.parse(date.trim());
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+        String text = time.trim().toUpperCase(Locale.ENGLISH);
+        for (DateTimeFormatter format : TIME_FORMATS) {
+            try {
+                return LocalDateTime.of(day, LocalTime.parse(text, format));
+            } catch (DateTimeParseException e) {
+                // try the next format
+            }
+        }
+        return null;
+    }
+
+    public long getNumber() { return number; }
+
+    public String getInterviewId() {
+        String id = interviewId;
+        if (id == null) {
+            interviewId = id = IdAllocator.format(ID_PREFIX, number);
+        }
+        return id;
     }
 
-    public String getInterviewId() { return interviewId; }
     public Application getApplication() { return application; }
     public String getDate() { return date; }
     public String getTime() { return time; }
+    public LocalDateTime getStart() { return start; }
+    public LocalDateTime getEnd() { return start == null ? null : start.plusMinutes(durationMinutes); }
+    public int getDurationMinutes() { return durationMinutes; }
     public String getLocation() { return location; }
     public String getType() { return type; }
-    public String getStatus() { return status; }
-    public void setStatus(String status) { this.status = status; }
+    public InterviewStatus getStatus() { return status; }
+
+    // Changes go through PlacementSystem.updateInterviewStatus, which journals them
+    synchronized boolean moveTo(InterviewStatus next) {
+        if (!status.canMoveTo(next)) {
+            return false;
+        }
+        changeStatus(next);
+        return true;
+    }
+
+    synchronized void restoreStatus(InterviewStatus status) { changeStatus(status); }
+
+    void setStatusListener(StatusListener<Interview, InterviewStatus> listener) { this.listener = listener; }
+
+    private void changeStatus(InterviewStatus newStatus) {
+        InterviewStatus oldStatus = this.status;
+        this.status = newStatus;
+        if (listener != null && oldStatus != newStatus) {
+            listener.statusChanged(this, oldStatus, newStatus);
+        }
+    }
 
     @Override
     public String toString() {
-        return "Interview ID: " + interviewId + "\n" +
+        return "Interview ID: " + getInterviewId() + "\n" +
                "Job: " + application.getJob().getTitle() + "\n" +
                "Company: " + application.getJob().getCompany().getName() + "\n" +
                "Type: " + type + "\n" +
                "Date: " + date + "\n" +
-               "Time: " + time + "\n" +
+               "Time: " + time + " (" + durationMinutes + " min)\n" +
                "Location: " + location + "\n" +
                "Status: " + status;
     }
@@ -204,36 +364,81 @@ class Interview {
 
 // JobOffer.java
 class JobOffer {
-    private String offerId;
+    static final String ID_PREFIX = "OFF";
+
+    private final long number;
+    private String offerId; // rendered from number on first use
     private Application application;
     private double packageLPA;
     private String joiningDate;
     private String details;
-    private String status; // PENDING, ACCEPTED, REJECTED
+    private volatile OfferStatus status;
+    private StatusListener<JobOffer, OfferStatus> listener;
 
     public JobOffer(String offerId, Application application, double packageLPA,
                    String joiningDate, String details) {
+        this(IdAllocator.require(ID_PREFIX, offerId), application, packageLPA, joiningDate, details);
         this.offerId = offerId;
+    }
+
+    JobOffer(long number, Application application, double packageLPA, String joiningDate, String details) {
+        this.number = number;
         this.application = application;
         this.packageLPA = packageLPA;
         this.joiningDate = joiningDate;
         this.details = details;
-        this.status = "PENDING";
+        this.status = OfferStatus.PENDING;
+    }
+
+    public long getNumber() { return number; }
+
+    public String getOfferId() {
+        String id = offerId;
+        if (id == null) {
+            offerId = id = IdAllocator.format(ID_PREFIX, number);
+        }
+        return id;
     }
 
-    public String getOfferId() { return offerId; }
     public Application getApplication() { return application; }
     public double getPackage() { return packageLPA; }
     public String getJoiningDate() { return joiningDate; }
     public String getDetails() { return details; }
-    public String getStatus() { return status; }
+    public OfferStatus getStatus() { return status; }
     
-    public void accept() { this.status = "ACCEPTED"; }
-    public void reject() { this.status = "REJECTED"; }
+    public boolean accept() { return moveTo(OfferStatus.ACCEPTED); }
+    public boolean reject() { return moveTo(OfferStatus.REJECTED); }
+
+    public boolean moveTo(OfferStatus next) {
+        StatusListener<JobOffer, OfferStatus> settled;
+        synchronized (this) {
+            if (!status.canMoveTo(next)) {
+                return false;
+            }
+            settled = status != next ? listener : null;
+            changeStatus(next);
+        }
+        if (settled != null) {
+            settled.statusSettled(this);
+        }
+        return true;
+    }
+
+    synchronized void restoreStatus(OfferStatus status) { changeStatus(status); }
+
+    void setStatusListener(StatusListener<JobOffer, OfferStatus> listener) { this.listener = listener; }
+
+    private void changeStatus(OfferStatus newStatus) {
+        OfferStatus oldStatus = this.status;
+        this.status = newStatus;
+        if (listener != null && oldStatus != newStatus) {
+            listener.statusChanged(this, oldStatus, newStatus);
+        }
+    }
 
     @Override
     public String toString() {
-        return "Offer ID: " + offerId + "\n" +
+        return "Offer ID: " + getOfferId() + "\n" +
                "Job: " + application.getJob().getTitle() + "\n" +
                "Company: " + application.getJob().getCompany().getName() + "\n" +
                "Package: " + packageLPA + " LPA\n" +
@@ -242,3 +447,83 @@ class JobOffer {
                "Status: " + status;
     }
 }
+
+// StudentListener.java
+interface StudentListener {
+    void cgpaChanged(Student student, double oldCgpa);
+    void skillAdded(Student student, String skill);
+    void resumeChanged(Student student);
+}
+
+// StatusListener.java
+// Called while the item is locked, so listeners see status changes one at a time and in order
+interface StatusListener<T, S extends Enum<S>> {
+    void statusChanged(T item, S oldStatus, S newStatus);
+
+    // Called once the item is unlocked again, for work that must not hold it, such as waiting on fsync
+    default void statusSettled(T item) {
+    }
+}
+
+// ApplicationStatus.java
+enum ApplicationStatus {
+    APPLIED, SHORTLISTED, ON_HOLD, REJECTED;
+
+    private Set<ApplicationStatus> next;
+
+    static {
+        APPLIED.next = EnumSet.of(SHORTLISTED, ON_HOLD, REJECTED);
+        SHORTLISTED.next = EnumSet.of(ON_HOLD, REJECTED);
+        ON_HOLD.next = EnumSet.of(SHORTLISTED, REJECTED);
+        REJECTED.next = EnumSet.noneOf(ApplicationStatus.class);
+    }
+
+    // Staying in the same status is always allowed and changes nothing
+    boolean canMoveTo(ApplicationStatus status) {
+        return status == this || next.contains(status);
+    }
+
+    // Null for names this version does not know
+    static ApplicationStatus parse(String name) {
+        try {
+            return name == null ? null : valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
+
+// InterviewStatus.java
+enum InterviewStatus {
+    SCHEDULED, COMPLETED, CANCELLED;
+
+    boolean canMoveTo(InterviewStatus status) {
+        return status == this || this == SCHEDULED;
+    }
+
+    static InterviewStatus parse(String name) {
+        try {
+            return name == null ? null : valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
+
+// OfferStatus.java
+enum OfferStatus {
+    PENDING, ACCEPTED, REJECTED;
+
+    // A student may still turn down an offer after accepting it
+    boolean canMoveTo(OfferStatus status) {
+        return status == this || this == PENDING || (this == ACCEPTED && status == REJECTED);
+    }
+
+    static OfferStatus parse(String name) {
+        try {
+            return name == null ? null : valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
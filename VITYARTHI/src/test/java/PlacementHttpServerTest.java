@@ -0,0 +1,114 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+// Many clients apply and read back through the JSON API on localhost at once, as the benchmark's
+// http mode does, with far more clients than request threads.
+class PlacementHttpServerTest {
+    private static final int STUDENTS = 2_000;
+    private static final int JOBS = 40;
+    private static final int CLIENTS = 64;
+    private static final int REQUESTS_PER_CLIENT = 50;
+    // Far below what one core serves; only a server that stalls or serialises on something slow misses it
+    private static final double MIN_REQUESTS_PER_SECOND = 100;
+
+    private PlacementSystem system;
+    private PlacementHttpServer server;
+    private ExecutorService clientThreads;
+    private HttpClient client;
+    private String base;
+
+    @BeforeEach
+    void startServer() throws Exception {
+        system = new PlacementSystem();
+        Company company = new Company("C001", "HttpCorp", "hr@http.com", "Technology");
+        system.addCompany(company);
+        for (int i = 0; i < STUDENTS; i++) {
+            system.addStudent(new Student(String.format("S%05d", i), "Student " + i, "s" + i + "@college.edu",
+                i % 2 == 0 ? "CS" : "IT", 6.0 + (i % 40) / 10.0, 2024));
+        }
+        for (int i = 0; i < JOBS; i++) {
+            system.addJobPosting(new JobPosting(String.format("J%03d", i), "Job " + i, "", company, 5 + i, "Pune",
+                6.0 + (i % 30) / 10.0, new HashSet<>(Arrays.asList("CS", "IT")), new HashSet<>()));
+        }
+        server = new PlacementHttpServer(system, 0);
+        server.start();
+        base = "http://localhost:" + server.getPort() + "/api/";
+        clientThreads = Executors.newCachedThreadPool();
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).executor(clientThreads).build();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop();
+        clientThreads.shutdownNow();
+    }
+
+    @Test
+    void concurrentClientsAreServedCorrectlyOnBoundedThreads() throws Exception {
+        AtomicInteger applied = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        Set<String> requestThreads = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(CLIENTS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> clients = new ArrayList<>();
+        for (int c = 0; c < CLIENTS; c++) {
+            long seed = c;
+            clients.add(pool.submit(() -> {
+                Random random = new Random(seed);
+                start.await();
+                for (int r = 0; r < REQUESTS_PER_CLIENT; r++) {
+                    String studentId = String.format("S%05d", random.nextInt(STUDENTS));
+                    HttpRequest request;
+                    if (r % 2 == 0) {
+                        String body = "{\"studentId\":\"" + studentId + "\",\"jobId\":\""
+                            + String.format("J%03d", random.nextInt(JOBS)) + "\"}";
+                        request = HttpRequest.newBuilder(URI.create(base + "applications"))
+                            .POST(HttpRequest.BodyPublishers.ofString(body)).build();
+                    } else {
+                        request = HttpRequest.newBuilder(URI.create(base + "students/" + studentId + "/applications"))
+                            .GET().build();
+                    }
+                    HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                    if (response.statusCode() >= 300) {
+                        errors.incrementAndGet();
+                    } else if (r % 2 == 0 && response.body().contains(":\"APPLIED\"")) {
+                        applied.incrementAndGet();
+                    }
+                }
+                for (Thread thread : Thread.getAllStackTraces().keySet()) {
+                    if (thread.getName().startsWith("placement-http-")) {
+                        requestThreads.add(thread.getName());
+                    }
+                }
+                return null;
+            }));
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : clients) {
+            future.get(2, TimeUnit.MINUTES);
+        }
+        long elapsed = System.nanoTime() - begin;
+        pool.shutdown();
+
+        assertEquals(0, errors.get(), "error responses");
+        assertTrue(applied.get() > 0);
+        assertEquals(applied.get(), system.getApplicationsView().size(), "applications created");
+        assertFalse(requestThreads.isEmpty());
+        assertTrue(requestThreads.size() <= PlacementHttpServer.REQUEST_THREADS,
+            "request threads " + requestThreads.size() + " over the pool size " + PlacementHttpServer.REQUEST_THREADS);
+        double perSecond = CLIENTS * REQUESTS_PER_CLIENT / (elapsed / 1e9);
+        assertTrue(perSecond >= MIN_REQUESTS_PER_SECOND, String.format("%.0f requests/s", perSecond));
+    }
+}
@@ -0,0 +1,233 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+// Threads apply, move application, interview and offer statuses and accept or withdraw offers on one
+// system at once; afterwards every secondary index, status count and statistic must match a
+// single-threaded recount of the primary collections.
+class PlacementSystemConcurrencyTest {
+    private static final int THREADS = 8;
+    private static final int OPERATIONS_PER_THREAD = 10_000;
+    private static final int STUDENTS = 300;
+    private static final int HOT_STUDENTS = 4;
+
+    @Test
+    void indexesCountsAndStatisticsMatchRecountAfterConcurrentUpdates() throws Exception {
+        PlacementSystem system = new PlacementSystem();
+        List<Student> students = new ArrayList<>();
+        List<JobPosting> jobs = new ArrayList<>();
+        for (int c = 0; c < 3; c++) {
+            Company company = new Company("C" + c, "Company " + c, "hr" + c + "@corp.com", "Technology");
+            system.addCompany(company);
+            for (int j = 0; j < 4; j++) {
+                JobPosting job = new JobPosting("J" + c + j, "Engineer " + j, "", company, 6 + c * 4 + j,
+                    "Pune", 6.0 + j * 0.5, new HashSet<>(Arrays.asList("CS", j % 2 == 0 ? "IT" : "ECE")),
+                    new HashSet<>(Collections.singletonList("Java")));
+                system.addJobPosting(job);
+                jobs.add(job);
+            }
+        }
+        String[] departments = {"CS", "IT", "ECE"};
+        for (int s = 0; s < STUDENTS; s++) {
+            Student student = new Student(String.format("S%04d", s), "Student " + s, "s" + s + "@college.edu",
+                departments[s % departments.length], 5.5 + (s % 45) / 10.0, 2025);
+            student.addSkill("Java");
+            system.addStudent(student);
+            students.add(student);
+        }
+
+        AtomicInteger applied = new AtomicInteger();
+        CyclicBarrier start = new CyclicBarrier(THREADS);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            long seed = t;
+            workers.add(pool.submit(() -> {
+                Random random = new Random(seed);
+                start.await();
+                for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                    // Half the calls go to a few students so threads keep meeting on the same records
+                    Student student = students.get(random.nextInt(random.nextBoolean() ? HOT_STUDENTS : STUDENTS));
+                    int action = random.nextInt(100);
+                    if (action < 30) {
+                        if (system.applyForJob(student, jobs.get(random.nextInt(jobs.size())))) {
+                            applied.incrementAndGet();
+                        }
+                    } else if (action < 40) {
+                        List<JobPosting> batch = new ArrayList<>();
+                        for (int k = 0; k < 3; k++) {
+                            batch.add(jobs.get(random.nextInt(jobs.size())));
+                        }
+                        for (ApplyOutcome outcome : system.applyForJobs(student, batch).values()) {
+                            if (outcome == ApplyOutcome.APPLIED) {
+                                applied.incrementAndGet();
+                            }
+                        }
+                    } else if (action < 65) {
+                        Application app = pick(system.getStudentApplications(student.getId()), random);
+                        if (app != null) {
+                            ApplicationStatus[] statuses = ApplicationStatus.values();
+                            system.updateApplicationStatus(app.getApplicationId(),
+                                statuses[random.nextInt(statuses.length)]);
+                        }
+                    } else if (action < 75) {
+                        Application app = pick(system.getStudentApplications(student.getId()), random);
+                        if (app != null) {
+                            system.scheduleInterview(app.getApplicationId(), "2025-03-1" + random.nextInt(10),
+                                String.format("%02d:00", 9 + random.nextInt(8)), "Room " + random.nextInt(4),
+                                "Technical");
+                        }
+                    } else if (action < 80) {
+                        Interview interview = pick(system.getStudentInterviews(student.getId()), random);
+                        if (interview != null) {
+                            system.updateInterviewStatus(interview.getInterviewId(),
+                                random.nextBoolean() ? InterviewStatus.COMPLETED : InterviewStatus.CANCELLED);
+                        }
+                    } else if (action < 90) {
+                        Application app = pick(system.getStudentApplications(student.getId()), random);
+                        if (app != null) {
+                            system.createJobOffer(app.getApplicationId(), 5 + random.nextInt(20), "2025-07-01", "");
+                        }
+                    } else {
+                        JobOffer offer = pick(system.getStudentOffers(student.getId()), random);
+                        if (offer != null) {
+                            if (random.nextInt(3) > 0) {
+                                offer.accept();
+                            } else {
+                                offer.reject(); // withdraws an accepted offer
+                            }
+                        }
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> worker : workers) {
+            worker.get(2, TimeUnit.MINUTES);
+        }
+        pool.shutdown();
+
+        List<Application> applications = new ArrayList<>(system.getApplicationsView());
+        List<Interview> interviews = new ArrayList<>(system.getInterviewsView());
+        List<JobOffer> offers = new ArrayList<>(system.getOffersView());
+        assertTrue(applications.size() > 500, "too little contention to prove anything: " + applications.size());
+        assertFalse(interviews.isEmpty());
+        assertFalse(offers.isEmpty());
+
+        // Applications: one per pair, each successful apply exactly one
+        assertEquals(applied.get(), applications.size());
+        Set<String> pairs = new HashSet<>();
+        for (Application app : applications) {
+            assertTrue(pairs.add(app.getStudent().getId() + "/" + app.getJob().getJobId()),
+                "duplicate application " + app.getApplicationId());
+        }
+        for (Student student : students) {
+            assertSame(group(applications, a -> a.getStudent() == student),
+                system.getStudentApplications(student.getId()), "applications of " + student.getId());
+            assertSame(group(interviews, i -> i.getApplication().getStudent() == student),
+                system.getStudentInterviews(student.getId()), "interviews of " + student.getId());
+            assertSame(group(offers, o -> o.getApplication().getStudent() == student),
+                system.getStudentOffers(student.getId()), "offers of " + student.getId());
+        }
+        for (JobPosting job : jobs) {
+            List<Application> ofJob = group(applications, a -> a.getJob() == job);
+            assertSame(ofJob, system.getJobApplications(job.getJobId()), "applications of " + job.getJobId());
+            EnumMap<ApplicationStatus, Integer> pipeline = system.getJobPipeline(job.getJobId());
+            for (ApplicationStatus status : ApplicationStatus.values()) {
+                List<Application> inStatus = group(ofJob, a -> a.getStatus() == status);
+                assertSame(inStatus, system.getJobApplications(job.getJobId(), status),
+                    job.getJobId() + " " + status);
+                assertEquals(inStatus.size(), pipeline.get(status), "pipeline of " + job.getJobId() + " " + status);
+            }
+        }
+        for (Company company : system.getCompaniesView()) {
+            assertSame(group(applications, a -> a.getJob().getCompany() == company),
+                system.getCompanyApplicationsBetween(company.getId(), null, null),
+                "applications at " + company.getId());
+            assertSame(group(interviews, i -> i.getApplication().getJob().getCompany() == company),
+                system.getCompanyInterviews(company.getId()), "interviews at " + company.getId());
+        }
+        assertSame(applications, system.getApplicationsBetween(null, null), "application timeline");
+        assertSame(interviews, system.getInterviewsBetween(null, null), "interview timeline");
+        for (Application app : applications) {
+            assertSame(group(offers, o -> o.getApplication() == app),
+                system.getApplicationOffers(app.getApplicationId()), "offers for " + app.getApplicationId());
+        }
+
+        // Status indexes and counters
+        EnumMap<ApplicationStatus, Long> applicationCounts = system.getApplicationCounts();
+        for (ApplicationStatus status : ApplicationStatus.values()) {
+            assertEquals(group(applications, a -> a.getStatus() == status).size(), applicationCounts.get(status),
+                "applications " + status);
+        }
+        EnumMap<InterviewStatus, Integer> interviewCounts = system.getInterviewCounts();
+        for (InterviewStatus status : InterviewStatus.values()) {
+            List<Interview> inStatus = group(interviews, i -> i.getStatus() == status);
+            assertSame(inStatus, system.getInterviews(status), "interviews " + status);
+            assertEquals(inStatus.size(), interviewCounts.get(status), "interview count " + status);
+        }
+        EnumMap<OfferStatus, Integer> offerCounts = system.getOfferCounts();
+        for (OfferStatus status : OfferStatus.values()) {
+            List<JobOffer> inStatus = group(offers, o -> o.getStatus() == status);
+            assertSame(inStatus, system.getOffers(status), "offers " + status);
+            assertEquals(inStatus.size(), offerCounts.get(status), "offer count " + status);
+        }
+
+        // Statistics
+        List<JobOffer> accepted = group(offers, o -> o.getStatus() == OfferStatus.ACCEPTED);
+        Set<Student> placed = accepted.stream().map(o -> o.getApplication().getStudent()).collect(Collectors.toSet());
+        Map<String, Object> stats = system.getPlacementStatistics();
+        assertEquals((long) STUDENTS, ((Number) stats.get("totalStudents")).longValue());
+        assertEquals((long) placed.size(), ((Number) stats.get("placedStudents")).longValue());
+        assertEquals((long) applications.size(), ((Number) stats.get("totalApplications")).longValue());
+        assertEquals((long) offers.size(), ((Number) stats.get("totalOffers")).longValue());
+        assertEquals((long) accepted.size(), ((Number) stats.get("acceptedOffers")).longValue());
+        assertEquals((long) group(offers, o -> o.getStatus() == OfferStatus.PENDING).size(),
+            ((Number) stats.get("pendingOffers")).longValue());
+        assertEquals((long) group(applications, a -> a.getStatus() == ApplicationStatus.SHORTLISTED).size(),
+            ((Number) stats.get("shortlistedApplications")).longValue());
+        assertEquals((long) group(interviews, i -> i.getStatus() == InterviewStatus.SCHEDULED).size(),
+            ((Number) stats.get("scheduledInterviews")).longValue());
+        double packageSum = accepted.stream().mapToDouble(JobOffer::getPackage).sum();
+        assertEquals(accepted.isEmpty() ? 0 : packageSum / accepted.size(),
+            ((Number) stats.get("averagePackage")).doubleValue(), 1e-9);
+        assertEquals(accepted.stream().mapToDouble(JobOffer::getPackage).max().orElse(0),
+            ((Number) stats.get("highestPackage")).doubleValue(), 0);
+        Set<Student> unplaced = new HashSet<>(students);
+        unplaced.removeAll(placed);
+        assertSame(new ArrayList<>(unplaced), system.getUnplacedStudents(), "unplaced students");
+        for (Student student : students) {
+            assertEquals(group(accepted, o -> o.getApplication().getStudent() == student).size(),
+                system.getAcceptedOfferCount(student), "accepted offers of " + student.getId());
+        }
+        assertEquals(accepted.stream().collect(Collectors.groupingBy(
+                o -> o.getApplication().getStudent().getDepartment(), Collectors.summingInt(o -> 1))),
+            system.getDepartmentWisePlacement());
+        assertEquals(accepted.stream().collect(Collectors.groupingBy(
+                o -> o.getApplication().getJob().getCompany().getName(), Collectors.counting())),
+            system.getCompanyWiseHiring());
+    }
+
+    private static <T> T pick(List<T> items, Random random) {
+        return items.isEmpty() ? null : items.get(random.nextInt(items.size()));
+    }
+
+    private static <T> List<T> group(Collection<T> items, java.util.function.Predicate<T> filter) {
+        return items.stream().filter(filter).collect(Collectors.toList());
+    }
+
+    // The same objects, each exactly once, in any order
+    private static <T> void assertSame(Collection<T> expected, Collection<T> actual, String what) {
+        Set<T> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        seen.addAll(actual);
+        assertEquals(actual.size(), seen.size(), what + ": listed twice");
+        Set<T> wanted = Collections.newSetFromMap(new IdentityHashMap<>());
+        wanted.addAll(expected);
+        assertEquals(wanted, seen, what);
+    }
+}
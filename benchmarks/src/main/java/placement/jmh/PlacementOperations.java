@@ -0,0 +1,60 @@
+package placement.jmh;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongUnaryOperator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// PlacementSystem operations on generated campuses of 1k, 100k and 1M students, the same workload
+// as PlacementBenchmark's suite mode. JMH refuses benchmarks in the unnamed package and a named
+// package cannot refer to classes in it, so the campus and its operations come from
+// PlacementBenchmark.suiteOperations, looked up reflectively once per trial.
+// The suite also has countEligibleStudents, getQualifiedStudents, searchJobs and searchResumes;
+// run them with -p operation=<name>.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlacementOperations {
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    @Param({"applyForJob", "getEligibleJobs", "getStudentApplications", "getJobApplications",
+        "getPlacementStatistics", "getUnplacedStudents"})
+    public String operation;
+
+    private LongUnaryOperator call;
+    private long invocation;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp() throws ReflectiveOperationException {
+        Method suite = Class.forName("PlacementBenchmark").getDeclaredMethod("suiteOperations", int.class);
+        suite.setAccessible(true);
+        call = ((Map<String, LongUnaryOperator>) suite.invoke(null, size)).get(operation);
+        if (call == null) {
+            throw new IllegalArgumentException("No suite operation " + operation);
+        }
+    }
+
+    // Each call picks its student or job from the invocation count, as the suite does
+    @Benchmark
+    public long run() {
+        return call.applyAsLong(invocation++);
+    }
+}